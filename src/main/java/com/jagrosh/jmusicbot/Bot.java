@@ -20,6 +20,7 @@ import com.jagrosh.jmusicbot.audio.AloneInVoiceHandler;
 import com.jagrosh.jmusicbot.audio.AudioHandler;
 import com.jagrosh.jmusicbot.audio.NowPlayingHandler;
 import com.jagrosh.jmusicbot.audio.PlayerManager;
+import com.jagrosh.jmusicbot.audio.QueueJournalManager;
 import com.jagrosh.jmusicbot.gui.GUI;
 import com.jagrosh.jmusicbot.playlist.PlaylistLoader;
 import com.jagrosh.jmusicbot.settings.SettingsManager;
@@ -48,6 +49,7 @@ public class Bot
     private final PlaylistLoader playlists;
     private final NowPlayingHandler nowplaying;
     private final AloneInVoiceHandler aloneInVoiceHandler;
+    private final QueueJournalManager queueJournals;
     private final YoutubeOauth2TokenHandler youTubeOauth2TokenHandler;
     private final Instant startTime;
     
@@ -72,6 +74,8 @@ public class Bot
         this.nowplaying.init();
         this.aloneInVoiceHandler = new AloneInVoiceHandler(this);
         this.aloneInVoiceHandler.init();
+        this.queueJournals = new QueueJournalManager(this);
+        this.queueJournals.init();
     }
     
     public BotConfig getConfig()
@@ -114,6 +118,11 @@ public class Bot
         return aloneInVoiceHandler;
     }
     
+    public QueueJournalManager getQueueJournalManager()
+    {
+        return queueJournals;
+    }
+    
     public JDA getJDA()
     {
         return jda;
@@ -143,6 +152,9 @@ public class Bot
             return;
         shuttingDown = true;
         
+        // Keep the queues on disk before the players are stopped and cleared below
+        queueJournals.shutdown();
+        
         // Clean up audio connections first (before shutting down thread pool, as these may trigger events that use it)
         if(jda != null && jda.getStatus() != JDA.Status.SHUTTING_DOWN)
         {
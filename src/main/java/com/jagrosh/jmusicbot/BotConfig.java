@@ -21,6 +21,7 @@ import java.nio.file.Path;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration.ResamplingQuality;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigException;
@@ -28,6 +29,9 @@ import net.dv8tion.jda.api.OnlineStatus;
 import net.dv8tion.jda.api.entities.Activity;
 
 import com.jagrosh.jmusicbot.audio.AudioSource;
+import com.jagrosh.jmusicbot.audio.EngineProfile;
+import com.jagrosh.jmusicbot.audio.EngineSettings;
+import com.jagrosh.jmusicbot.audio.VolumePolicy;
 import com.jagrosh.jmusicbot.config.diagnostics.ConfigDiagnostics;
 import com.jagrosh.jmusicbot.config.io.ConfigIO;
 import com.jagrosh.jmusicbot.config.loader.ConfigLoader;
@@ -39,6 +43,7 @@ import com.jagrosh.jmusicbot.config.migration.ConfigMigrationException;
 import com.jagrosh.jmusicbot.config.model.ConfigUpdateType;
 import com.jagrosh.jmusicbot.entities.Prompt;
 import com.jagrosh.jmusicbot.entities.UserInteraction;
+import com.jagrosh.jmusicbot.utils.EnumUtil;
 import com.jagrosh.jmusicbot.utils.OtherUtil;
 import com.jagrosh.jmusicbot.utils.TimeUtil;
 import org.slf4j.Logger;
@@ -57,15 +62,18 @@ public class BotConfig {
     private Path path = null;
     private String token, prefix, altprefix, helpWord, playlistsFolder, logLevel,
             successEmoji, warningEmoji, errorEmoji, loadingEmoji, searchingEmoji,
-            evalEngine;
-    private boolean stayInChannel, songInGame, npImages, updatealerts, useEval, dbots, useYouTubeOauth;
-    private long owner, maxSeconds, aloneTimeUntilStop;
-    private int maxYTPlaylistPages;
+            evalEngine, queueJournalFolder, frameCacheFolder;
+    private boolean stayInChannel, songInGame, npImages, updatealerts, useEval, dbots, useYouTubeOauth, queueJournal, allocationFreeFrames, recoveryFallbackSearch, frameCache, governor, matchChannelBitrate;
+    private long owner, maxSeconds, aloneTimeUntilStop, lingerSeconds, frameCacheMaxMegabytes;
+    private int maxYTPlaylistPages, queueJournalCompactAfter, historySize, prefetchSeconds, pausedReleaseMinutes, idlePlayerMinutes, recoveryAttempts, maxTranscodingGuilds,
+            governorHighCpu, governorLowCpu, governorMaxUnderruns, governorMinOpusQuality;
     private double skipratio;
     private OnlineStatus status;
     private Activity game;
     private Config aliases, transforms;
     private Set<AudioSource> enabledAudioSources;
+    private EngineSettings engineSettings;
+    private VolumePolicy volumePolicy;
 
     private boolean valid = false;
 
@@ -260,7 +268,30 @@ public class BotConfig {
         maxYTPlaylistPages = MAX_YT_PLAYLIST_PAGES.getInt(config);
         useYouTubeOauth = USE_YOUTUBE_OAUTH.getBoolean(config);
         aloneTimeUntilStop = ALONE_TIME_UNTIL_STOP.getLong(config);
+        lingerSeconds = LINGER_SECONDS.getLong(config);
         playlistsFolder = PLAYLISTS_FOLDER.getString(config);
+        queueJournal = QUEUE_JOURNAL.getBoolean(config);
+        queueJournalFolder = QUEUE_JOURNAL_FOLDER.getString(config);
+        queueJournalCompactAfter = QUEUE_JOURNAL_COMPACT_AFTER.getInt(config);
+        frameCache = FRAME_CACHE.getBoolean(config);
+        volumePolicy = loadVolumePolicy(config);
+        maxTranscodingGuilds = MAX_TRANSCODING_GUILDS.getInt(config);
+        matchChannelBitrate = MATCH_CHANNEL_BITRATE.getBoolean(config);
+        governor = GOVERNOR.getBoolean(config);
+        governorHighCpu = GOVERNOR_HIGH_CPU.getInt(config);
+        governorLowCpu = GOVERNOR_LOW_CPU.getInt(config);
+        governorMaxUnderruns = GOVERNOR_MAX_UNDERRUNS.getInt(config);
+        governorMinOpusQuality = GOVERNOR_MIN_OPUS_QUALITY.getInt(config);
+        frameCacheFolder = FRAME_CACHE_FOLDER.getString(config);
+        frameCacheMaxMegabytes = FRAME_CACHE_MAX_MEGABYTES.getLong(config);
+        historySize = HISTORY_SIZE.getInt(config);
+        prefetchSeconds = PREFETCH_SECONDS.getInt(config);
+        pausedReleaseMinutes = PAUSED_RELEASE_MINUTES.getInt(config);
+        idlePlayerMinutes = IDLE_PLAYER_MINUTES.getInt(config);
+        recoveryAttempts = RECOVERY_ATTEMPTS.getInt(config);
+        recoveryFallbackSearch = RECOVERY_FALLBACK_SEARCH.getBoolean(config);
+        allocationFreeFrames = ALLOCATION_FREE_FRAMES.getBoolean(config);
+        engineSettings = loadEngineSettings(config);
         aliases = ALIASES.getConfig(config);
         transforms = TRANSFORMS.getConfig(config);
         
@@ -308,6 +339,43 @@ public class BotConfig {
                             .collect(Collectors.toList()));
     }
     
+    /**
+     * Resolves the volume policy; an unknown one falls back to immediate.
+     */
+    private VolumePolicy loadVolumePolicy(Config config) {
+        String policyName = VOLUME_POLICY.getString(config);
+        VolumePolicy policy = VolumePolicy.fromConfigName(policyName);
+        if (policy == null) {
+            LOGGER.warn("Unknown volume policy '{}', using immediate. Valid policies: {}",
+                    policyName, VolumePolicy.getConfigNames());
+            policy = VolumePolicy.IMMEDIATE;
+        }
+        return policy;
+    }
+    
+    /**
+     * Resolves the lavaplayer engine profile and the values overriding it.
+     * An unknown profile falls back to the default one.
+     */
+    private EngineSettings loadEngineSettings(Config config) {
+        String profileName = ENGINE_PROFILE.getString(config);
+        EngineProfile profile = EngineProfile.fromConfigName(profileName);
+        if (profile == null) {
+            LOGGER.warn("Unknown playback engine profile '{}', using default. Valid profiles: {}",
+                    profileName, EngineProfile.getConfigNames());
+            profile = EngineProfile.DEFAULT;
+        }
+        ResamplingQuality resampling = EnumUtil.valueOfOrDefault(ResamplingQuality.class,
+                ENGINE_RESAMPLING_QUALITY.getString(config).toUpperCase(), null);
+        return EngineSettings.of(profile,
+                ENGINE_FRAME_BUFFER_MILLIS.getInt(config),
+                resampling,
+                ENGINE_OPUS_QUALITY.getInt(config),
+                ENGINE_LOADER_THREADS.getInt(config),
+                ENGINE_TRACK_STUCK_MILLIS.getLong(config),
+                ENGINE_CLEANUP_MILLIS.getLong(config));
+    }
+    
     /**
      * Returns all audio sources sorted by registration priority.
      * Platform-specific sources come first, catch-all sources (HTTP, LOCAL) come last.
@@ -420,6 +488,94 @@ public class BotConfig {
         return playlistsFolder;
     }
 
+    public boolean useQueueJournal() {
+        return queueJournal;
+    }
+
+    public String getQueueJournalFolder() {
+        return queueJournalFolder;
+    }
+
+    public int getQueueJournalCompactAfter() {
+        return queueJournalCompactAfter;
+    }
+
+    public boolean useFrameCache() {
+        return frameCache;
+    }
+
+    public String getFrameCacheFolder() {
+        return frameCacheFolder;
+    }
+
+    public long getFrameCacheMaxBytes() {
+        return frameCacheMaxMegabytes * 1024 * 1024;
+    }
+
+    public VolumePolicy getVolumePolicy() {
+        return volumePolicy;
+    }
+
+    public int getMaxTranscodingGuilds() {
+        return maxTranscodingGuilds;
+    }
+
+    public boolean useChannelBitrate() {
+        return matchChannelBitrate;
+    }
+
+    public boolean useGovernor() {
+        return governor;
+    }
+
+    public double getGovernorHighLoad() {
+        return governorHighCpu / 100.0;
+    }
+
+    public double getGovernorLowLoad() {
+        return governorLowCpu / 100.0;
+    }
+
+    public int getGovernorMaxUnderruns() {
+        return governorMaxUnderruns;
+    }
+
+    public int getGovernorMinOpusQuality() {
+        return governorMinOpusQuality;
+    }
+
+    public int getHistorySize() {
+        return historySize;
+    }
+
+    public int getPrefetchSeconds() {
+        return prefetchSeconds;
+    }
+
+    public int getPausedReleaseMinutes() {
+        return pausedReleaseMinutes;
+    }
+
+    public int getIdlePlayerMinutes() {
+        return idlePlayerMinutes;
+    }
+
+    public int getRecoveryAttempts() {
+        return recoveryAttempts;
+    }
+
+    public boolean useRecoveryFallbackSearch() {
+        return recoveryFallbackSearch;
+    }
+
+    public boolean useAllocationFreeFrames() {
+        return allocationFreeFrames;
+    }
+
+    public EngineSettings getEngineSettings() {
+        return engineSettings;
+    }
+
     public boolean getDBots() {
         return dbots;
     }
@@ -464,6 +620,10 @@ public class BotConfig {
         return aloneTimeUntilStop;
     }
 
+    public long getLingerSeconds() {
+        return lingerSeconds;
+    }
+
     public boolean isTooLong(AudioTrack track) {
         if (maxSeconds <= 0)
             return false;
@@ -15,6 +15,7 @@
  */
 package com.jagrosh.jmusicbot;
 
+import com.jagrosh.jmusicbot.audio.AudioHandler;
 import com.jagrosh.jmusicbot.utils.OtherUtil;
 import com.jagrosh.jmusicbot.utils.YoutubeOauth2TokenHandler;
 import net.dv8tion.jda.api.JDA;
@@ -22,7 +23,10 @@ import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.User;
 import net.dv8tion.jda.api.entities.channel.concrete.PrivateChannel;
 import net.dv8tion.jda.api.entities.channel.concrete.VoiceChannel;
+import net.dv8tion.jda.api.entities.channel.middleman.AudioChannel;
+import net.dv8tion.jda.api.events.channel.update.ChannelUpdateBitrateEvent;
 import net.dv8tion.jda.api.events.guild.GuildJoinEvent;
+import net.dv8tion.jda.api.events.guild.GuildLeaveEvent;
 import net.dv8tion.jda.api.events.guild.voice.GuildVoiceUpdateEvent;
 import net.dv8tion.jda.api.events.message.MessageDeleteEvent;
 import net.dv8tion.jda.api.events.session.ReadyEvent;
@@ -61,6 +65,8 @@ public class Listener extends ListenerAdapter
         {
             try
             {
+                if(bot.getQueueJournalManager().restore(guild))
+                    return;
                 String defpl = bot.getSettingsManager().getSettings(guild).getDefaultPlaylist();
                 VoiceChannel vc = bot.getSettingsManager().getSettings(guild).getVoiceChannel(guild);
                 if(defpl!=null && vc!=null && bot.getPlayerManager().setUpHandler(guild).playFromDefault())
@@ -121,6 +127,31 @@ public class Listener extends ListenerAdapter
     public void onGuildVoiceUpdate(@NotNull GuildVoiceUpdateEvent event)
     {
         bot.getAloneInVoiceHandler().onVoiceUpdate(event);
+        if(!event.getMember().equals(event.getGuild().getSelfMember()))
+            return;
+        if(event.getChannelJoined() != null)
+            updateBitrate(event.getGuild(), event.getChannelJoined().getBitrate());
+        if(event.getChannelLeft() == null)
+            bot.getPlayerManager().getConnectionLinger().connected();
+        else if(event.getChannelJoined() == null)
+            bot.getPlayerManager().getConnectionLinger().disconnected(event.getGuild().getIdLong());
+    }
+
+    @Override
+    public void onChannelUpdateBitrate(@NotNull ChannelUpdateBitrateEvent event)
+    {
+        Guild guild = event.getGuild();
+        AudioChannel connected = guild.getAudioManager().getConnectedChannel();
+        if(connected != null && connected.getIdLong() == event.getChannel().getIdLong())
+            updateBitrate(guild, event.getNewValue());
+    }
+
+    // tells the guild's handler, if it has one, the bitrate of the channel the bot is in; the
+    // handler is read once, as an idle one may be evicted at any time
+    private void updateBitrate(Guild guild, int bitrate)
+    {
+        if(guild.getAudioManager().getSendingHandler() instanceof AudioHandler handler)
+            handler.setChannelBitrate(bitrate);
     }
 
     @Override
@@ -134,6 +165,12 @@ public class Listener extends ListenerAdapter
     {
         credit(event.getJDA());
     }
+
+    @Override
+    public void onGuildLeave(@NotNull GuildLeaveEvent event)
+    {
+        bot.getPlayerManager().removeHandler(event.getGuild().getIdLong());
+    }
     
     // make sure people aren't adding clones to dbots
     private void credit(JDA jda)
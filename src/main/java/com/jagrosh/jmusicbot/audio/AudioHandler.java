@@ -17,17 +17,22 @@ package com.jagrosh.jmusicbot.audio;
 
 import com.jagrosh.jmusicbot.playlist.PlaylistLoader.Playlist;
 import com.jagrosh.jmusicbot.queue.AbstractQueue;
+import com.jagrosh.jmusicbot.queue.DuplicateIndex;
+import com.jagrosh.jmusicbot.queue.PlayHistory;
+import com.jagrosh.jmusicbot.settings.DuplicatePolicy;
 import com.jagrosh.jmusicbot.settings.QueueType;
 import com.jagrosh.jmusicbot.settings.RepeatMode;
 import com.jagrosh.jmusicbot.settings.Settings;
 import com.jagrosh.jmusicbot.utils.MessageFormatter;
+import com.sedmelluq.discord.lavaplayer.format.StandardAudioDataFormats;
+import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration;
 import com.sedmelluq.discord.lavaplayer.player.AudioPlayer;
 import com.sedmelluq.discord.lavaplayer.player.event.AudioEventAdapter;
 import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrackEndReason;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrackInfo;
-import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrame;
+import com.sedmelluq.discord.lavaplayer.track.playback.MutableAudioFrame;
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.audio.AudioSendHandler;
 import net.dv8tion.jda.api.entities.Guild;
@@ -35,11 +40,17 @@ import net.dv8tion.jda.api.utils.messages.MessageCreateData;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  *
@@ -50,24 +61,99 @@ public class AudioHandler extends AudioEventAdapter implements AudioSendHandler
     public final static String PLAY_EMOJI  = "\u25B6"; // ▶
     public final static String PAUSE_EMOJI = "\u23F8"; // ⏸
     public final static String STOP_EMOJI  = "\u23F9"; // ⏹
+    
+    /**
+     * Returned by {@link #addTrack} when the guild's {@link com.jagrosh.jmusicbot.settings.DuplicatePolicy}
+     * turns the track away.
+     */
+    public final static int DUPLICATE = -2;
+    
+    /**
+     * How {@link #changeVolume} dealt with a volume.
+     */
+    public enum VolumeChange
+    {
+        APPLIED,
+        /** the volume policy holds it back until the next track starts */
+        NEXT_TRACK,
+        /** too many guilds are transcoding, the guild plays at 100 until a slot frees up */
+        CAPPED
+    }
 
     private final static Logger LOGGER = LoggerFactory.getLogger(AudioHandler.class);
+    // how often, in frames, canProvide checks whether to prefetch the next track or release a paused one
+    private final static int CHECK_FRAMES = 50;
+    // sources whose tracks are cached; their tracks encode without any state of the source's own
+    private final static Set<String> CACHED_SOURCES = Set.of("youtube", "soundcloud", "bandcamp", "vimeo");
+    private final static long MAX_CACHED_TRACK_MILLIS = TimeUnit.MINUTES.toMillis(20);
+    // how far a recording may drift from the track's position before it is taken to have seeked
+    private final static long MAX_RECORDING_DRIFT_MILLIS = 2000;
+    private final static int RECORDING_CHECK_FRAMES = 50;
 
     private final List<AudioTrack> defaultQueue = new LinkedList<>();
     private final Set<String> votes = new HashSet<>();
+    private final DuplicateIndex<QueuedTrack> duplicates = new DuplicateIndex<>(qt -> trackKey(qt.getUri(), qt.getTitle()));
     
     private final PlayerManager manager;
-    private final AudioPlayer audioPlayer;
     private final long guildId;
+    private final long prefetchMillis;
+    private final long releasePausedMillis;
+    private final PlayHistory<EncodedQueuedTrack> history;
+    private final TrackRecovery recovery;
+    private final TranscodingMonitor.GuildStats transcoding;
+    // every frame is copied into the same buffer, so sending allocates nothing
+    private final ByteBuffer frameBuffer = ByteBuffer.allocate(StandardAudioDataFormats.DISCORD_OPUS.maximumChunkSize());
+    private final MutableAudioFrame frame = new MutableAudioFrame();
     
-    private AudioFrame lastFrame;
-    private AbstractQueue<QueuedTrack> queue;
+    private volatile AudioPlayer audioPlayer;
+    // read by the audio thread, which only ever peeks at its head, see checkPrefetch
+    private volatile AbstractQueue<QueuedTrack> queue;
+    private boolean rewinding;
+    // a second player that opens the head of the queue ahead of time, paused, see prefetchNext
+    private AudioPlayer standby;
+    // the broadcast sent while nothing of the guild's own is playing, see setBroadcast
+    private volatile Broadcast.Receiver broadcast;
+    // the frames of the playing track being recorded into the frame cache, see startRecording
+    private volatile FrameCache.Recorder recorder;
+    private volatile AudioTrack recording;
+    // set while there is nothing to send, so canProvide answers with this one read, see goIdle
+    private volatile boolean idle;
+    // whether the playing track's opus frames come from its source untouched at volume 100,
+    // decided when it starts, see TranscodingMonitor
+    private volatile boolean passthrough;
+    // the tier of the voice channel the guild is connected to, see setChannelBitrate
+    private volatile BitrateTier bitrateTier = BitrateTier.HIGH;
+    private QueuedTrack prefetched;
+    // the track being swapped for its parked stand-in, or back, whose end is not a real end
+    private AudioTrack swapping;
+    private int framesSinceCheck;
+    // bumped whenever the guild is stopped or the handler destroyed, so a recovery that
+    // finishes afterwards knows it is not wanted any more, see isWanted
+    private volatile int generation;
+    private volatile boolean destroyed;
+    // the run of frames missed so far, only used by the audio thread, see frameMissed
+    private long underrunStart;
+    private int underrunFrames;
+    // set from the queue running out until the next track starts, which begins a new session
+    private boolean betweenSessions = true;
+    // when the first track of a session started, until its first frame is sent, see sent
+    private volatile long sessionStarted;
+    private boolean sessionWarm;
+    private long pausedSince;
+    // when the handler last had anything to do, see isIdleSince
+    private volatile long lastActive = System.currentTimeMillis();
 
     protected AudioHandler(PlayerManager manager, Guild guild, AudioPlayer player)
     {
         this.manager = manager;
         this.audioPlayer = player;
         this.guildId = guild.getIdLong();
+        this.prefetchMillis = manager.getBot().getConfig().getPrefetchSeconds() * 1000L;
+        this.releasePausedMillis = TimeUnit.MINUTES.toMillis(manager.getBot().getConfig().getPausedReleaseMinutes());
+        this.history = new PlayHistory<>(manager.getBot().getConfig().getHistorySize());
+        this.recovery = new TrackRecovery(manager, guildId);
+        this.transcoding = manager.getTranscodingMonitor().getStats(guildId);
+        this.frame.setBuffer(frameBuffer);
 
         this.setQueueType(manager.getBot().getSettingsManager().getSettings(guildId).getQueueType());
     }
@@ -75,13 +161,16 @@ public class AudioHandler extends AudioEventAdapter implements AudioSendHandler
     public void setQueueType(QueueType type)
     {
         queue = type.createInstance(queue);
+        duplicates.cleared();
+        queue.addListener(duplicates);
+        manager.getBot().getQueueJournalManager().attach(guildId, queue);
     }
 
     public int addTrackToFront(QueuedTrack qtrack)
     {
         if(audioPlayer.getPlayingTrack()==null)
         {
-            audioPlayer.playTrack(qtrack.getTrack());
+            audioPlayer.playTrack(fromCache(qtrack.getTrack()));
             return -1;
         }
         else
@@ -91,15 +180,189 @@ public class AudioHandler extends AudioEventAdapter implements AudioSendHandler
         }
     }
     
+    /**
+     * Adds a track requested by a user, unless the guild's duplicate policy turns it away.
+     * The policy is checked against a hash index of the queue, in constant time.
+     *
+     * @param qtrack the track to add
+     * @return the position in the queue, -1 if the track began playing, or {@link #DUPLICATE}
+     */
     public int addTrack(QueuedTrack qtrack)
     {
+        Settings settings = manager.getBot().getSettingsManager().getSettings(guildId);
+        String key = duplicates.keyOf(qtrack);
+        if(!settings.getDuplicatePolicy().allows(duplicates.copies(key), duplicates.requestsSince(key), settings.getDuplicateLimit()))
+            return DUPLICATE;
+        int position;
         if(audioPlayer.getPlayingTrack()==null)
         {
-            audioPlayer.playTrack(qtrack.getTrack());
-            return -1;
+            audioPlayer.playTrack(fromCache(qtrack.getTrack()));
+            duplicates.setPlaying(key);
+            position = -1;
         }
         else
-            return queue.add(qtrack);
+            position = queue.add(qtrack);
+        duplicates.requested(key);
+        return position;
+    }
+    
+    /**
+     * @return why {@link #addTrack} returned {@link #DUPLICATE}, under the guild's current policy
+     */
+    public String getDuplicateRejection()
+    {
+        Settings settings = manager.getBot().getSettingsManager().getSettings(guildId);
+        return settings.getDuplicatePolicy().getRejection(settings.getDuplicateLimit());
+    }
+    
+    /**
+     * Adds a batch of tracks, starting the first one if nothing is playing and merging the
+     * rest into the queue in a single pass. Queued tracks are kept encoded until they are
+     * played, see {@link EncodedQueuedTrack}.
+     * <p>
+     * Each track is one request under the guild's duplicate policy, as if it had been added
+     * through {@link #addTrack} in turn, so copies earlier in the batch count against later
+     * ones. A track the policy turns away is left out.
+     *
+     * @param qtracks the tracks to add, in order
+     * @return the position of each track in the queue, -1 for a track that began playing, or
+     *         {@link #DUPLICATE} for a track left out
+     */
+    public int[] addTracks(Collection<QueuedTrack> qtracks)
+    {
+        int[] positions = new int[qtracks.size()];
+        if(positions.length==0)
+            return positions;
+        Settings settings = manager.getBot().getSettingsManager().getSettings(guildId);
+        DuplicatePolicy policy = settings.getDuplicatePolicy();
+        // copies admitted from this batch, which reach the index only once the batch is queued
+        Map<String, Integer> admitted = new HashMap<>();
+        List<QueuedTrack> rest = new ArrayList<>(positions.length);
+        int[] restIndexes = new int[positions.length];
+        int i = 0;
+        for(QueuedTrack qtrack : qtracks)
+        {
+            String key = duplicates.keyOf(qtrack);
+            int copies = duplicates.copies(key) + admitted.getOrDefault(key, 0);
+            if(!policy.allows(copies, duplicates.requestsSince(key), settings.getDuplicateLimit()))
+                positions[i] = DUPLICATE;
+            else if(audioPlayer.getPlayingTrack()==null)
+            {
+                audioPlayer.playTrack(fromCache(qtrack.getTrack()));
+                duplicates.setPlaying(key);
+                duplicates.requested(key);
+                positions[i] = -1;
+            }
+            else
+            {
+                admitted.merge(key, 1, Integer::sum);
+                duplicates.requested(key);
+                restIndexes[rest.size()] = i;
+                rest.add(qtrack);
+            }
+            i++;
+        }
+        int[] queued = queue.addAll(EncodedQueuedTrack.encodeAll(manager, rest));
+        for(int j = 0; j < queued.length; j++)
+            positions[restIndexes[j]] = queued[j];
+        return positions;
+    }
+    
+    /**
+     * Estimates how long until the entry at a queue position starts playing: the rest of
+     * the playing track plus everything queued ahead of the entry.
+     *
+     * @param index the position in the queue
+     * @return the estimate in milliseconds, or -1 if a stream of unknown length is ahead
+     */
+    public long getTimeUntil(int index)
+    {
+        AudioTrack playing = audioPlayer.getPlayingTrack();
+        long ahead = queue.getDurationBefore(index);
+        if(ahead == Long.MAX_VALUE || (playing != null && playing.getDuration() == Long.MAX_VALUE))
+            return -1;
+        return playing == null ? ahead : ahead + Math.max(0, playing.getDuration() - playing.getPosition());
+    }
+    
+    /**
+     * Finds a queued track by a fragment of its title or author, through the queue's title
+     * index. Of several matches, the first one the user requested is preferred.
+     *
+     * @param fragment part of a title or author
+     * @param userId   the user asking, or 0 to take the first match
+     * @return the position of the track in the queue, or -1 if none matches
+     */
+    public int findInQueue(String fragment, long userId)
+    {
+        int[] matches = queue.search(fragment);
+        if(matches.length==0)
+            return -1;
+        for(int index : matches)
+            if(queue.get(index).getIdentifier()==userId)
+                return index;
+        return matches[0];
+    }
+    
+    /**
+     * Goes back to the track played before the current one. The current track is put back
+     * at the front of the queue, at its position, and the previous one is decoded from the
+     * play history, so nothing is looked up again. A history entry that fails to decode is
+     * passed over for the one before it.
+     *
+     * @return the track gone back to, or null if the history is empty
+     */
+    public QueuedTrack playPrevious()
+    {
+        EncodedQueuedTrack previous = history.pop();
+        while(previous!=null && previous.getTrack()==null)
+        {
+            LOGGER.warn("Skipped {} in guild {}, its track could not be decoded", previous.getUri(), guildId);
+            previous = history.pop();
+        }
+        if(previous==null)
+            return null;
+        AudioTrack current = audioPlayer.getPlayingTrack();
+        if(current==null)
+        {
+            audioPlayer.playTrack(fromCache(previous.getTrack()));
+            return previous;
+        }
+        QueuedTrack resumed = new QueuedTrack(current.makeClone(), current.getUserData(RequestMetadata.class));
+        if(current.isSeekable())
+            resumed.getTrack().setPosition(current.getPosition());
+        queue.addAt(0, resumed);
+        queue.addAt(0, previous);
+        // the current track is stopped to go back, so it is not history yet
+        rewinding = true;
+        audioPlayer.stopTrack();
+        return previous;
+    }
+    
+    /**
+     * @return the tracks played most recently in this guild, most recent first
+     */
+    public PlayHistory<EncodedQueuedTrack> getHistory()
+    {
+        return history;
+    }
+    
+    /**
+     * Puts back a queue recovered from its {@link QueueJournal}, keeping the journaled order
+     * rather than the order the queue type would give.
+     *
+     * @param playing the track to resume, already at its position, or null
+     * @param paused  whether the player was paused
+     * @param queued  the queued tracks, in order
+     */
+    public void restore(AudioTrack playing, boolean paused, List<QueuedTrack> queued)
+    {
+        for(QueuedTrack qt : queued)
+            queue.addAt(queue.size(), qt);
+        if(playing != null)
+        {
+            audioPlayer.playTrack(fromCache(playing));
+            audioPlayer.setPaused(paused);
+        }
     }
     
     public AbstractQueue<QueuedTrack> getQueue()
@@ -109,12 +372,67 @@ public class AudioHandler extends AudioEventAdapter implements AudioSendHandler
     
     public void stopAndClear()
     {
+        generation++;
         queue.clear();
         defaultQueue.clear();
+        setBroadcast(null);
+        dropPrefetch();
         audioPlayer.stopTrack();
         //current = null;
     }
 
+    /**
+     * Marks the handler as in use, so it is not evicted while a command works with it.
+     */
+    void touch()
+    {
+        lastActive = System.currentTimeMillis();
+    }
+    
+    /**
+     * Checks whether the handler has had nothing to do since a time: no track, nothing queued
+     * and no broadcast, while the guild is not connected.
+     *
+     * @param time      the time in epoch milliseconds
+     * @param connected whether the guild is connected to a voice channel
+     * @return whether the handler has been idle since the time
+     */
+    synchronized boolean isIdleSince(long time, boolean connected)
+    {
+        if(connected || audioPlayer.getPlayingTrack() != null || !queue.isEmpty() || !defaultQueue.isEmpty() || broadcast != null)
+            touch();
+        return lastActive <= time;
+    }
+    
+    /**
+     * Tears the handler down for good: its queue is cleared, its players are destroyed and its
+     * broadcast, recording and transcoding slot let go. The guild gets a new handler the next
+     * time it needs one.
+     */
+    synchronized void destroy()
+    {
+        destroyed = true;
+        generation++;
+        // the players end their tracks when destroyed, which must not start anything else
+        audioPlayer.removeListener(this);
+        if(standby != null)
+            standby.removeListener(this);
+        queue.clear();
+        defaultQueue.clear();
+        setBroadcast(null);
+        dropPrefetch();
+        stopRecording(recording, false);
+        if(standby != null)
+            standby.destroy();
+        audioPlayer.destroy();
+        manager.getTranscodingMonitor().remove(guildId);
+    }
+    
+    public long getGuildId()
+    {
+        return guildId;
+    }
+    
     public boolean isMusicPlaying(JDA jda)
     {
         // Check that the selfMember is connected to a channel where they can receive audio
@@ -124,6 +442,87 @@ public class AudioHandler extends AudioEventAdapter implements AudioSendHandler
         return isBotConnectedToVoice && isAudioPlaying;
     }
     
+    /**
+     * Tunes the guild in to a {@link Broadcast}, leaving the one it was tuned in to. The
+     * broadcast is sent whenever the guild's own player has no track, so queued requests
+     * still play first, and the guild goes back to the broadcast once its queue runs out.
+     *
+     * @param receiver the guild's receiver of the broadcast, or null to leave it
+     */
+    public void setBroadcast(Broadcast.Receiver receiver)
+    {
+        Broadcast.Receiver previous = broadcast;
+        broadcast = receiver;
+        if(receiver != null)
+            idle = false;
+        if(previous != null && previous != receiver)
+            previous.leave();
+    }
+    
+    /**
+     * @return the broadcast the guild is tuned in to, or null
+     */
+    public Broadcast getBroadcast()
+    {
+        Broadcast.Receiver receiver = broadcast;
+        return receiver == null ? null : receiver.getBroadcast();
+    }
+    
+    /**
+     * Changes the volume of the guild's player, under the configured {@link VolumePolicy} and
+     * cap on transcoding guilds. A volume held back is applied when the next track starts,
+     * from the volume in the guild's settings.
+     *
+     * @param volume the volume, already saved in the guild's settings
+     * @return whether the volume was applied now, or why not
+     */
+    public VolumeChange changeVolume(int volume)
+    {
+        if(manager.getBot().getConfig().getVolumePolicy() == VolumePolicy.TRACK_BOUNDARY
+                && audioPlayer.getPlayingTrack() != null && volume != audioPlayer.getVolume())
+            return VolumeChange.NEXT_TRACK;
+        return applyVolume(volume) ? VolumeChange.APPLIED : VolumeChange.CAPPED;
+    }
+    
+    // sets the volume, or 100 if no slot for another transcoding guild is free
+    boolean applyVolume(int volume)
+    {
+        TranscodingMonitor monitor = manager.getTranscodingMonitor();
+        boolean allowed = volume == 100 || monitor.acquire(guildId);
+        if(volume == 100 || !allowed)
+            monitor.release(guildId);
+        int applied = allowed ? volume : 100;
+        audioPlayer.setVolume(applied);
+        synchronized(this)
+        {
+            if(standby != null)
+                standby.setVolume(applied);
+        }
+        return allowed;
+    }
+    
+    /**
+     * Takes in the bitrate of the voice channel the guild is connected to, when it connects or
+     * the channel's bitrate changes. The tier only affects tracks that start afterwards, see
+     * {@link PlayerManager#executeTrack}, so the encoding never changes in the middle of a track.
+     *
+     * @param bitrate the channel's bitrate, in bits per second
+     */
+    public void setChannelBitrate(int bitrate)
+    {
+        if(!manager.getBot().getConfig().useChannelBitrate())
+            return;
+        BitrateTier tier = BitrateTier.of(bitrate);
+        if(tier != bitrateTier)
+            LOGGER.debug("Guild {} is now in the {} bitrate tier ({} bps)", guildId, tier, bitrate);
+        bitrateTier = tier;
+    }
+    
+    public BitrateTier getBitrateTier()
+    {
+        return bitrateTier;
+    }
+    
     public Set<String> getVotes()
     {
         return votes;
@@ -134,6 +533,32 @@ public class AudioHandler extends AudioEventAdapter implements AudioSendHandler
         return audioPlayer;
     }
     
+    /**
+     * Unpauses the player. A track that stayed paused long enough to be released is opened
+     * again from where it was paused.
+     */
+    public void unpause()
+    {
+        audioPlayer.setPaused(false);
+        unpark();
+    }
+    
+    /**
+     * @return whether there is nothing to send: no track on the player and no broadcast
+     */
+    public boolean isIdle()
+    {
+        return idle;
+    }
+    
+    /**
+     * @return whether the playing track stayed paused so long its stream was released
+     */
+    public boolean isParked()
+    {
+        return audioPlayer.getPlayingTrack() instanceof ParkedAudioTrack;
+    }
+    
     public RequestMetadata getRequestMetadata()
     {
         if(audioPlayer.getPlayingTrack() == null)
@@ -142,11 +567,139 @@ public class AudioHandler extends AudioEventAdapter implements AudioSendHandler
         return rm == null ? RequestMetadata.EMPTY : rm;
     }
     
+    /**
+     * Starts the track at the head of the queue on a standby player and pauses it there, so
+     * its stream is resolved and opened and its first frames are buffered before it is needed.
+     * When the current track ends or is skipped, the standby player takes over without the
+     * gap of opening the stream. Called shortly before the current track ends and when a skip
+     * vote begins; a prefetch whose track is no longer at the head of the queue is dropped.
+     */
+    public synchronized void prefetchNext()
+    {
+        if(prefetchMillis <= 0)
+            return;
+        QueuedTrack next = queue.peek();
+        if(next == prefetched)
+            return;
+        dropPrefetch();
+        if(next == null)
+            return;
+        if(standby == null)
+        {
+            standby = manager.createPlayer(this);
+            standby.addListener(this);
+        }
+        // a queued track can only be played once, so a copy is opened in case the prefetch is dropped
+        AudioTrack copy = next.copyTrack();
+        if(copy == null)
+            return;
+        standby.setVolume(audioPlayer.getVolume());
+        standby.setPaused(true);
+        standby.playTrack(fromCache(copy));
+        prefetched = next;
+    }
+    
+    // stops the standby player, if it has the head of the queue open
+    private synchronized void dropPrefetch()
+    {
+        if(prefetched == null)
+            return;
+        prefetched = null;
+        standby.stopTrack();
+    }
+    
+    // called every second from canProvide: prefetches once the current track is about to end.
+    // Commands change the queue on other threads without the handler's lock, so the audio
+    // thread only peeks at the head the queue publishes, never walking the queue itself
+    private synchronized void checkPrefetch()
+    {
+        QueuedTrack next = queue.peek();
+        if(prefetched != null)
+        {
+            if(next != prefetched)
+                dropPrefetch();
+            else
+                // a paused player is never read from; this keeps lavaplayer from cleaning it up
+                standby.provide();
+            return;
+        }
+        AudioTrack current = audioPlayer.getPlayingTrack();
+        if(current == null || current.getDuration() == Long.MAX_VALUE || next == null
+                || current.getDuration() - current.getPosition() > prefetchMillis)
+            return;
+        if(manager.getBot().getSettingsManager().getSettings(guildId).getRepeatMode() == RepeatMode.SINGLE)
+            return;
+        prefetchNext();
+    }
+    
+    // switches to the standby player if it has the track that is next, returning whether it did
+    private synchronized boolean takePrefetch(QueuedTrack next)
+    {
+        if(prefetched != next)
+        {
+            dropPrefetch();
+            return false;
+        }
+        prefetched = null;
+        AudioTrack track = standby.getPlayingTrack();
+        if(track == null)
+            return false;
+        AudioPlayer previous = audioPlayer;
+        standby.setVolume(previous.getVolume());
+        standby.setPaused(previous.isPaused());
+        audioPlayer = standby;
+        standby = previous;
+        // the start event was ignored while the player was on standby
+        onTrackStart(audioPlayer, track);
+        return true;
+    }
+    
+    // once a second from canProvide: releases the track once it has been paused long enough
+    private void checkPause()
+    {
+        AudioTrack track = audioPlayer.getPlayingTrack();
+        if(track == null || !audioPlayer.isPaused())
+        {
+            pausedSince = 0;
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if(pausedSince == 0)
+            pausedSince = now;
+        else if(now - pausedSince >= releasePausedMillis && !(track instanceof ParkedAudioTrack))
+            manager.getBot().getThreadpool().execute(this::park);
+    }
+    
+    // swaps the paused track for a stand-in, which closes its stream and decoder and frees its buffer
+    private synchronized void park()
+    {
+        AudioTrack track = audioPlayer.getPlayingTrack();
+        if(track == null || track instanceof ParkedAudioTrack || !audioPlayer.isPaused())
+            return;
+        dropPrefetch();
+        ParkedAudioTrack parked = new ParkedAudioTrack(track);
+        // stopped rather than replaced, so the player does not keep the track to play out its buffer
+        swapping = track;
+        audioPlayer.stopTrack();
+        audioPlayer.playTrack(parked);
+        LOGGER.debug("Released track {} of guild {}, paused for {} ms", track.getIdentifier(), guildId, System.currentTimeMillis() - pausedSince);
+    }
+    
+    // opens a parked track again, at the position it was paused at
+    private synchronized void unpark()
+    {
+        AudioTrack track = audioPlayer.getPlayingTrack();
+        if(!(track instanceof ParkedAudioTrack))
+            return;
+        swapping = track;
+        audioPlayer.playTrack(fromCache(((ParkedAudioTrack) track).getOriginal()));
+    }
+    
     public boolean playFromDefault()
     {
         if(!defaultQueue.isEmpty())
         {
-            audioPlayer.playTrack(defaultQueue.remove(0));
+            audioPlayer.playTrack(fromCache(defaultQueue.remove(0)));
             return true;
         }
         Settings settings = manager.getBot().getSettingsManager().getSettings(guildId);
@@ -156,16 +709,19 @@ public class AudioHandler extends AudioEventAdapter implements AudioSendHandler
         Playlist pl = manager.getBot().getPlaylistLoader().getPlaylist(settings.getDefaultPlaylist());
         if(pl==null || pl.getItems().isEmpty())
             return false;
-        pl.loadTracks(manager, (at) -> 
+        pl.loadTracks(manager, (tracks) -> 
         {
+            int start = 0;
             if(audioPlayer.getPlayingTrack()==null)
-                audioPlayer.playTrack(at);
-            else
-                defaultQueue.add(at);
+                audioPlayer.playTrack(fromCache(tracks.get(start++)));
+            defaultQueue.addAll(tracks.subList(start, tracks.size()));
         }, () -> 
         {
             if(pl.getTracks().isEmpty() && !manager.getBot().getConfig().getStay())
-                manager.getBot().closeAudioConnection(guildId);
+            {
+                betweenSessions = true;
+                manager.getConnectionLinger().linger(guildId);
+            }
         });
         return true;
     }
@@ -174,6 +730,36 @@ public class AudioHandler extends AudioEventAdapter implements AudioSendHandler
     @Override
     public void onTrackEnd(AudioPlayer player, AudioTrack track, AudioTrackEndReason endReason) 
     {
+        if(player != audioPlayer)
+            return;
+        stopRecording(track, endReason == AudioTrackEndReason.FINISHED);
+        if(track == swapping)
+        {
+            swapping = null;
+            return;
+        }
+        if(recovery.isMarked(track))
+        {
+            int recovering = generation;
+            recovery.recover(track, next ->
+            {
+                if(isWanted(recovering))
+                    resume(next);
+                else
+                    recovery.dropped();
+            }, () ->
+            {
+                if(isWanted(recovering))
+                    giveUp(track);
+            });
+            return;
+        }
+        duplicates.setPlaying(null);
+        if(rewinding)
+            rewinding = false;
+        else if(endReason!=AudioTrackEndReason.LOAD_FAILED)
+            remember(track);
+        
         // Log track end with details for debugging
         if (endReason != AudioTrackEndReason.FINISHED) {
             LOGGER.debug("Track {} ended with reason: {} (Track: {})", 
@@ -193,27 +779,197 @@ public class AudioHandler extends AudioEventAdapter implements AudioSendHandler
                 queue.addAt(0, clone);
         }
         
-        if(queue.isEmpty())
+        if(!playNextQueued(player))
         {
-            if(!playFromDefault())
+            // a guild tuned in to a broadcast goes back to it, rather than to the default playlist
+            if(broadcast != null || !playFromDefault())
             {
                 manager.getBot().getNowplayingHandler().onTrackUpdate(guildId, null);
-                if(!manager.getBot().getConfig().getStay())
-                    manager.getBot().closeAudioConnection(guildId);
+                if(broadcast == null)
+                {
+                    betweenSessions = true;
+                    // the connection is kept open a while, in case another song is requested
+                    if(!manager.getBot().getConfig().getStay())
+                        manager.getConnectionLinger().linger(guildId);
+                }
                 // unpause, in the case when the player was paused and the track has been skipped.
                 // this is to prevent the player being paused next time it's being used.
                 player.setPaused(false);
             }
         }
-        else
+    }
+
+    // starts the first queued entry that can still be played, skipping those that fail to decode
+    private boolean playNextQueued(AudioPlayer player)
+    {
+        while(!queue.isEmpty())
         {
             QueuedTrack qt = queue.pull();
-            player.playTrack(qt.getTrack());
+            if(takePrefetch(qt) || play(player, qt))
+                return true;
+        }
+        return false;
+    }
+
+    // plays an entry's track, unless the entry could not be decoded
+    private boolean play(AudioPlayer player, QueuedTrack qt)
+    {
+        AudioTrack track = qt.getTrack();
+        if(track == null)
+        {
+            LOGGER.warn("Skipped {} in guild {}, its track could not be decoded", qt.getUri(), guildId);
+            return false;
+        }
+        player.playTrack(fromCache(track));
+        return true;
+    }
+
+    // whether a recovery begun at a generation may still play: the guild was not stopped and
+    // the handler not destroyed while the track was loaded again
+    private boolean isWanted(int recovering)
+    {
+        if(!destroyed && generation == recovering)
+            return true;
+        LOGGER.debug("Dropped a recovery in guild {}, the guild was stopped meanwhile", guildId);
+        return false;
+    }
+
+    // plays a recovered track, or puts it first in the queue if something else began playing meanwhile
+    private void resume(AudioTrack track)
+    {
+        if(audioPlayer.startTrack(track, true))
+            return;
+        long position = track.getPosition();
+        QueuedTrack qt = new QueuedTrack(track, track.getUserData(RequestMetadata.class));
+        if(track.isSeekable())
+            qt.getTrack().setPosition(position);
+        queue.addAt(0, qt);
+    }
+
+    // carries on as if the track had failed without a recovery
+    private void giveUp(AudioTrack track)
+    {
+        if(audioPlayer.getPlayingTrack() == null)
+            onTrackEnd(audioPlayer, track, AudioTrackEndReason.LOAD_FAILED);
+    }
+
+    @Override
+    public void onTrackStuck(AudioPlayer player, AudioTrack track, long thresholdMs)
+    {
+        if(player != audioPlayer)
+            return;
+        LOGGER.warn("Track {} is stuck, no audio for {} ms", track.getIdentifier(), thresholdMs);
+        // the end event of the stopped track carries out the recovery
+        if(recovery.mark(track))
+            player.stopTrack();
+    }
+
+    // the key of a track in the frame cache, or null if it is not a track to cache
+    private String cacheKey(AudioTrack track)
+    {
+        if(manager.getFrameCache() == null || track == null || track instanceof CachedAudioTrack || track instanceof ParkedAudioTrack
+                || track.getInfo().isStream || track.getDuration() > MAX_CACHED_TRACK_MILLIS
+                || track.getSourceManager() == null || !CACHED_SOURCES.contains(track.getSourceManager().getSourceName()))
+            return null;
+        return FrameCache.key(track.getSourceManager().getSourceName(), track.getIdentifier());
+    }
+
+    // the track played from the frame cache instead, if its frames are there at no lower a
+    // quality than the guild's tracks are encoded at now
+    private AudioTrack fromCache(AudioTrack track)
+    {
+        String key = cacheKey(track);
+        if(key == null || !manager.getFrameCache().contains(key, manager.getOpusEncodingQuality(this)))
+            return track;
+        AudioTrack cached = new CachedAudioTrack(track, manager.getFrameCache(), key);
+        cached.setUserData(track.getUserData());
+        cached.setPosition(track.getPosition());
+        return cached;
+    }
+
+    // records the frames sent for a track played from its start, if it is not cached yet at
+    // the quality it is sent at; frames encoded while the bitrate tier or the quality governor
+    // hold the encoder back are not recorded, only those passed through from the source are
+    private void startRecording(AudioTrack track)
+    {
+        stopRecording(recording, false);
+        String key = cacheKey(track);
+        if(key == null || track.getPosition() > 0)
+            return;
+        int quality;
+        if(TranscodingMonitor.deliversOpus(track))
+            quality = AudioConfiguration.OPUS_QUALITY_MAX;
+        else if(!manager.isEncoderCapped(this))
+            quality = manager.getOpusEncodingQuality(this);
+        else
+            return;
+        if(manager.getFrameCache().contains(key, quality))
+            return;
+        recorder = manager.getFrameCache().record(key, quality);
+        recording = track;
+    }
+
+    // adds the frame the guild's own player just provided to the recording
+    private void record(AudioPlayer player)
+    {
+        FrameCache.Recorder current = recorder;
+        if(current == null)
+            return;
+        AudioTrack track = recording;
+        // frames at another volume, or after a seek, are not the track as it is
+        if(player.getPlayingTrack() != track || player.getVolume() != 100
+                || (current.getFrameCount() % RECORDING_CHECK_FRAMES == 0
+                    && Math.abs(track.getPosition() - (long) current.getFrameCount() * FrameCache.FRAME_MILLIS) > MAX_RECORDING_DRIFT_MILLIS))
+        {
+            stopRecording(track, false);
+            return;
+        }
+        // copied for the cache's writer thread; dropped if the writer fell behind
+        if(!current.offer(frameBuffer.array(), 0, frameBuffer.position()))
+            stopRecording(track, false);
+    }
+
+    // ends the recording of a track, putting it into the frame cache if it was played through
+    private void stopRecording(AudioTrack track, boolean finished)
+    {
+        FrameCache.Recorder current = recorder;
+        if(current == null || track != recording)
+            return;
+        recorder = null;
+        recording = null;
+        current.finish(finished
+                && (long) current.getFrameCount() * FrameCache.FRAME_MILLIS >= track.getDuration() - MAX_RECORDING_DRIFT_MILLIS);
+    }
+
+    // keeps the track in the play history in its encoded form
+    private void remember(AudioTrack track)
+    {
+        if(history.capacity()==0 || track==null)
+            return;
+        try
+        {
+            history.push(EncodedQueuedTrack.of(manager, track, track.getUserData(RequestMetadata.class)));
+        }
+        catch(IOException ex)
+        {
+            LOGGER.debug("Track {} was not kept in the play history: {}", track.getIdentifier(), ex.getMessage());
         }
     }
 
     @Override
     public void onTrackException(AudioPlayer player, AudioTrack track, FriendlyException exception) {
+        if (player != audioPlayer) {
+            // the prefetch failed; the track is opened again when it is played
+            LOGGER.debug("Prefetch of track {} failed: {}", track.getIdentifier(), exception.getMessage());
+            synchronized (this) {
+                prefetched = null;
+            }
+            return;
+        }
+        if (TrackRecovery.isRecoverable(exception) && recovery.mark(track)) {
+            LOGGER.warn("Track {} has failed to play, recovering: {}", track.getIdentifier(), exception.getMessage());
+            return;
+        }
         // Build detailed error message with track information
         StringBuilder errorDetails = new StringBuilder();
         errorDetails.append("Track exception occurred:\n");
@@ -276,7 +1032,22 @@ public class AudioHandler extends AudioEventAdapter implements AudioSendHandler
     @Override
     public void onTrackStart(AudioPlayer player, AudioTrack track) 
     {
+        if(player != audioPlayer)
+            return;
+        idle = false;
+        if(track instanceof ParkedAudioTrack)
+            return;
+        if(betweenSessions)
+            startSession();
+        passthrough = TranscodingMonitor.deliversOpus(track) && !manager.isEncoderCapped(this);
+        // a volume held back by the volume policy or the transcoding cap is applied between tracks
+        int volume = manager.getBot().getSettingsManager().getSettings(guildId).getVolume();
+        if(volume != player.getVolume())
+            applyVolume(volume);
+        startRecording(track);
+        recovery.started(track);
         votes.clear();
+        duplicates.setPlaying(trackKey(track.getInfo().uri, track.getInfo().title));
         
         // Log track start with details for debugging
         if (track != null && track.getInfo() != null) {
@@ -290,6 +1061,17 @@ public class AudioHandler extends AudioEventAdapter implements AudioSendHandler
         manager.getBot().getNowplayingHandler().onTrackUpdate(guildId, track);
     }
 
+    // the first track after the queue ran out: takes the connection out of its linger window
+    // and times the track until its first frame is sent
+    private void startSession()
+    {
+        betweenSessions = false;
+        boolean reused = manager.getConnectionLinger().resume(guildId);
+        Guild guild = manager.getBot().getJDA().getGuildById(guildId);
+        sessionWarm = reused || (manager.getBot().getConfig().getStay() && guild != null && guild.getAudioManager().isConnected());
+        sessionStarted = System.nanoTime();
+    }
+
     //
     public NowPlayingInfo getNowPlayingInfo(JDA jda)
     {
@@ -314,44 +1096,121 @@ public class AudioHandler extends AudioEventAdapter implements AudioSendHandler
         return MessageFormatter.buildNoMusicPlayingMessage(manager.getBot(), getNowPlayingInfo(jda));
     }
 
+    // tracks are told apart by their uri, or by their title if a source gives none
+    private static String trackKey(String uri, String title)
+    {
+        return uri != null ? uri : String.valueOf(title);
+    }
+
     public String getStatusEmoji()
     {
         return audioPlayer.isPaused() ? PAUSE_EMOJI : PLAY_EMOJI;
     }
     
     // Audio Send Handler methods
-    /*@Override
+    @Override
     public boolean canProvide() 
     {
-        if (lastFrame == null)
-            lastFrame = audioPlayer.provide();
-
-        return lastFrame != null;
+        // a guild connected with nothing to play is asked every 20 ms all the same
+        if(idle)
+            return false;
+        if(++framesSinceCheck >= CHECK_FRAMES)
+        {
+            framesSinceCheck = 0;
+            if(prefetchMillis > 0)
+                checkPrefetch();
+            if(releasePausedMillis > 0)
+                checkPause();
+        }
+        AudioPlayer player = audioPlayer;
+        if(player.provide(frame))
+        {
+            sent(player);
+            return true;
+        }
+        // the track may have just ended in provide, with the prefetched one taking over
+        if(player != audioPlayer && audioPlayer.provide(frame))
+        {
+            sent(audioPlayer);
+            return true;
+        }
+        AudioTrack playing = audioPlayer.getPlayingTrack();
+        if(playing != null)
+        {
+            // a parked track unpaused other than through unpause is opened again here
+            if(playing instanceof ParkedAudioTrack)
+            {
+                if(!audioPlayer.isPaused())
+                    manager.getBot().getThreadpool().execute(this::unpark);
+            }
+            // a track that has begun playing but has no frame ready missed one
+            else if(!audioPlayer.isPaused() && playing.getPosition() > 0)
+            {
+                frameMissed();
+                return false;
+            }
+            endUnderrun();
+            return false;
+        }
+        endUnderrun();
+        Broadcast.Receiver receiver = broadcast;
+        if(receiver == null)
+        {
+            goIdle();
+            return false;
+        }
+        if(!receiver.read(frameBuffer))
+            return false;
+        // a broadcast is encoded once for all its guilds, never by the guild itself
+        transcoding.frameSent(false);
+        return true;
     }
-
-    @Override
-    public byte[] provide20MsAudio() 
+    
+    // stops asking the player for frames until a track starts or a broadcast is tuned in to;
+    // both set the flag after the track or receiver, so one set meanwhile is seen by the check
+    private void goIdle()
     {
-        if (lastFrame == null) 
-            lastFrame = audioPlayer.provide();
-
-        byte[] data = lastFrame != null ? lastFrame.getData() : null;
-        lastFrame = null;
-
-        return data;
-    }*/
+        idle = true;
+        if(audioPlayer.getPlayingTrack() != null || broadcast != null)
+            idle = false;
+    }
     
-    @Override
-    public boolean canProvide() 
+    // counts a frame the playing track had no frame ready for, as part of the run it is in
+    private void frameMissed()
+    {
+        transcoding.frameMissed();
+        if(underrunFrames++ == 0)
+            underrunStart = System.currentTimeMillis();
+    }
+    
+    // hands a run of missed frames that ended, if there was one, to the underrun monitor
+    private void endUnderrun()
     {
-        lastFrame = audioPlayer.provide();
-        return lastFrame != null;
+        if(underrunFrames == 0)
+            return;
+        manager.getUnderrunMonitor().underrun(guildId, underrunStart, System.currentTimeMillis(), underrunFrames);
+        underrunFrames = 0;
+    }
+    
+    // counts and records a frame the guild's own player provided
+    private void sent(AudioPlayer player)
+    {
+        endUnderrun();
+        transcoding.frameSent(!passthrough || player.getVolume() != 100);
+        record(player);
+        long started = sessionStarted;
+        if(started != 0)
+        {
+            sessionStarted = 0;
+            manager.getConnectionLinger().firstAudio(System.nanoTime() - started, sessionWarm);
+        }
     }
 
     @Override
     public ByteBuffer provide20MsAudio() 
     {
-        return ByteBuffer.wrap(lastFrame.getData());
+        // the frame was written into the buffer by canProvide, flip it for reading
+        return frameBuffer.flip();
     }
 
     @Override
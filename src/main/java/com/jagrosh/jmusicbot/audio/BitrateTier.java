@@ -0,0 +1,62 @@
+/*
+ * Copyright 2026 Arif Banai (arif-banai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jagrosh.jmusicbot.audio;
+
+import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration;
+
+/**
+ * How much encoding a guild's voice channel is worth, by the channel's bitrate. Discord plays
+ * a low-bitrate channel at a quality the listeners cannot tell from a cheaper encode, so its
+ * guild is encoded with less effort.
+ */
+public enum BitrateTier
+{
+    /** up to 64 kbps, the default of a new channel */
+    LOW(64_000, 4),
+    /** up to 128 kbps, the most a guild without boosts may set */
+    STANDARD(128_000, 8),
+    /** the bitrates of boosted guilds */
+    HIGH(Integer.MAX_VALUE, AudioConfiguration.OPUS_QUALITY_MAX);
+
+    private final int maxBitrate;
+    private final int opusEncodingQuality;
+
+    BitrateTier(int maxBitrate, int opusEncodingQuality)
+    {
+        this.maxBitrate = maxBitrate;
+        this.opusEncodingQuality = opusEncodingQuality;
+    }
+
+    /**
+     * @param bitrate the bitrate of a voice channel, in bits per second
+     * @return the tier of the channel
+     */
+    public static BitrateTier of(int bitrate)
+    {
+        for(BitrateTier tier : values())
+            if(bitrate <= tier.maxBitrate)
+                return tier;
+        return HIGH;
+    }
+
+    /**
+     * @return the highest opus encoding quality worth spending on the tier
+     */
+    public int getOpusEncodingQuality()
+    {
+        return opusEncodingQuality;
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2026 Arif Banai (arif-banai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jagrosh.jmusicbot.audio;
+
+import com.sedmelluq.discord.lavaplayer.format.StandardAudioDataFormats;
+import com.sedmelluq.discord.lavaplayer.player.AudioPlayer;
+import com.sedmelluq.discord.lavaplayer.player.event.AudioEventAdapter;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrackEndReason;
+import com.sedmelluq.discord.lavaplayer.track.playback.MutableAudioFrame;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * A playlist played on a loop by one player, whose opus frames are sent to every guild tuned
+ * in to it. Each frame is written once into a ring buffer and every guild reads it through its
+ * own {@link Receiver}, so a stream sent to dozens of guilds is downloaded, decoded and encoded
+ * only once.
+ * <p>
+ * There is no clock of its own: the receiver furthest ahead pulls the next frame from the
+ * player, so the broadcast runs at the pace Discord asks for frames and is not read at all
+ * while no guild is connected. A receiver that falls more than the ring behind skips ahead to
+ * the oldest frame still kept. Volume is not applied per guild, the player stays at 100 so
+ * opus streams pass through without being encoded again.
+ */
+public class Broadcast extends AudioEventAdapter
+{
+    // one second of frames
+    private final static int CAPACITY = 50;
+
+    private final String name;
+    private final AudioPlayer player;
+    private final Consumer<Broadcast> onEmpty;
+    private final Set<Receiver> receivers = new HashSet<>();
+    private final byte[][] frames = new byte[CAPACITY][StandardAudioDataFormats.DISCORD_OPUS.maximumChunkSize()];
+    private final int[] lengths = new int[CAPACITY];
+    private final MutableAudioFrame frame = new MutableAudioFrame();
+
+    private List<AudioTrack> tracks = List.of();
+    private int nextTrack;
+    private int failures;
+    // the sequence number of the next frame written to the ring
+    private long written;
+    // set when lavaplayer cleaned up the player while no guild was reading from it
+    private volatile boolean stalled;
+    private boolean ended;
+
+    /**
+     * @param name    the name of the playlist broadcast
+     * @param player  the player to broadcast, used by nothing else
+     * @param onEmpty called once the last receiver has left and the player is destroyed
+     */
+    Broadcast(String name, AudioPlayer player, Consumer<Broadcast> onEmpty)
+    {
+        this.name = name;
+        this.player = player;
+        this.onEmpty = onEmpty;
+        this.frame.setBuffer(ByteBuffer.allocate(StandardAudioDataFormats.DISCORD_OPUS.maximumChunkSize()));
+        player.setVolume(100);
+        player.addListener(this);
+    }
+
+    /**
+     * Adds the tracks of one item of the playlist as it loads. The first tracks to arrive
+     * start the broadcast, the others join the loop behind them without interrupting it.
+     *
+     * @param loaded the tracks, played in order after those loaded before them, and then
+     *               from the start again
+     */
+    synchronized void start(List<AudioTrack> loaded)
+    {
+        if(receivers.isEmpty() || loaded.isEmpty())
+            return;
+        boolean first = tracks.isEmpty();
+        if(first)
+            tracks = new ArrayList<>();
+        tracks.addAll(loaded);
+        if(first)
+            playNext();
+    }
+
+    /**
+     * Tunes a guild in. It starts at the live edge, without affecting any other receiver.
+     *
+     * @return the receiver to read frames through, or null if the broadcast has ended
+     */
+    synchronized Receiver join()
+    {
+        if(ended)
+            return null;
+        Receiver receiver = new Receiver();
+        receiver.cursor = written;
+        receivers.add(receiver);
+        return receiver;
+    }
+
+    public String getName()
+    {
+        return name;
+    }
+
+    public synchronized int getReceiverCount()
+    {
+        return receivers.size();
+    }
+
+    /**
+     * @return the track being broadcast, or null if the playlist is still loading
+     */
+    public AudioTrack getPlayingTrack()
+    {
+        return player.getPlayingTrack();
+    }
+
+    private synchronized boolean read(Receiver receiver, ByteBuffer into)
+    {
+        if(!receivers.contains(receiver))
+            return false;
+        if(receiver.cursor < written - CAPACITY)
+            receiver.cursor = written - CAPACITY;
+        if(receiver.cursor == written && !pull())
+            return false;
+        int slot = (int) (receiver.cursor++ % CAPACITY);
+        into.clear();
+        into.put(frames[slot], 0, lengths[slot]);
+        return true;
+    }
+
+    // writes the next frame of the player into the ring
+    private boolean pull()
+    {
+        if(stalled)
+        {
+            stalled = false;
+            playNext();
+        }
+        if(!player.provide(frame))
+            return false;
+        int slot = (int) (written % CAPACITY);
+        frame.getData(frames[slot], 0);
+        lengths[slot] = frame.getDataLength();
+        written++;
+        return true;
+    }
+
+    private synchronized void leave(Receiver receiver)
+    {
+        if(!receivers.remove(receiver) || !receivers.isEmpty())
+            return;
+        ended = true;
+        tracks = List.of();
+        player.destroy();
+        onEmpty.accept(this);
+    }
+
+    private void playNext()
+    {
+        if(tracks.isEmpty())
+            return;
+        AudioTrack track = tracks.get(nextTrack);
+        nextTrack = (nextTrack + 1) % tracks.size();
+        // a track can only be played once, the playlist keeps the originals to loop over
+        player.playTrack(track.makeClone());
+    }
+
+    @Override
+    public void onTrackEnd(AudioPlayer player, AudioTrack track, AudioTrackEndReason endReason)
+    {
+        // the cleanup thread holds the player's lock, so this one is not taken here
+        if(endReason == AudioTrackEndReason.CLEANUP)
+        {
+            stalled = true;
+            return;
+        }
+        synchronized(this)
+        {
+            if(!endReason.mayStartNext || receivers.isEmpty())
+                return;
+            // give up once every track of the playlist has failed in a row
+            failures = endReason == AudioTrackEndReason.LOAD_FAILED ? failures + 1 : 0;
+            if(failures < tracks.size())
+                playNext();
+        }
+    }
+
+    /**
+     * A guild's place in a broadcast.
+     */
+    public class Receiver
+    {
+        private long cursor;
+
+        /**
+         * Copies the next frame into a buffer, leaving its position at the end of the frame.
+         *
+         * @param into the buffer, at least as large as an opus frame
+         * @return whether there was a frame
+         */
+        public boolean read(ByteBuffer into)
+        {
+            return Broadcast.this.read(this, into);
+        }
+
+        /**
+         * Tunes the guild out; the last guild to leave stops the broadcast.
+         */
+        public void leave()
+        {
+            Broadcast.this.leave(this);
+        }
+
+        public Broadcast getBroadcast()
+        {
+            return Broadcast.this;
+        }
+    }
+}
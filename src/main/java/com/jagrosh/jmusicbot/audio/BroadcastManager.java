@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 Arif Banai (arif-banai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jagrosh.jmusicbot.audio;
+
+import com.jagrosh.jmusicbot.playlist.PlaylistLoader.Playlist;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the running {@link Broadcast}s, one per playlist. The first guild to tune in to a
+ * playlist starts its broadcast, and the last one to leave ends it.
+ */
+public class BroadcastManager
+{
+    private final static Logger LOGGER = LoggerFactory.getLogger(BroadcastManager.class);
+
+    private final PlayerManager manager;
+    private final Map<String, Broadcast> broadcasts = new HashMap<>();
+
+    public BroadcastManager(PlayerManager manager)
+    {
+        this.manager = manager;
+    }
+
+    /**
+     * Tunes in to the broadcast of a playlist, starting it if no guild is tuned in yet.
+     *
+     * @param name the name of the playlist
+     * @return the receiver to read frames through, or null if there is no such playlist
+     */
+    public Broadcast.Receiver join(String name)
+    {
+        while(true)
+        {
+            Broadcast broadcast;
+            synchronized(this)
+            {
+                broadcast = broadcasts.get(name);
+                if(broadcast == null)
+                {
+                    Playlist playlist = manager.getBot().getPlaylistLoader().getPlaylist(name);
+                    if(playlist == null || playlist.getItems().isEmpty())
+                        return null;
+                    broadcast = new Broadcast(playlist.getName(), manager.createPlayer(), this::ended);
+                    broadcasts.put(name, broadcast);
+                    Broadcast.Receiver receiver = broadcast.join();
+                    Broadcast started = broadcast;
+                    playlist.loadTracks(manager, started::start, () ->
+                    {
+                        if(playlist.getTracks().isEmpty())
+                            LOGGER.warn("Broadcast of playlist {} has no tracks to play", name);
+                    });
+                    LOGGER.info("Started a broadcast of playlist {}", name);
+                    return receiver;
+                }
+            }
+            // a broadcast whose last receiver is leaving refuses to be joined, and is replaced
+            Broadcast.Receiver receiver = broadcast.join();
+            if(receiver != null)
+                return receiver;
+            synchronized(this)
+            {
+                broadcasts.remove(name, broadcast);
+            }
+        }
+    }
+
+    /**
+     * @return the running broadcasts
+     */
+    public synchronized List<Broadcast> getBroadcasts()
+    {
+        return new ArrayList<>(broadcasts.values());
+    }
+
+    private synchronized void ended(Broadcast broadcast)
+    {
+        broadcasts.values().remove(broadcast);
+        LOGGER.info("Ended the broadcast of playlist {}", broadcast.getName());
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 Arif Banai (arif-banai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jagrosh.jmusicbot.audio;
+
+import com.sedmelluq.discord.lavaplayer.container.common.OpusPacketRouter;
+import com.sedmelluq.discord.lavaplayer.source.AudioSourceManager;
+import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+import com.sedmelluq.discord.lavaplayer.track.BaseAudioTrack;
+import com.sedmelluq.discord.lavaplayer.track.playback.LocalAudioTrackExecutor;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Plays a track from its frames in the {@link FrameCache} rather than from its source. The
+ * frames go through lavaplayer's opus router, which passes them through untouched at volume
+ * 100 and only decodes them to apply another volume. Seeking jumps straight to a frame index.
+ * <p>
+ * The track stands in for the one it was cached from, whose source manager it reports, so it
+ * is encoded for the history and the queue journal as that track.
+ */
+class CachedAudioTrack extends BaseAudioTrack
+{
+    private final static int SAMPLE_RATE = 48000;
+    private final static int CHANNELS = 2;
+
+    private final AudioTrack original;
+    private final FrameCache cache;
+    private final String key;
+
+    CachedAudioTrack(AudioTrack original, FrameCache cache, String key)
+    {
+        super(original.getInfo());
+        this.original = original;
+        this.cache = cache;
+        this.key = key;
+    }
+
+    @Override
+    public void process(LocalAudioTrackExecutor executor) throws Exception
+    {
+        try(FrameCache.Reader reader = cache.open(key))
+        {
+            if(reader == null)
+                throw new FriendlyException("The cached frames of the track were evicted.", FriendlyException.Severity.SUSPICIOUS, null);
+            OpusPacketRouter router = new OpusPacketRouter(executor.getProcessingContext(), SAMPLE_RATE, CHANNELS);
+            try
+            {
+                executor.executeProcessingLoop(() ->
+                {
+                    ByteBuffer frame;
+                    while((frame = reader.next()) != null)
+                        router.process(frame);
+                }, position ->
+                {
+                    reader.seek((int) (position / FrameCache.FRAME_MILLIS));
+                    router.seekPerformed(position, (long) reader.getPosition() * FrameCache.FRAME_MILLIS);
+                });
+            }
+            finally
+            {
+                router.close();
+            }
+        }
+    }
+
+    @Override
+    public AudioSourceManager getSourceManager()
+    {
+        return original.getSourceManager();
+    }
+
+    @Override
+    protected AudioTrack makeShallowClone()
+    {
+        return new CachedAudioTrack(original.makeClone(), cache, key);
+    }
+}
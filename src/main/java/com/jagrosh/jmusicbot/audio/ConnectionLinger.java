@@ -0,0 +1,243 @@
+/*
+ * Copyright 2026 Arif Banai (arif-banai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jagrosh.jmusicbot.audio;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Guild;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps a guild's voice connection open for a while after its queue runs out, rather than
+ * leaving the channel right away. A song requested within the window starts on the open
+ * connection, without a new voice handshake; meanwhile the guild's {@link AudioHandler} is
+ * idle and costs next to nothing. The connections whose window has passed are closed
+ * together every few seconds.
+ * <p>
+ * Also counts the connections opened and reused, and the time from a track starting until
+ * its first frame was sent, on a connection that was still open and on one that was not.
+ */
+public class ConnectionLinger
+{
+    private final static Logger LOGGER = LoggerFactory.getLogger(ConnectionLinger.class);
+    private final static long CHECK_SECONDS = 5;
+
+    private final PlayerManager manager;
+    private final long lingerMillis;
+    // when each lingering guild's connection is to be closed, in epoch milliseconds
+    private final Map<Long, Long> deadlines = new ConcurrentHashMap<>();
+    private final AtomicLong connects = new AtomicLong();
+    private final AtomicLong reuses = new AtomicLong();
+    private final AtomicLong closed = new AtomicLong();
+    private final AtomicLong coldStarts = new AtomicLong();
+    private final AtomicLong coldMillis = new AtomicLong();
+    private final AtomicLong warmStarts = new AtomicLong();
+    private final AtomicLong warmMillis = new AtomicLong();
+
+    /**
+     * @param manager      the player manager
+     * @param lingerSeconds how long a connection stays open after its queue ran out, or 0 to
+     *                     close it right away
+     */
+    public ConnectionLinger(PlayerManager manager, long lingerSeconds)
+    {
+        this.manager = manager;
+        this.lingerMillis = TimeUnit.SECONDS.toMillis(Math.max(0, lingerSeconds));
+    }
+
+    public void init(ScheduledExecutorService threadpool)
+    {
+        if(lingerMillis > 0)
+            threadpool.scheduleWithFixedDelay(this::closeExpired, CHECK_SECONDS, CHECK_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Lets a guild's connection linger once its queue has run out, or closes it right away if
+     * lingering is disabled.
+     *
+     * @param guildId the guild
+     */
+    void linger(long guildId)
+    {
+        if(lingerMillis <= 0)
+            manager.getBot().closeAudioConnection(guildId);
+        else
+            deadlines.put(guildId, System.currentTimeMillis() + lingerMillis);
+    }
+
+    /**
+     * Takes a guild's connection out of its linger window, as something began playing on it.
+     *
+     * @param guildId the guild
+     * @return whether the connection was lingering, and so was reused
+     */
+    boolean resume(long guildId)
+    {
+        if(deadlines.remove(guildId) == null)
+            return false;
+        reuses.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Records that the bot joined a voice channel in a guild, from not being in one.
+     */
+    public void connected()
+    {
+        connects.incrementAndGet();
+    }
+
+    /**
+     * Forgets the linger window of a guild the bot left the voice channel of.
+     *
+     * @param guildId the guild
+     */
+    public void disconnected(long guildId)
+    {
+        deadlines.remove(guildId);
+    }
+
+    /**
+     * Records how long a guild's first track waited for its first frame to be sent.
+     *
+     * @param nanos the time from the track starting until its first frame was sent
+     * @param warm  whether the guild's connection was already open when the track started
+     */
+    void firstAudio(long nanos, boolean warm)
+    {
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        (warm ? warmStarts : coldStarts).incrementAndGet();
+        (warm ? warmMillis : coldMillis).addAndGet(millis);
+    }
+
+    // closes, in one pass, the connections whose window has passed with nothing played
+    private void closeExpired()
+    {
+        JDA jda = manager.getBot().getJDA();
+        if(jda == null || deadlines.isEmpty())
+            return;
+        long now = System.currentTimeMillis();
+        int count = 0;
+        for(Iterator<Map.Entry<Long, Long>> it = deadlines.entrySet().iterator(); it.hasNext(); )
+        {
+            Map.Entry<Long, Long> entry = it.next();
+            if(entry.getValue() > now)
+                continue;
+            it.remove();
+            Guild guild = jda.getGuildById(entry.getKey());
+            if(guild == null || !guild.getAudioManager().isConnected())
+                continue;
+            AudioHandler handler = (AudioHandler) guild.getAudioManager().getSendingHandler();
+            if(handler != null && (handler.getPlayer().getPlayingTrack() != null || handler.getBroadcast() != null))
+                continue;
+            manager.getBot().closeAudioConnection(guild.getIdLong());
+            count++;
+        }
+        if(count > 0)
+        {
+            closed.addAndGet(count);
+            LOGGER.debug("Closed {} lingering voice connections, {} still lingering", count, deadlines.size());
+        }
+    }
+
+    /**
+     * @return how long a connection stays open after its queue ran out, in milliseconds
+     */
+    public long getLingerMillis()
+    {
+        return lingerMillis;
+    }
+
+    /**
+     * @return how many connections are in their linger window
+     */
+    public int getLingeringCount()
+    {
+        return deadlines.size();
+    }
+
+    /**
+     * @return how many times the bot joined a voice channel
+     */
+    public long getConnects()
+    {
+        return connects.get();
+    }
+
+    /**
+     * @return how many times a song started on a lingering connection, each a join saved
+     */
+    public long getReuses()
+    {
+        return reuses.get();
+    }
+
+    /**
+     * @return how many lingering connections were closed once their window passed
+     */
+    public long getClosed()
+    {
+        return closed.get();
+    }
+
+    public long getColdStarts()
+    {
+        return coldStarts.get();
+    }
+
+    public long getWarmStarts()
+    {
+        return warmStarts.get();
+    }
+
+    /**
+     * @return the mean time to the first frame of a track that had to wait for a connection,
+     *         or 0 if there was none
+     */
+    public long getAverageColdMillis()
+    {
+        long count = coldStarts.get();
+        return count == 0 ? 0 : coldMillis.get() / count;
+    }
+
+    /**
+     * @return the mean time to the first frame of a track on a connection that was already
+     *         open, or 0 if there was none
+     */
+    public long getAverageWarmMillis()
+    {
+        long count = warmStarts.get();
+        return count == 0 ? 0 : warmMillis.get() / count;
+    }
+
+    /**
+     * @return the time the reused connections saved, estimated from the two means, or 0 until
+     *         both are known
+     */
+    public long getSavedMillis()
+    {
+        if(coldStarts.get() == 0 || warmStarts.get() == 0)
+            return 0;
+        return Math.max(0, getAverageColdMillis() - getAverageWarmMillis()) * reuses.get();
+    }
+}
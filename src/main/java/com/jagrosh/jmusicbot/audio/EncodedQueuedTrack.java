@@ -0,0 +1,313 @@
+/*
+ * Copyright 2026 Arif Banai (arif-banai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jagrosh.jmusicbot.audio;
+
+import com.sedmelluq.discord.lavaplayer.player.AudioPlayerManager;
+import com.sedmelluq.discord.lavaplayer.tools.io.MessageInput;
+import com.sedmelluq.discord.lavaplayer.tools.io.MessageOutput;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+import com.sedmelluq.discord.lavaplayer.track.DecodedTrackHolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A queue entry that keeps its track in lavaplayer's encoded form until it is played.
+ * <p>
+ * A decoded {@link AudioTrack} holds its source manager state, its full track info and
+ * its own request metadata, which adds up when large playlists sit in many guild queues.
+ * This entry only holds the encoded bytes, the strings needed to list the queue
+ * (interned, so guilds queueing the same playlist share them) and the request metadata
+ * shared by every track of the same request. The track is decoded once, on the first
+ * {@link #getTrack()}, i.e. when {@link AudioHandler#onTrackEnd} pulls the entry to play it,
+ * and starts where the entry was queued from: the requested start, or partway through for a
+ * track put back by {@link AudioHandler#playPrevious()} or restored from a {@link QueueJournal}.
+ */
+public class EncodedQueuedTrack extends QueuedTrack
+{
+    private final AudioPlayerManager manager;
+    private final byte[] encoded;
+    private final String title, author, uri;
+    private final long duration;
+    private final long position;
+    private AudioTrack track;
+    private boolean decoded;
+
+    private EncodedQueuedTrack(AudioPlayerManager manager, byte[] encoded, AudioTrack track, RequestMetadata requester, long position)
+    {
+        super(requester);
+        this.manager = manager;
+        this.encoded = encoded;
+        this.title = intern(track.getInfo().title);
+        this.author = intern(track.getInfo().author);
+        this.uri = intern(track.getInfo().uri);
+        this.duration = track.getDuration();
+        this.position = position;
+    }
+
+    private EncodedQueuedTrack(EncodedQueuedTrack other, RequestMetadata requester)
+    {
+        super(requester);
+        this.manager = other.manager;
+        this.encoded = other.encoded;
+        this.title = other.title;
+        this.author = other.author;
+        this.uri = other.uri;
+        this.duration = other.duration;
+        this.position = startOf(requester);
+    }
+
+    /**
+     * Encodes a batch of queue entries. Consecutive entries of the same request share one
+     * {@link RequestMetadata}; entries that cannot be encoded are kept as they are.
+     *
+     * @param manager the manager the tracks were loaded with
+     * @param qtracks the entries to encode
+     * @return the encoded entries, in the same order
+     */
+    public static List<QueuedTrack> encodeAll(AudioPlayerManager manager, List<QueuedTrack> qtracks)
+    {
+        List<QueuedTrack> result = new ArrayList<>(qtracks.size());
+        RequestMetadata requester = null;
+        for(QueuedTrack qt : qtracks)
+        {
+            RequestMetadata rm = qt.getRequestMetadata();
+            if(requester == null || !isSameRequest(requester, rm))
+                requester = rm;
+            try
+            {
+                AudioTrack track = qt.getTrack();
+                result.add(new EncodedQueuedTrack(manager, encode(manager, track), track, requester, track.getPosition()));
+            }
+            catch(IOException | UnsupportedOperationException ex)
+            {
+                result.add(qt);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Encodes a single track, e.g. one that just finished playing and is kept in the
+     * guild's play history. The entry starts at the requested start, not where the track
+     * stopped.
+     *
+     * @param manager   the manager the track was loaded with
+     * @param track     the track
+     * @param requester the request the track belongs to
+     * @return the entry
+     * @throws IOException if the track's source cannot encode it
+     */
+    public static EncodedQueuedTrack of(AudioPlayerManager manager, AudioTrack track, RequestMetadata requester) throws IOException
+    {
+        try
+        {
+            // the bytes hold the start too, for a journal that records the entry by them
+            AudioTrack start = track.makeClone();
+            if(start.isSeekable())
+                start.setPosition(startOf(requester));
+            return new EncodedQueuedTrack(manager, encode(manager, start), track, requester, startOf(requester));
+        }
+        catch(UnsupportedOperationException ex)
+        {
+            throw new IOException("Track cannot be encoded", ex);
+        }
+    }
+
+    /**
+     * Rebuilds an entry from its encoded track, e.g. one read back from a {@link QueueJournal}.
+     * The track is decoded once for the strings needed to list it; nothing is resolved again.
+     * The entry starts at the position held in the bytes, which is where the track was queued from.
+     *
+     * @param manager   the manager to decode the track with
+     * @param encoded   the track in lavaplayer's message format
+     * @param requester the request the track belongs to
+     * @return the entry
+     * @throws IOException if the bytes hold no track this manager can decode
+     */
+    public static EncodedQueuedTrack restore(AudioPlayerManager manager, byte[] encoded, RequestMetadata requester) throws IOException
+    {
+        return restore(manager, encoded, requester, -1L);
+    }
+
+    /**
+     * Rebuilds an entry from its encoded track, to start at a position recorded apart from
+     * the bytes, e.g. that of a journaled playing track that is queued again.
+     *
+     * @param manager   the manager to decode the track with
+     * @param encoded   the track in lavaplayer's message format
+     * @param requester the request the track belongs to
+     * @param position  where the entry starts, or -1 for the position held in the bytes
+     * @return the entry
+     * @throws IOException if the bytes hold no track this manager can decode
+     */
+    public static EncodedQueuedTrack restore(AudioPlayerManager manager, byte[] encoded, RequestMetadata requester, long position) throws IOException
+    {
+        AudioTrack track = decode(manager, encoded);
+        if(track == null)
+            throw new IOException("No track in encoded data");
+        return new EncodedQueuedTrack(manager, encoded, track, requester, position < 0 ? track.getPosition() : position);
+    }
+
+    /**
+     * @return the track in lavaplayer's message format
+     */
+    public static byte[] encode(AudioPlayerManager manager, AudioTrack track) throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        manager.encodeTrack(new MessageOutput(out), track);
+        return out.toByteArray();
+    }
+
+    /**
+     * @return the decoded track, or null if the bytes hold no track
+     */
+    public static AudioTrack decode(AudioPlayerManager manager, byte[] encoded) throws IOException
+    {
+        DecodedTrackHolder holder = manager.decodeTrack(new MessageInput(new ByteArrayInputStream(encoded)));
+        return holder == null ? null : holder.decodedTrack;
+    }
+
+    /**
+     * @param requester the new request
+     * @return the same track as a new request from its requested start, sharing this entry's bytes
+     */
+    public EncodedQueuedTrack withRequester(RequestMetadata requester)
+    {
+        return new EncodedQueuedTrack(this, requester);
+    }
+
+    /**
+     * Decodes the track the first time it is asked for, and keeps it for later calls.
+     *
+     * @return the track, or null if it could not be decoded
+     */
+    @Override
+    public AudioTrack getTrack()
+    {
+        if(!decoded)
+        {
+            track = decodeTrack();
+            decoded = true;
+        }
+        return track;
+    }
+
+    /**
+     * Decodes the track anew, which already gives a copy of its own.
+     *
+     * @return the copy, or null if it could not be decoded
+     */
+    @Override
+    public AudioTrack copyTrack()
+    {
+        return decodeTrack();
+    }
+
+    @Override
+    public String getTitle()
+    {
+        return title;
+    }
+
+    @Override
+    public String getAuthor()
+    {
+        return author;
+    }
+
+    @Override
+    public String getUri()
+    {
+        return uri;
+    }
+
+    @Override
+    public long getDuration()
+    {
+        return duration;
+    }
+
+    // shared, not copied; the bytes are never modified
+    byte[] getEncoded()
+    {
+        return encoded;
+    }
+
+    /**
+     * @return the number of bytes of the encoded track
+     */
+    public int getEncodedSize()
+    {
+        return encoded.length;
+    }
+
+    // a fresh track from the bytes, set to play from where the entry starts
+    private AudioTrack decodeTrack()
+    {
+        AudioTrack decodedTrack;
+        try
+        {
+            decodedTrack = decode(manager, encoded);
+        }
+        catch(IOException ex)
+        {
+            return null;
+        }
+        if(decodedTrack == null)
+            return null;
+        RequestMetadata rm = forTrack(getRequestMetadata());
+        decodedTrack.setUserData(rm == null ? RequestMetadata.EMPTY : rm);
+        if(decodedTrack.isSeekable())
+            decodedTrack.setPosition(position);
+        return decodedTrack;
+    }
+
+    private static long startOf(RequestMetadata requester)
+    {
+        return requester == null || requester.requestInfo == null ? 0L : requester.requestInfo.startTimestamp;
+    }
+
+    // the per-track part of the metadata is the url, which is the track's own uri
+    private RequestMetadata forTrack(RequestMetadata requester)
+    {
+        if(requester == null || requester.requestInfo == null)
+            return requester;
+        RequestMetadata.RequestInfo info = requester.requestInfo;
+        return new RequestMetadata(requester.user, new RequestMetadata.RequestInfo(info.query, uri, info.startTimestamp));
+    }
+
+    private static boolean isSameRequest(RequestMetadata a, RequestMetadata b)
+    {
+        if(a == b)
+            return true;
+        if(a == null || b == null || a.getOwner() != b.getOwner())
+            return false;
+        if(a.requestInfo == null || b.requestInfo == null)
+            return a.requestInfo == b.requestInfo;
+        return Objects.equals(a.requestInfo.query, b.requestInfo.query)
+                && a.requestInfo.startTimestamp == b.requestInfo.startTimestamp;
+    }
+
+    private static String intern(String value)
+    {
+        return value == null ? null : value.intern();
+    }
+}
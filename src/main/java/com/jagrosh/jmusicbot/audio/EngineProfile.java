@@ -0,0 +1,112 @@
+/*
+ * Copyright 2026 Arif Banai (arif-banai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jagrosh.jmusicbot.audio;
+
+import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration.ResamplingQuality;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Named sets of lavaplayer engine settings, chosen with {@code playback.engine.profile}.
+ * Each value of a profile can still be overridden on its own, see {@link EngineSettings}.
+ */
+public enum EngineProfile
+{
+    /** lavaplayer's own defaults */
+    DEFAULT("default", 5000, ResamplingQuality.LOW, 10, 10, 10_000, 60_000),
+    /** cheaper opus encoding and fewer loader threads, for small hosts with many guilds */
+    LOW_CPU("low-cpu", 5000, ResamplingQuality.LOW, 5, 4, 10_000, 30_000),
+    /** a short frame buffer, so seeks, pauses and volume changes are heard sooner */
+    LOW_LATENCY("low-latency", 1000, ResamplingQuality.LOW, 8, 16, 4_000, 60_000),
+    /** the best resampling and encoding, with a long buffer against network stalls */
+    HIGH_QUALITY("high-quality", 10_000, ResamplingQuality.HIGH, 10, 10, 15_000, 60_000);
+
+    private final String configName;
+    private final int frameBufferMillis;
+    private final ResamplingQuality resamplingQuality;
+    private final int opusEncodingQuality;
+    private final int itemLoaderThreads;
+    private final long trackStuckThresholdMillis;
+    private final long playerCleanupThresholdMillis;
+
+    EngineProfile(String configName, int frameBufferMillis, ResamplingQuality resamplingQuality, int opusEncodingQuality,
+                  int itemLoaderThreads, long trackStuckThresholdMillis, long playerCleanupThresholdMillis)
+    {
+        this.configName = configName;
+        this.frameBufferMillis = frameBufferMillis;
+        this.resamplingQuality = resamplingQuality;
+        this.opusEncodingQuality = opusEncodingQuality;
+        this.itemLoaderThreads = itemLoaderThreads;
+        this.trackStuckThresholdMillis = trackStuckThresholdMillis;
+        this.playerCleanupThresholdMillis = playerCleanupThresholdMillis;
+    }
+
+    /**
+     * @param name the name used in the config, e.g. {@code low-cpu}
+     * @return the profile, or null if there is none by that name
+     */
+    public static EngineProfile fromConfigName(String name)
+    {
+        for(EngineProfile profile : values())
+            if(profile.configName.equalsIgnoreCase(name))
+                return profile;
+        return null;
+    }
+
+    /**
+     * @return the names used in the config, comma separated
+     */
+    public static String getConfigNames()
+    {
+        return Arrays.stream(values()).map(EngineProfile::getConfigName).collect(Collectors.joining(", "));
+    }
+
+    public String getConfigName()
+    {
+        return configName;
+    }
+
+    public int getFrameBufferMillis()
+    {
+        return frameBufferMillis;
+    }
+
+    public ResamplingQuality getResamplingQuality()
+    {
+        return resamplingQuality;
+    }
+
+    public int getOpusEncodingQuality()
+    {
+        return opusEncodingQuality;
+    }
+
+    public int getItemLoaderThreads()
+    {
+        return itemLoaderThreads;
+    }
+
+    public long getTrackStuckThresholdMillis()
+    {
+        return trackStuckThresholdMillis;
+    }
+
+    public long getPlayerCleanupThresholdMillis()
+    {
+        return playerCleanupThresholdMillis;
+    }
+}
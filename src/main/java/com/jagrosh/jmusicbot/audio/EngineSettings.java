@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 Arif Banai (arif-banai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jagrosh.jmusicbot.audio;
+
+import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration;
+import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration.ResamplingQuality;
+import com.sedmelluq.discord.lavaplayer.player.DefaultAudioPlayerManager;
+
+/**
+ * The lavaplayer engine settings in effect: an {@link EngineProfile} with any values the
+ * config overrides. {@link PlayerManager} applies them before the first player is created.
+ */
+public final class EngineSettings
+{
+    private final EngineProfile profile;
+    private final int frameBufferMillis;
+    private final ResamplingQuality resamplingQuality;
+    private final int opusEncodingQuality;
+    private final int itemLoaderThreads;
+    private final long trackStuckThresholdMillis;
+    private final long playerCleanupThresholdMillis;
+
+    private EngineSettings(EngineProfile profile, int frameBufferMillis, ResamplingQuality resamplingQuality,
+                           int opusEncodingQuality, int itemLoaderThreads, long trackStuckThresholdMillis,
+                           long playerCleanupThresholdMillis)
+    {
+        this.profile = profile;
+        this.frameBufferMillis = frameBufferMillis;
+        this.resamplingQuality = resamplingQuality;
+        this.opusEncodingQuality = opusEncodingQuality;
+        this.itemLoaderThreads = itemLoaderThreads;
+        this.trackStuckThresholdMillis = trackStuckThresholdMillis;
+        this.playerCleanupThresholdMillis = playerCleanupThresholdMillis;
+    }
+
+    /**
+     * @param profile the profile
+     * @return the profile's values, without overrides
+     */
+    public static EngineSettings of(EngineProfile profile)
+    {
+        return of(profile, 0, null, -1, 0, 0, 0);
+    }
+
+    /**
+     * Resolves a profile with overrides. An override of 0 (-1 for the opus quality, which
+     * may be 0) or null keeps the profile's value.
+     */
+    public static EngineSettings of(EngineProfile profile, int frameBufferMillis, ResamplingQuality resamplingQuality,
+                                    int opusEncodingQuality, int itemLoaderThreads, long trackStuckThresholdMillis,
+                                    long playerCleanupThresholdMillis)
+    {
+        return new EngineSettings(profile,
+                frameBufferMillis > 0 ? frameBufferMillis : profile.getFrameBufferMillis(),
+                resamplingQuality != null ? resamplingQuality : profile.getResamplingQuality(),
+                opusEncodingQuality >= 0 ? Math.min(opusEncodingQuality, AudioConfiguration.OPUS_QUALITY_MAX) : profile.getOpusEncodingQuality(),
+                itemLoaderThreads > 0 ? itemLoaderThreads : profile.getItemLoaderThreads(),
+                trackStuckThresholdMillis > 0 ? trackStuckThresholdMillis : profile.getTrackStuckThresholdMillis(),
+                playerCleanupThresholdMillis > 0 ? playerCleanupThresholdMillis : profile.getPlayerCleanupThresholdMillis());
+    }
+
+    /**
+     * Configures a player manager with these settings. The frame buffer duration only
+     * affects players created afterwards.
+     *
+     * @param manager the manager
+     */
+    public void applyTo(DefaultAudioPlayerManager manager)
+    {
+        manager.setFrameBufferDuration(frameBufferMillis);
+        manager.getConfiguration().setResamplingQuality(resamplingQuality);
+        manager.getConfiguration().setOpusEncodingQuality(opusEncodingQuality);
+        manager.setItemLoaderThreadPoolSize(itemLoaderThreads);
+        manager.setTrackStuckThreshold(trackStuckThresholdMillis);
+        manager.setPlayerCleanupThreshold(playerCleanupThresholdMillis);
+    }
+
+    public EngineProfile getProfile()
+    {
+        return profile;
+    }
+
+    public int getFrameBufferMillis()
+    {
+        return frameBufferMillis;
+    }
+
+    public ResamplingQuality getResamplingQuality()
+    {
+        return resamplingQuality;
+    }
+
+    public int getOpusEncodingQuality()
+    {
+        return opusEncodingQuality;
+    }
+
+    public int getItemLoaderThreads()
+    {
+        return itemLoaderThreads;
+    }
+
+    public long getTrackStuckThresholdMillis()
+    {
+        return trackStuckThresholdMillis;
+    }
+
+    public long getPlayerCleanupThresholdMillis()
+    {
+        return playerCleanupThresholdMillis;
+    }
+}
@@ -0,0 +1,600 @@
+/*
+ * Copyright 2026 Arif Banai (arif-banai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jagrosh.jmusicbot.audio;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * An on-disk cache of the 20 ms opus frames sent for a track, addressed by a hash of the
+ * track's source and identifier, so a track played again is read from disk instead of being
+ * downloaded and encoded again.
+ * <p>
+ * Each track is one file: a header with the number of frames and the quality they were
+ * encoded at, a table with the offset of every frame, and the frames one after the other. A
+ * {@link Reader} maps the file into memory and seeks by frame index through the table. When
+ * the cache grows over its size, the tracks read least recently are deleted first.
+ * <p>
+ * A {@link Recorder} is fed from the audio thread, which must never wait on the disk: frames
+ * are {@link Recorder#offer offered} into a bounded buffer of the recorder and written to
+ * disk by the cache's own writer thread, and a recording whose buffer overflows is dropped.
+ */
+public class FrameCache
+{
+    /**
+     * The length of a frame in milliseconds.
+     */
+    public final static int FRAME_MILLIS = 20;
+
+    private final static Logger LOGGER = LoggerFactory.getLogger(FrameCache.class);
+    private final static int MAGIC = 0x4A4D4251; // JMBQ
+    private final static int HEADER_BYTES = 12;
+    // how often the writer thread writes out the frames offered to the recorders
+    private final static long WRITE_MILLIS = 100;
+    private final static String EXTENSION = ".opus";
+    private final static String TEMP_EXTENSION = ".tmp";
+
+    private final Path folder;
+    private final long maxBytes;
+    // the cached tracks by key, least recently used first
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // the recorders fed through offer, written out by the writer
+    private final Set<Recorder> recording = ConcurrentHashMap.newKeySet();
+    private ScheduledExecutorService writer;
+    private long size;
+
+    /**
+     * Opens the cache in a folder, taking in the tracks already there and deleting the
+     * recordings left unfinished.
+     *
+     * @param folder   the folder, created if it does not exist
+     * @param maxBytes the size the cache is kept under
+     */
+    public FrameCache(Path folder, long maxBytes) throws IOException
+    {
+        this.folder = folder;
+        this.maxBytes = maxBytes;
+        Files.createDirectories(folder);
+        List<Path> files;
+        try(Stream<Path> list = Files.list(folder))
+        {
+            files = list.collect(Collectors.toList());
+        }
+        Map<Path, FileTime> used = new HashMap<>();
+        Map<Path, Integer> qualities = new HashMap<>();
+        for(Path file : files)
+        {
+            String name = file.getFileName().toString();
+            if(name.endsWith(TEMP_EXTENSION))
+                Files.deleteIfExists(file);
+            else if(name.endsWith(EXTENSION))
+            {
+                int quality = readQuality(file);
+                if(quality < 0)
+                    Files.deleteIfExists(file);
+                else
+                {
+                    used.put(file, Files.getLastModifiedTime(file));
+                    qualities.put(file, quality);
+                }
+            }
+        }
+        List<Path> ordered = used.keySet().stream().sorted(Comparator.comparing(used::get)).collect(Collectors.toList());
+        synchronized(this)
+        {
+            for(Path file : ordered)
+            {
+                String name = file.getFileName().toString();
+                long bytes = Files.size(file);
+                entries.put(name.substring(0, name.length() - EXTENSION.length()), new Entry(bytes, qualities.get(file)));
+                size += bytes;
+            }
+            evict();
+        }
+    }
+
+    /**
+     * @param source     the name of the track's source
+     * @param identifier the track's identifier within the source
+     * @return the key of the track in the cache
+     */
+    public static String key(String source, String identifier)
+    {
+        try
+        {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest((source + ":" + identifier).getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder(hash.length * 2);
+            for(byte b : hash)
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            return sb.toString();
+        }
+        catch(NoSuchAlgorithmException ex)
+        {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    // the quality in the header of a cached track, or -1 if it is not one
+    private static int readQuality(Path file) throws IOException
+    {
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while(header.hasRemaining() && channel.read(header) >= 0);
+            return header.hasRemaining() || header.getInt(0) != MAGIC ? -1 : header.getInt(8);
+        }
+    }
+
+    public synchronized boolean contains(String key)
+    {
+        return entries.containsKey(key);
+    }
+
+    /**
+     * @param key        the key of the track
+     * @param minQuality the opus encoding quality the frames must have been encoded at, or above
+     * @return whether the track is cached at the quality
+     */
+    public synchronized boolean contains(String key, int minQuality)
+    {
+        Entry entry = entries.get(key);
+        return entry != null && entry.quality >= minQuality;
+    }
+
+    /**
+     * Opens the frames of a track for reading, marking them as used.
+     *
+     * @param key the key of the track
+     * @return the reader, or null if the track is not cached
+     */
+    public Reader open(String key) throws IOException
+    {
+        synchronized(this)
+        {
+            if(entries.get(key) == null)
+                return null;
+        }
+        Path file = file(key);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            return new Reader(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Starts recording the frames of a track. Nothing is cached until the recorder is
+     * {@link Recorder#commit() committed}, or {@link Recorder#finish finished}.
+     *
+     * @param key     the key of the track
+     * @param quality the opus encoding quality of the frames, {@link
+     *                com.sedmelluq.discord.lavaplayer.player.AudioConfiguration#OPUS_QUALITY_MAX}
+     *                for frames passed through from the source
+     * @return the recorder, which must be closed or finished
+     */
+    public Recorder record(String key, int quality)
+    {
+        return new Recorder(key, quality);
+    }
+
+    /**
+     * @return the bytes the cached tracks take up
+     */
+    public synchronized long getSize()
+    {
+        return size;
+    }
+
+    public synchronized int getCount()
+    {
+        return entries.size();
+    }
+
+    public long getMaxBytes()
+    {
+        return maxBytes;
+    }
+
+    private synchronized void added(String key, long bytes, int quality)
+    {
+        Entry previous = entries.put(key, new Entry(bytes, quality));
+        size += bytes - (previous == null ? 0 : previous.bytes);
+        evict();
+    }
+
+    // hands a recorder fed through offer to the writer thread, started with the first one; not
+    // under the cache's lock, which is held while files are deleted
+    private void startWriting(Recorder recorder)
+    {
+        synchronized(recording)
+        {
+            if(writer != null)
+            {
+                recording.add(recorder);
+                return;
+            }
+            writer = Executors.newSingleThreadScheduledExecutor(runnable ->
+            {
+                Thread thread = new Thread(runnable, "frame-cache-writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            writer.scheduleWithFixedDelay(this::write, WRITE_MILLIS, WRITE_MILLIS, TimeUnit.MILLISECONDS);
+            recording.add(recorder);
+        }
+    }
+
+    // on the writer thread: writes out what was offered to each recorder, and ends the finished ones
+    private void write()
+    {
+        for(Recorder recorder : recording)
+        {
+            try
+            {
+                if(!recorder.writePending())
+                    recording.remove(recorder);
+            }
+            catch(IOException | RuntimeException ex)
+            {
+                LOGGER.warn("Could not put track {} into the frame cache: {}", recorder.key, ex.getMessage());
+                recording.remove(recorder);
+                recorder.failed = true;
+                try
+                {
+                    recorder.close();
+                }
+                catch(IOException ignored)
+                {
+                    // the temporary file is deleted when the cache opens
+                }
+            }
+        }
+    }
+
+    // deletes the tracks read least recently until the cache fits
+    private void evict()
+    {
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while(size > maxBytes && it.hasNext())
+        {
+            Map.Entry<String, Entry> entry = it.next();
+            try
+            {
+                Files.deleteIfExists(file(entry.getKey()));
+            }
+            catch(IOException ex)
+            {
+                // still mapped by a reader on some systems; it is retried when the cache opens
+                LOGGER.debug("Could not delete cached track {}: {}", entry.getKey(), ex.getMessage());
+            }
+            size -= entry.getValue().bytes;
+            it.remove();
+        }
+    }
+
+    private Path file(String key)
+    {
+        return folder.resolve(key + EXTENSION);
+    }
+
+    private static class Entry
+    {
+        private final long bytes;
+        private final int quality;
+
+        private Entry(long bytes, int quality)
+        {
+            this.bytes = bytes;
+            this.quality = quality;
+        }
+    }
+
+    /**
+     * Writes the frames of a track to a temporary file, one after the other. Frames are either
+     * {@link #append appended} straight away by the caller, or {@link #offer offered} by the
+     * audio thread and written by the cache's writer thread, never both.
+     */
+    public class Recorder implements Closeable
+    {
+        // how many offered frames wait for the writer at most, 5 seconds of audio
+        private final static int PENDING_FRAMES = 250;
+
+        private final String key;
+        private final int quality;
+        private Path data;
+        private DataOutputStream out;
+        private int[] offsets = new int[1024];
+        private int written;
+        private int bytes;
+        private boolean closed;
+        // frames taken in, by append or offer, counted by the thread feeding the recorder
+        private int frames;
+        // a ring of the offered frames; the audio thread fills slots up to offered, the
+        // writer empties them up to taken, and each slot's buffer is reused once it grew
+        private final byte[][] slots = new byte[PENDING_FRAMES][];
+        private final int[] lengths = new int[PENDING_FRAMES];
+        private volatile long offered;
+        private volatile long taken;
+        private volatile boolean writing;
+        private volatile boolean failed;
+        // set by finish: 1 to commit the recording once written out, -1 to drop it
+        private volatile int finished;
+
+        private Recorder(String key, int quality)
+        {
+            this.key = key;
+            this.quality = quality;
+        }
+
+        /**
+         * Adds the next frame, writing it on this thread.
+         */
+        public void append(byte[] frame, int offset, int length) throws IOException
+        {
+            frames++;
+            write(frame, offset, length);
+        }
+
+        /**
+         * Hands the next frame to the writer thread, copying it, without waiting on anything.
+         *
+         * @return false if the writer fell too far behind or failed, in which case the
+         *         recording is to be dropped
+         */
+        public boolean offer(byte[] frame, int offset, int length)
+        {
+            if(failed)
+                return false;
+            if(!writing)
+            {
+                writing = true;
+                startWriting(this);
+            }
+            long next = offered;
+            if(next - taken >= PENDING_FRAMES)
+                return false;
+            int slot = (int) (next % PENDING_FRAMES);
+            if(slots[slot] == null || slots[slot].length < length)
+                slots[slot] = new byte[length];
+            System.arraycopy(frame, offset, slots[slot], 0, length);
+            lengths[slot] = length;
+            // publishes the slot to the writer
+            offered = next + 1;
+            frames++;
+            return true;
+        }
+
+        /**
+         * Ends a recording fed through {@link #offer}: once the writer has written out the
+         * frames offered so far, it commits or drops the recording.
+         *
+         * @param commit whether to put the frames into the cache
+         */
+        public void finish(boolean commit)
+        {
+            finished = commit ? 1 : -1;
+            if(!writing)
+            {
+                writing = true;
+                startWriting(this);
+            }
+        }
+
+        /**
+         * @return the frames taken in so far
+         */
+        public int getFrameCount()
+        {
+            return frames;
+        }
+
+        // on the writer thread: writes the offered frames, returning whether the recording goes on
+        private boolean writePending() throws IOException
+        {
+            int end = finished;
+            long last = offered;
+            for(long next = taken; next < last; next++)
+            {
+                int slot = (int) (next % PENDING_FRAMES);
+                write(slots[slot], 0, lengths[slot]);
+                taken = next + 1;
+            }
+            if(end == 0)
+                return true;
+            if(end > 0)
+                commit();
+            else
+                close();
+            return false;
+        }
+
+        private void write(byte[] frame, int offset, int length) throws IOException
+        {
+            if(out == null)
+            {
+                data = Files.createTempFile(folder, key, TEMP_EXTENSION);
+                out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(data)));
+            }
+            if(written + 1 >= offsets.length)
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            out.write(frame, offset, length);
+            offsets[written++] = bytes;
+            bytes += length;
+        }
+
+        /**
+         * Puts the recorded frames into the cache, replacing any earlier copy of the track.
+         */
+        public void commit() throws IOException
+        {
+            if(out == null)
+            {
+                close();
+                return;
+            }
+            out.close();
+            offsets[written] = bytes;
+            Path file = Files.createTempFile(folder, key, TEMP_EXTENSION);
+            try
+            {
+                try(FileChannel target = FileChannel.open(file, StandardOpenOption.WRITE);
+                    FileChannel source = FileChannel.open(data, StandardOpenOption.READ))
+                {
+                    ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES + 4 * (written + 1));
+                    header.putInt(MAGIC).putInt(written).putInt(quality);
+                    for(int i = 0; i <= written; i++)
+                        header.putInt(offsets[i]);
+                    header.flip();
+                    while(header.hasRemaining())
+                        target.write(header);
+                    long copied = 0;
+                    while(copied < bytes)
+                        copied += source.transferTo(copied, bytes - copied, target);
+                }
+                try
+                {
+                    Files.move(file, file(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                }
+                catch(AtomicMoveNotSupportedException ex)
+                {
+                    Files.move(file, file(key), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            finally
+            {
+                // left behind only if a move failed
+                Files.deleteIfExists(file);
+                close();
+            }
+            added(key, Files.size(file(key)), quality);
+        }
+
+        /**
+         * Drops the recording if it was not committed.
+         */
+        @Override
+        public void close() throws IOException
+        {
+            if(closed)
+                return;
+            closed = true;
+            if(out == null)
+                return;
+            out.close();
+            Files.deleteIfExists(data);
+        }
+    }
+
+    /**
+     * Reads the frames of a cached track from a memory-mapped file.
+     */
+    public static class Reader implements Closeable
+    {
+        private final ByteBuffer file;
+        private final ByteBuffer frame;
+        private final int count;
+        private final int dataStart;
+        private int next;
+
+        private Reader(MappedByteBuffer file) throws IOException
+        {
+            this.file = file;
+            if(file.capacity() < HEADER_BYTES || file.getInt(0) != MAGIC)
+                throw new IOException("Not a cached track");
+            this.count = file.getInt(4);
+            this.dataStart = HEADER_BYTES + 4 * (count + 1);
+            if(count < 0 || file.capacity() < dataStart || file.capacity() < dataStart + offset(count))
+                throw new IOException("Cached track is truncated");
+            this.frame = file.duplicate();
+        }
+
+        public int getFrameCount()
+        {
+            return count;
+        }
+
+        /**
+         * @return the index of the frame {@link #next()} returns
+         */
+        public int getPosition()
+        {
+            return next;
+        }
+
+        /**
+         * @return the next frame, or null after the last one; the buffer is reused by the next call
+         */
+        public ByteBuffer next()
+        {
+            if(next >= count)
+                return null;
+            frame.clear();
+            frame.position(dataStart + offset(next)).limit(dataStart + offset(next + 1));
+            next++;
+            return frame;
+        }
+
+        /**
+         * @param index the index of the frame to read next, clamped to the frames there are
+         */
+        public void seek(int index)
+        {
+            next = Math.max(0, Math.min(count, index));
+        }
+
+        @Override
+        public void close()
+        {
+            // the mapping is released with the buffer
+        }
+
+        private int offset(int index)
+        {
+            return file.getInt(HEADER_BYTES + 4 * index);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 Arif Banai (arif-banai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jagrosh.jmusicbot.audio;
+
+import com.sedmelluq.discord.lavaplayer.source.AudioSourceManager;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+import com.sedmelluq.discord.lavaplayer.track.BaseAudioTrack;
+import com.sedmelluq.discord.lavaplayer.track.playback.LocalAudioTrackExecutor;
+
+/**
+ * Stands in the player for a track that stayed paused too long, so its stream, decoder and
+ * frame buffer can be let go while the guild still sees the track as paused. The track is
+ * never executed (see {@link PlayerManager#executeTrack}); it only holds a fresh clone of the
+ * paused track at its position, which {@link AudioHandler} plays once the player is unpaused.
+ * <p>
+ * Clones and encodings of the stand-in are those of the paused track, so it can be skipped,
+ * repeated, journaled and kept in the history like the track itself.
+ */
+class ParkedAudioTrack extends BaseAudioTrack
+{
+    private final AudioTrack original;
+
+    ParkedAudioTrack(AudioTrack paused)
+    {
+        super(paused.getInfo());
+        this.original = paused.makeClone();
+        this.original.setPosition(paused.getPosition());
+        setUserData(paused.getUserData());
+    }
+
+    /**
+     * @return the track to play in place of this one, at the position it was paused at
+     */
+    AudioTrack getOriginal()
+    {
+        return original;
+    }
+
+    @Override
+    public void process(LocalAudioTrackExecutor executor)
+    {
+        // never executed
+    }
+
+    @Override
+    public long getPosition()
+    {
+        return original.getPosition();
+    }
+
+    @Override
+    public void setPosition(long position)
+    {
+        original.setPosition(position);
+    }
+
+    @Override
+    public AudioSourceManager getSourceManager()
+    {
+        return original.getSourceManager();
+    }
+
+    @Override
+    protected AudioTrack makeShallowClone()
+    {
+        return original.makeClone();
+    }
+}
@@ -15,14 +15,28 @@
  */
 package com.jagrosh.jmusicbot.audio;
 
+import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration;
 import com.sedmelluq.discord.lavaplayer.player.AudioPlayer;
+import com.sedmelluq.discord.lavaplayer.player.AudioPlayerOptions;
 import com.sedmelluq.discord.lavaplayer.player.DefaultAudioPlayerManager;
+import com.sedmelluq.discord.lavaplayer.tools.io.MessageOutput;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+import com.sedmelluq.discord.lavaplayer.track.InternalAudioTrack;
+import com.sedmelluq.discord.lavaplayer.track.TrackStateListener;
+import com.sedmelluq.discord.lavaplayer.track.playback.NonAllocatingAudioFrameBuffer;
 import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.channel.middleman.AudioChannel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.jagrosh.jmusicbot.Bot;
 import com.jagrosh.jmusicbot.BotConfig;
+import com.jagrosh.jmusicbot.utils.OtherUtil;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  *
@@ -32,16 +46,67 @@ public class PlayerManager extends DefaultAudioPlayerManager
 {
     private final static Logger LOGGER = LoggerFactory.getLogger(PlayerManager.class);
     private final Bot bot;
+    private final RecoveryStats recoveryStats = new RecoveryStats();
+    private final BroadcastManager broadcasts = new BroadcastManager(this);
+    private final TranscodingMonitor transcoding;
+    private final ConnectionLinger linger;
+    private final UnderrunMonitor underruns = new UnderrunMonitor();
+    // the handler each guild's players belong to, for the encoding of its channel's bitrate tier
+    private final Map<AudioPlayer, AudioHandler> players = new ConcurrentHashMap<>();
+    // every guild's handler, also kept by the guild's audio manager as its sending handler
+    private final Map<Long, AudioHandler> handlers = new ConcurrentHashMap<>();
+    private EngineSettings engine;
+    private FrameCache frameCache;
+    private QualityGovernor governor;
     
     public PlayerManager(Bot bot)
     {
         this.bot = bot;
+        this.transcoding = new TranscodingMonitor(bot.getConfig().getMaxTranscodingGuilds());
+        // with stayInChannel the connection is never closed, so it never lingers either
+        this.linger = new ConnectionLinger(this, bot.getConfig().getStay() ? 0 : bot.getConfig().getLingerSeconds());
     }
     
     public void init()
     {
         BotConfig config = bot.getConfig();
         
+        // Apply the engine profile before any player exists, the frame buffer is sized per player
+        engine = config.getEngineSettings();
+        engine.applyTo(this);
+        LOGGER.info("Playback engine profile: {}", engine.getProfile().getConfigName());
+        
+        // Decode into a fixed buffer per player rather than a new array per frame
+        if (config.useAllocationFreeFrames())
+            getConfiguration().setFrameBufferFactory(NonAllocatingAudioFrameBuffer::new);
+        
+        transcoding.init(bot.getThreadpool());
+        linger.init(bot.getThreadpool());
+        underruns.init();
+        
+        if (config.getIdlePlayerMinutes() > 0)
+            bot.getThreadpool().scheduleWithFixedDelay(this::evictIdleHandlers, 1, 1, TimeUnit.MINUTES);
+        
+        if (config.useGovernor())
+        {
+            governor = new QualityGovernor(getConfiguration(), engine, config.getGovernorMinOpusQuality(),
+                    config.getGovernorHighLoad(), config.getGovernorLowLoad(), config.getGovernorMaxUnderruns());
+            governor.init(bot.getThreadpool(), transcoding);
+        }
+        
+        if (config.useFrameCache())
+        {
+            try
+            {
+                frameCache = new FrameCache(OtherUtil.getPath(config.getFrameCacheFolder()), config.getFrameCacheMaxBytes());
+                LOGGER.info("Frame cache holds {} tracks", frameCache.getCount());
+            }
+            catch (IOException e)
+            {
+                LOGGER.error("Failed to open the frame cache, tracks will not be cached: {}", e.getMessage());
+            }
+        }
+        
         // Register transformative audio sources
         TransformativeAudioSourceManager.createTransforms(config.getTransforms())
                 .forEach(this::registerSourceManager);
@@ -67,25 +132,218 @@ public class PlayerManager extends DefaultAudioPlayerManager
         return bot;
     }
     
+    /**
+     * @return the engine settings applied on {@link #init()}
+     */
+    public EngineSettings getEngineSettings()
+    {
+        return engine;
+    }
+    
+    /**
+     * @return the counts and latency of track recoveries in every guild
+     */
+    public RecoveryStats getRecoveryStats()
+    {
+        return recoveryStats;
+    }
+    
+    /**
+     * @return the cache of the frames of played tracks, or null if it is disabled
+     */
+    public FrameCache getFrameCache()
+    {
+        return frameCache;
+    }
+    
+    /**
+     * @return the counts of passed through and transcoded frames, and the cap on transcoding guilds
+     */
+    public TranscodingMonitor getTranscodingMonitor()
+    {
+        return transcoding;
+    }
+    
+    /**
+     * @return the frames guilds missed in the last minutes, and the garbage collection pauses next to them
+     */
+    public UnderrunMonitor getUnderrunMonitor()
+    {
+        return underruns;
+    }
+    
+    /**
+     * @return the governor lowering playback quality under load, or null if it is disabled
+     */
+    public QualityGovernor getQualityGovernor()
+    {
+        return governor;
+    }
+    
+    /**
+     * @return the voice connections kept open after their queue ran out, and the joins they saved
+     */
+    public ConnectionLinger getConnectionLinger()
+    {
+        return linger;
+    }
+    
+    public BroadcastManager getBroadcastManager()
+    {
+        return broadcasts;
+    }
+    
+    /**
+     * Creates a player of a guild, encoded for the guild's {@link BitrateTier}.
+     *
+     * @param handler the guild's handler
+     * @return the player
+     */
+    AudioPlayer createPlayer(AudioHandler handler)
+    {
+        AudioPlayer player = createPlayer();
+        players.put(player, handler);
+        return player;
+    }
+    
+    /**
+     * @param handler a guild's handler
+     * @return whether the guild's tracks start with a lower opus encoding quality, or a lower
+     *         resampling quality, than the engine's, because of its bitrate tier or the quality
+     *         governor
+     */
+    boolean isEncoderCapped(AudioHandler handler)
+    {
+        int full = engine.getOpusEncodingQuality();
+        // resampling qualities are declared from the highest to the lowest
+        return handler.getBitrateTier().getOpusEncodingQuality() < full || getConfiguration().getOpusEncodingQuality() < full
+                || getConfiguration().getResamplingQuality().compareTo(engine.getResamplingQuality()) > 0;
+    }
+    
+    /**
+     * @param handler a guild's handler
+     * @return the opus encoding quality the guild's tracks start with, the lower of its
+     *         bitrate tier's and the quality governor's
+     */
+    int getOpusEncodingQuality(AudioHandler handler)
+    {
+        return Math.min(handler.getBitrateTier().getOpusEncodingQuality(), getConfiguration().getOpusEncodingQuality());
+    }
+    
+    /**
+     * Starts a track with the opus encoding quality capped to the bitrate tier of the guild
+     * the player belongs to. The configuration is bound to the track when it starts, so a
+     * change of tier, or of the quality governor's level, applies from the next track.
+     * A {@link ParkedAudioTrack} is not executed at all.
+     */
+    @Override
+    public void executeTrack(TrackStateListener listener, InternalAudioTrack track, AudioConfiguration configuration,
+                             AudioPlayerOptions playerOptions)
+    {
+        if (track instanceof ParkedAudioTrack)
+            return;
+        AudioHandler handler = listener instanceof AudioPlayer ? players.get(listener) : null;
+        int quality = handler == null ? AudioConfiguration.OPUS_QUALITY_MAX : handler.getBitrateTier().getOpusEncodingQuality();
+        if (quality < configuration.getOpusEncodingQuality())
+        {
+            configuration = configuration.copy();
+            configuration.setOpusEncodingQuality(quality);
+        }
+        super.executeTrack(listener, track, configuration, playerOptions);
+    }
+    
+    /**
+     * Encodes a track; a {@link ParkedAudioTrack} is encoded as the track it stands in for.
+     */
+    @Override
+    public void encodeTrack(MessageOutput stream, AudioTrack track) throws IOException
+    {
+        super.encodeTrack(stream, track instanceof ParkedAudioTrack ? ((ParkedAudioTrack) track).getOriginal() : track);
+    }
+    
     public boolean hasHandler(Guild guild)
     {
         return guild.getAudioManager().getSendingHandler()!=null;
     }
     
-    public AudioHandler setUpHandler(Guild guild)
+    public synchronized AudioHandler setUpHandler(Guild guild)
     {
         AudioHandler handler;
         if(guild.getAudioManager().getSendingHandler()==null)
         {
             AudioPlayer player = createPlayer();
-            player.setVolume(bot.getSettingsManager().getSettings(guild).getVolume());
             handler = new AudioHandler(this, guild, player);
+            players.put(player, handler);
+            handlers.put(guild.getIdLong(), handler);
+            handler.applyVolume(bot.getSettingsManager().getSettings(guild).getVolume());
+            AudioChannel channel = guild.getAudioManager().getConnectedChannel();
+            if (channel != null)
+                handler.setChannelBitrate(channel.getBitrate());
             player.addListener(handler);
             guild.getAudioManager().setSendingHandler(handler);
         }
         else
             handler = (AudioHandler) guild.getAudioManager().getSendingHandler();
+        handler.touch();
         return handler;
     }
+    
+    /**
+     * Tears down the handler of a guild the bot left. The guild's audio manager is not
+     * touched, JDA discards it with the guild.
+     *
+     * @param guildId the guild
+     */
+    public void removeHandler(long guildId)
+    {
+        AudioHandler handler = handlers.remove(guildId);
+        if (handler != null)
+            discard(handler);
+    }
+    
+    /**
+     * @return how many guilds have a handler
+     */
+    public int getHandlerCount()
+    {
+        return handlers.size();
+    }
+    
+    // tears down the handlers that have had nothing to do for the configured time; they are set up again on demand
+    private void evictIdleHandlers()
+    {
+        if (bot.getJDA() == null)
+            return;
+        long idleSince = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(bot.getConfig().getIdlePlayerMinutes());
+        int evicted = 0;
+        for (AudioHandler handler : handlers.values())
+        {
+            Guild guild = bot.getJDA().getGuildById(handler.getGuildId());
+            if (guild == null)
+            {
+                removeHandler(handler.getGuildId());
+                continue;
+            }
+            synchronized (this)
+            {
+                if (!handler.isIdleSince(idleSince, guild.getAudioManager().isConnected()))
+                    continue;
+                handlers.remove(handler.getGuildId());
+                if (guild.getAudioManager().getSendingHandler() == handler)
+                    guild.getAudioManager().setSendingHandler(null);
+            }
+            discard(handler);
+            evicted++;
+        }
+        if (evicted > 0)
+            LOGGER.debug("Evicted {} idle audio handlers, {} left", evicted, handlers.size());
+    }
+    
+    private void discard(AudioHandler handler)
+    {
+        players.values().removeIf(h -> h == handler);
+        handler.destroy();
+        bot.getQueueJournalManager().detach(handler.getGuildId());
+    }
 
 }
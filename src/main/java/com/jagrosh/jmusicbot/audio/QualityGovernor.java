@@ -0,0 +1,286 @@
+/*
+ * Copyright 2026 Arif Banai (arif-banai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jagrosh.jmusicbot.audio;
+
+import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration;
+import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration.ResamplingQuality;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lowers lavaplayer's resampling and opus encoding quality while the host is overloaded, and
+ * raises it again once the load has gone.
+ * <p>
+ * Every few seconds the process CPU load and the frames guilds missed (see
+ * {@link TranscodingMonitor.GuildStats#getUnderruns()}) are sampled. The governor steps one
+ * level down a ladder that starts at the engine settings, lowering the resampling quality
+ * first and then the opus quality, after a few overloaded samples in a row, and steps back up
+ * only after many calm ones. Load between the two thresholds changes nothing, so the quality
+ * does not flap around a single threshold.
+ * <p>
+ * Lavaplayer reads the quality when it builds a track's pipeline, so a step applies to tracks
+ * that start afterwards (and to pipelines built again for a volume change), never in the
+ * middle of a frame.
+ */
+public class QualityGovernor
+{
+    private final static Logger LOGGER = LoggerFactory.getLogger(QualityGovernor.class);
+    private final static long SAMPLE_SECONDS = 10;
+    // overloaded samples in a row before stepping down, and calm ones before stepping up
+    private final static int STEP_DOWN_SAMPLES = 2;
+    private final static int STEP_UP_SAMPLES = 6;
+    private final static int OPUS_STEP = 3;
+    private final static int STEPS_KEPT = 10;
+
+    private final AudioConfiguration configuration;
+    private final List<Level> levels;
+    private final double highLoad;
+    private final double lowLoad;
+    private final long maxUnderruns;
+    private final LinkedList<Step> steps = new LinkedList<>();
+
+    private volatile int level;
+    private volatile double lastLoad;
+    private volatile long lastUnderruns;
+    private int overloaded;
+    private int calm;
+    private long sampledUnderruns;
+
+    /**
+     * @param configuration the configuration of the player manager, changed in place
+     * @param engine        the engine settings, the top of the ladder
+     * @param minOpusQuality the opus quality the governor does not go below
+     * @param highLoad      the process CPU load, from 0 to 1, at which the host is overloaded
+     * @param lowLoad       the load under which the host is calm again
+     * @param maxUnderruns  missed frames across all guilds in a sample at which the host is
+     *                      overloaded, or 0 to only look at the CPU load
+     */
+    public QualityGovernor(AudioConfiguration configuration, EngineSettings engine, int minOpusQuality,
+                           double highLoad, double lowLoad, long maxUnderruns)
+    {
+        this.configuration = configuration;
+        this.levels = ladder(engine.getResamplingQuality(), engine.getOpusEncodingQuality(), minOpusQuality);
+        this.highLoad = highLoad;
+        this.lowLoad = Math.min(lowLoad, highLoad);
+        this.maxUnderruns = maxUnderruns;
+    }
+
+    public void init(ScheduledExecutorService threadpool, TranscodingMonitor monitor)
+    {
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if(!(os instanceof com.sun.management.OperatingSystemMXBean))
+            LOGGER.warn("The process CPU load cannot be read, the quality governor only looks at missed frames");
+        threadpool.scheduleWithFixedDelay(() ->
+        {
+            double load = os instanceof com.sun.management.OperatingSystemMXBean
+                    ? ((com.sun.management.OperatingSystemMXBean) os).getProcessCpuLoad() : -1;
+            long underruns = 0;
+            for(TranscodingMonitor.GuildStats stats : monitor.getGuilds())
+                underruns += stats.getUnderruns();
+            // the counts of evicted guilds are dropped from the total
+            update(load, Math.max(0, underruns - sampledUnderruns));
+            sampledUnderruns = underruns;
+        }, SAMPLE_SECONDS, SAMPLE_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Takes in one sample, stepping the quality down or up if the samples call for it.
+     *
+     * @param load      the process CPU load from 0 to 1, or below 0 if it is not known
+     * @param underruns the frames guilds missed since the last sample
+     * @return the step taken, or null if the quality stays
+     */
+    public synchronized Step update(double load, long underruns)
+    {
+        lastLoad = load;
+        lastUnderruns = underruns;
+        if(load >= highLoad || (maxUnderruns > 0 && underruns >= maxUnderruns))
+        {
+            calm = 0;
+            if(++overloaded >= STEP_DOWN_SAMPLES && level < levels.size() - 1)
+                return step(level + 1, load, underruns);
+        }
+        else if(load < lowLoad && underruns == 0)
+        {
+            overloaded = 0;
+            if(++calm >= STEP_UP_SAMPLES && level > 0)
+                return step(level - 1, load, underruns);
+        }
+        else
+        {
+            overloaded = 0;
+            calm = 0;
+        }
+        return null;
+    }
+
+    private Step step(int to, double load, long underruns)
+    {
+        Step step = new Step(System.currentTimeMillis(), levels.get(level), levels.get(to), load, underruns);
+        boolean lowered = to > level;
+        level = to;
+        overloaded = 0;
+        calm = 0;
+        configuration.setResamplingQuality(step.to.resamplingQuality);
+        configuration.setOpusEncodingQuality(step.to.opusEncodingQuality);
+        steps.addFirst(step);
+        if(steps.size() > STEPS_KEPT)
+            steps.removeLast();
+        LOGGER.info("Playback quality {}: {}", lowered ? "lowered" : "restored", step);
+        return step;
+    }
+
+    /**
+     * @return the levels the governor steps through, the engine settings first
+     */
+    public List<Level> getLevels()
+    {
+        return levels;
+    }
+
+    /**
+     * @return the index of the level in effect, 0 while the quality is not lowered
+     */
+    public int getLevel()
+    {
+        return level;
+    }
+
+    /**
+     * @return the last CPU load sampled, from 0 to 1, or below 0 if it is not known
+     */
+    public double getLastLoad()
+    {
+        return lastLoad;
+    }
+
+    /**
+     * @return the frames missed in the last sample
+     */
+    public long getLastUnderruns()
+    {
+        return lastUnderruns;
+    }
+
+    /**
+     * @return the last steps taken, most recent first
+     */
+    public synchronized List<Step> getSteps()
+    {
+        return new ArrayList<>(steps);
+    }
+
+    // from the engine's quality down to low resampling and the lowest opus quality allowed
+    private static List<Level> ladder(ResamplingQuality resampling, int opus, int minOpus)
+    {
+        List<Level> ladder = new ArrayList<>();
+        ladder.add(new Level(resampling, opus));
+        while(resampling != ResamplingQuality.LOW || opus > minOpus)
+        {
+            if(resampling == ResamplingQuality.HIGH)
+                resampling = ResamplingQuality.MEDIUM;
+            else if(resampling == ResamplingQuality.MEDIUM)
+                resampling = ResamplingQuality.LOW;
+            else
+                opus = Math.max(minOpus, opus - OPUS_STEP);
+            ladder.add(new Level(resampling, opus));
+        }
+        return Collections.unmodifiableList(ladder);
+    }
+
+    /**
+     * A resampling and opus encoding quality.
+     */
+    public static class Level
+    {
+        private final ResamplingQuality resamplingQuality;
+        private final int opusEncodingQuality;
+
+        private Level(ResamplingQuality resamplingQuality, int opusEncodingQuality)
+        {
+            this.resamplingQuality = resamplingQuality;
+            this.opusEncodingQuality = opusEncodingQuality;
+        }
+
+        public ResamplingQuality getResamplingQuality()
+        {
+            return resamplingQuality;
+        }
+
+        public int getOpusEncodingQuality()
+        {
+            return opusEncodingQuality;
+        }
+
+        @Override
+        public String toString()
+        {
+            return "resampling " + resamplingQuality + ", opus " + opusEncodingQuality;
+        }
+    }
+
+    /**
+     * A change of level, and the sample that led to it.
+     */
+    public static class Step
+    {
+        private final long time;
+        private final Level from;
+        private final Level to;
+        private final double load;
+        private final long underruns;
+
+        private Step(long time, Level from, Level to, double load, long underruns)
+        {
+            this.time = time;
+            this.from = from;
+            this.to = to;
+            this.load = load;
+            this.underruns = underruns;
+        }
+
+        public long getTime()
+        {
+            return time;
+        }
+
+        public Level getFrom()
+        {
+            return from;
+        }
+
+        public Level getTo()
+        {
+            return to;
+        }
+
+        @Override
+        public String toString()
+        {
+            return "from " + from + " to " + to + " at " + (load < 0 ? "unknown" : Math.round(load * 100) + "%")
+                    + " CPU, " + underruns + " missed frames";
+        }
+    }
+}
@@ -0,0 +1,445 @@
+/*
+ * Copyright 2026 Arif Banai (arif-banai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jagrosh.jmusicbot.audio;
+
+import com.jagrosh.jmusicbot.queue.IndexedList;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An append-only journal of one guild's queue, so the queue survives a restart.
+ * <p>
+ * Every change to the queue is recorded as it happens, together with the playing track and
+ * its position. Records are buffered in memory and appended to the file on {@link #flush()}.
+ * Once the file holds more records than the queue has entries (and at least the configured
+ * number), a flush rewrites it as a snapshot of the current state instead, so the file stays
+ * proportional to the queue. Tracks are stored in lavaplayer's encoded form, which restores
+ * them without resolving anything again.
+ * <p>
+ * A file cut short by a crash is read up to its last complete record. A record that does not
+ * fit the queue it is replayed onto fails the whole file, as the rest of it cannot be trusted.
+ */
+public class QueueJournal
+{
+    private final static int MAGIC = 0x4A4D514A; // JMQJ
+    private final static int VERSION = 1;
+
+    private final static byte ADD = 1, REMOVE = 2, CLEAR = 3, PLAYING = 4;
+
+    private final Path file;
+    private final int compactAfter;
+    private final State state = new State();
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private final DataOutputStream out = new DataOutputStream(pending);
+    private final ByteArrayOutputStream record = new ByteArrayOutputStream();
+    private final DataOutputStream fields = new DataOutputStream(record);
+    private final Object io = new Object();
+
+    private int records;
+    private boolean rewrite = true;
+    private boolean closed;
+
+    /**
+     * Starts a journal holding an empty queue. The file is replaced by the first flush,
+     * so it should be {@link #read(Path)} before this is created if it is to be restored.
+     *
+     * @param file         the journal file
+     * @param compactAfter the minimum number of records before the file is compacted
+     */
+    public QueueJournal(Path file, int compactAfter)
+    {
+        this.file = file;
+        this.compactAfter = compactAfter;
+    }
+
+    /**
+     * Reads the state a journal file describes.
+     *
+     * @param file the journal file
+     * @return the recorded state, which is empty if the file does not exist
+     * @throws IOException if the file cannot be read, is not a journal or is corrupt
+     */
+    public static State read(Path file) throws IOException
+    {
+        State state = new State();
+        if(!Files.exists(file))
+            return state;
+        try(DataInputStream in = new DataInputStream(Files.newInputStream(file)))
+        {
+            if(in.readInt() != MAGIC || in.readInt() != VERSION)
+                throw new IOException("Not a queue journal: " + file);
+            byte[] record;
+            while((record = readRecord(in)) != null)
+                state.apply(new DataInputStream(new ByteArrayInputStream(record)));
+        }
+        catch(EOFException ex)
+        {
+            throw new IOException("Not a queue journal: " + file, ex);
+        }
+        return state;
+    }
+
+    public synchronized void added(int index, Entry entry)
+    {
+        if(closed)
+            return;
+        state.queue.add(index, entry);
+        append(data ->
+        {
+            data.writeByte(ADD);
+            data.writeInt(index);
+            writeEntry(data, entry);
+        });
+    }
+
+    public synchronized void removed(int index)
+    {
+        if(closed)
+            return;
+        state.queue.remove(index);
+        append(data ->
+        {
+            data.writeByte(REMOVE);
+            data.writeInt(index);
+        });
+    }
+
+    public synchronized void cleared()
+    {
+        if(closed)
+            return;
+        state.queue.clear();
+        append(data -> data.writeByte(CLEAR));
+    }
+
+    /**
+     * Records the playing track. Nothing is written if none of the values changed.
+     *
+     * @param entry    the playing track, or null if nothing is playing
+     * @param position the position in the track, in milliseconds
+     * @param paused   whether the player is paused
+     * @param channel  the id of the connected voice channel, or 0
+     */
+    public synchronized void playing(Entry entry, long position, boolean paused, long channel)
+    {
+        if(closed || (entry == state.playing && position == state.position
+                && paused == state.paused && channel == state.channel))
+            return;
+        state.playing = entry;
+        state.position = position;
+        state.paused = paused;
+        state.channel = channel;
+        append(data -> writePlaying(data, state));
+    }
+
+    /**
+     * Writes the buffered records to the file, compacting it when it has grown past the
+     * state it describes. The file is deleted once there is nothing left to restore.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public void flush() throws IOException
+    {
+        synchronized(io)
+        {
+            byte[] data;
+            boolean replace;
+            synchronized(this)
+            {
+                if(pending.size() == 0 && !rewrite)
+                    return;
+                replace = rewrite || state.isEmpty() || records > Math.max(compactAfter, state.queue.size())
+                        || !Files.exists(file);
+                data = replace ? snapshot() : pending.toByteArray();
+                pending.reset();
+                if(replace)
+                    records = 0;
+                rewrite = false;
+            }
+            if(!replace)
+            {
+                Files.write(file, data, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                return;
+            }
+            if(data == null)
+            {
+                Files.deleteIfExists(file);
+                return;
+            }
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.write(temp, data);
+            try
+            {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            catch(AtomicMoveNotSupportedException ex)
+            {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+
+    /**
+     * Flushes the journal and stops recording, so that tearing the player down on shutdown
+     * leaves the file as it was.
+     */
+    public void close() throws IOException
+    {
+        synchronized(this)
+        {
+            closed = true;
+        }
+        flush();
+    }
+
+    /**
+     * @return the number of records written or buffered since the file was last rewritten
+     */
+    public synchronized int getRecords()
+    {
+        return records;
+    }
+
+    private void append(RecordWriter writer)
+    {
+        try
+        {
+            record.reset();
+            writer.write(fields);
+            writeRecord(out, record.toByteArray());
+            records++;
+        }
+        catch(IOException ex)
+        {
+            throw new IllegalStateException(ex); // a ByteArrayOutputStream cannot fail
+        }
+    }
+
+    // the whole state as a fresh file, or null if there is nothing to keep
+    private byte[] snapshot()
+    {
+        if(state.isEmpty())
+            return null;
+        try
+        {
+            ByteArrayOutputStream file = new ByteArrayOutputStream();
+            DataOutputStream data = new DataOutputStream(file);
+            data.writeInt(MAGIC);
+            data.writeInt(VERSION);
+            record.reset();
+            writePlaying(fields, state);
+            writeRecord(data, record.toByteArray());
+            int i = 0;
+            for(Entry entry : state.queue)
+            {
+                record.reset();
+                fields.writeByte(ADD);
+                fields.writeInt(i++);
+                writeEntry(fields, entry);
+                writeRecord(data, record.toByteArray());
+            }
+            return file.toByteArray();
+        }
+        catch(IOException ex)
+        {
+            throw new IllegalStateException(ex); // a ByteArrayOutputStream cannot fail
+        }
+    }
+
+    private static void writeRecord(DataOutputStream out, byte[] record) throws IOException
+    {
+        out.writeInt(record.length);
+        out.write(record);
+    }
+
+    // the next complete record, or null at the end of the file or of its last complete record
+    private static byte[] readRecord(InputStream in) throws IOException
+    {
+        byte[] header = in.readNBytes(4);
+        if(header.length < 4)
+            return null;
+        int length = ((header[0] & 0xFF) << 24) | ((header[1] & 0xFF) << 16) | ((header[2] & 0xFF) << 8) | (header[3] & 0xFF);
+        if(length <= 0)
+            return null;
+        byte[] record = in.readNBytes(length);
+        return record.length < length ? null : record;
+    }
+
+    private static void writePlaying(DataOutputStream out, State state) throws IOException
+    {
+        out.writeByte(PLAYING);
+        out.writeBoolean(state.playing != null);
+        if(state.playing != null)
+            writeEntry(out, state.playing);
+        out.writeLong(state.position);
+        out.writeBoolean(state.paused);
+        out.writeLong(state.channel);
+    }
+
+    private static void writeEntry(DataOutputStream out, Entry entry) throws IOException
+    {
+        writeBytes(out, entry.track);
+        writeBytes(out, entry.metadata == null ? null : entry.metadata.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Entry readEntry(DataInputStream in) throws IOException
+    {
+        byte[] track = readBytes(in);
+        byte[] metadata = readBytes(in);
+        return new Entry(track, metadata == null ? null : new String(metadata, StandardCharsets.UTF_8));
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException
+    {
+        out.writeInt(bytes == null ? -1 : bytes.length);
+        if(bytes != null)
+            out.write(bytes);
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException
+    {
+        int length = in.readInt();
+        if(length < 0)
+            return null;
+        // the input is one record in memory, so a length past its end is corrupt
+        if(length > in.available())
+            throw new IOException("Corrupt queue journal record");
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    /**
+     * One queued track: its encoded form and its request metadata as JSON.
+     */
+    public static final class Entry
+    {
+        private final byte[] track;
+        private final String metadata;
+
+        /**
+         * @param track    the encoded track, or null if the track could not be encoded
+         * @param metadata the request metadata as JSON, or null
+         */
+        public Entry(byte[] track, String metadata)
+        {
+            this.track = track;
+            this.metadata = metadata;
+        }
+
+        public byte[] getTrack()
+        {
+            return track;
+        }
+
+        public String getMetadata()
+        {
+            return metadata;
+        }
+    }
+
+    /**
+     * The queue and playing track a journal describes. The queue is indexed, so each record
+     * replayed or applied costs O(log n) however long the queue is.
+     */
+    public static final class State
+    {
+        private final IndexedList<Entry> queue = new IndexedList<>();
+        private Entry playing;
+        private long position;
+        private boolean paused;
+        private long channel;
+
+        public List<Entry> getQueue()
+        {
+            return Collections.unmodifiableList(queue);
+        }
+
+        public Entry getPlaying()
+        {
+            return playing;
+        }
+
+        public long getPosition()
+        {
+            return position;
+        }
+
+        public boolean isPaused()
+        {
+            return paused;
+        }
+
+        public long getChannel()
+        {
+            return channel;
+        }
+
+        public boolean isEmpty()
+        {
+            return playing == null && queue.isEmpty();
+        }
+
+        private void apply(DataInputStream in) throws IOException
+        {
+            switch(in.readByte())
+            {
+                case ADD:
+                    int index = in.readInt();
+                    if(index < 0 || index > queue.size())
+                        throw new IOException("Queue journal record out of range");
+                    queue.add(index, readEntry(in));
+                    break;
+                case REMOVE:
+                    int removed = in.readInt();
+                    if(removed < 0 || removed >= queue.size())
+                        throw new IOException("Queue journal record out of range");
+                    queue.remove(removed);
+                    break;
+                case CLEAR:
+                    queue.clear();
+                    break;
+                case PLAYING:
+                    playing = in.readBoolean() ? readEntry(in) : null;
+                    position = in.readLong();
+                    paused = in.readBoolean();
+                    channel = in.readLong();
+                    break;
+                default:
+                    throw new IOException("Unknown queue journal record");
+            }
+        }
+    }
+
+    private interface RecordWriter
+    {
+        void write(DataOutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,383 @@
+/*
+ * Copyright 2026 Arif Banai (arif-banai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jagrosh.jmusicbot.audio;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jagrosh.jmusicbot.Bot;
+import com.jagrosh.jmusicbot.BotConfig;
+import com.jagrosh.jmusicbot.queue.AbstractQueue;
+import com.jagrosh.jmusicbot.utils.OtherUtil;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.channel.middleman.AudioChannel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps a {@link QueueJournal} for every guild with a player, and restores the journaled
+ * queues when the bot starts.
+ * <p>
+ * Queue changes are recorded as they happen; the playing track and its position are
+ * recorded, and the journals flushed to disk, every few seconds on the bot's thread pool.
+ * A restored queue is decoded from the journal, so no track is looked up again.
+ */
+public class QueueJournalManager
+{
+    private final static Logger LOGGER = LoggerFactory.getLogger(QueueJournalManager.class);
+    // RequestMetadata's JSON carries its derived owner, which is not a creator property
+    private final static ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private final static String EXTENSION = ".journal";
+    private final static int FLUSH_SECONDS = 5;
+
+    private final Bot bot;
+    private final Map<Long, GuildJournal> journals = new ConcurrentHashMap<>();
+
+    private boolean enabled;
+    private Path folder;
+    private int compactAfter;
+
+    public QueueJournalManager(Bot bot)
+    {
+        this.bot = bot;
+    }
+
+    public void init()
+    {
+        BotConfig config = bot.getConfig();
+        enabled = config.useQueueJournal();
+        if(!enabled)
+            return;
+        folder = OtherUtil.getPath(config.getQueueJournalFolder());
+        compactAfter = config.getQueueJournalCompactAfter();
+        bot.getThreadpool().scheduleWithFixedDelay(this::flushAll, FLUSH_SECONDS, FLUSH_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Starts journaling a guild's queue, replacing the journal of the queue it replaces.
+     *
+     * @param guildId the guild
+     * @param queue   the guild's queue
+     */
+    public void attach(long guildId, AbstractQueue<QueuedTrack> queue)
+    {
+        if(!enabled)
+            return;
+        GuildJournal journal = journals.computeIfAbsent(guildId,
+                id -> new GuildJournal(new QueueJournal(folder.resolve(id + EXTENSION), compactAfter)));
+        // a new queue is replayed to the listener in full, so start the journal over
+        journal.cleared();
+        queue.addListener(journal);
+    }
+
+    /**
+     * Stops journaling a guild whose handler was torn down, writing out what is left.
+     *
+     * @param guildId the guild
+     */
+    public void detach(long guildId)
+    {
+        GuildJournal journal = journals.remove(guildId);
+        if(journal == null)
+            return;
+        try
+        {
+            Files.createDirectories(folder);
+            journal.journal.close();
+        }
+        catch(IOException ex)
+        {
+            LOGGER.warn("Could not write the queue journal of guild {}: {}", guildId, ex.getMessage());
+        }
+    }
+
+    /**
+     * Restores the queue journaled for a guild: the queued tracks in their order, and the
+     * playing track at its position, in the voice channel it was playing in. A journal that
+     * cannot be read is deleted, and only this guild goes without its queue.
+     *
+     * @param guild the guild
+     * @return true if anything was restored
+     */
+    public boolean restore(Guild guild)
+    {
+        if(!enabled)
+            return false;
+        Path file = folder.resolve(guild.getIdLong() + EXTENSION);
+        QueueJournal.State state;
+        try
+        {
+            state = QueueJournal.read(file);
+        }
+        catch(IOException | RuntimeException ex)
+        {
+            LOGGER.warn("Discarding the queue journal of guild {}, it could not be read: {}", guild.getId(), ex.getMessage());
+            discard(file);
+            return false;
+        }
+        if(state.isEmpty())
+            return false;
+
+        PlayerManager players = bot.getPlayerManager();
+        MetadataReader metadata = new MetadataReader();
+        List<QueuedTrack> queued = new ArrayList<>(state.getQueue().size() + 1);
+        for(QueueJournal.Entry entry : state.getQueue())
+        {
+            QueuedTrack qt = restore(players, entry, metadata, -1L);
+            if(qt != null)
+                queued.add(qt);
+        }
+
+        AudioTrack playing = null;
+        AudioChannel channel = state.getChannel() == 0 ? null : guild.getChannelById(AudioChannel.class, state.getChannel());
+        if(channel == null)
+            channel = bot.getSettingsManager().getSettings(guild).getVoiceChannel(guild);
+        if(state.getPlaying() != null && state.getPlaying().getTrack() != null)
+        {
+            if(channel != null)
+                playing = decode(players, state.getPlaying(), metadata);
+            else
+            {
+                // nowhere to play it, so it waits at the front of the queue instead
+                QueuedTrack qt = restore(players, state.getPlaying(), metadata, state.getPosition());
+                if(qt != null)
+                    queued.add(0, qt);
+            }
+        }
+        if(playing == null && queued.isEmpty())
+            return false;
+
+        if(playing != null)
+            playing.setPosition(state.getPosition());
+        players.setUpHandler(guild).restore(playing, state.isPaused(), queued);
+        if(playing != null)
+            guild.getAudioManager().openAudioConnection(channel);
+        LOGGER.info("Restored {} queued track(s){} in guild {}", queued.size(),
+                playing == null ? "" : " and the playing track", guild.getId());
+        return true;
+    }
+
+    /**
+     * Records the final state of every journal and stops recording, so that stopping the
+     * players on shutdown does not clear the journals.
+     */
+    public void shutdown()
+    {
+        if(!enabled)
+            return;
+        recordPlaying();
+        journals.forEach((id, journal) ->
+        {
+            try
+            {
+                Files.createDirectories(folder);
+                journal.journal.close();
+            }
+            catch(IOException ex)
+            {
+                LOGGER.warn("Could not write the queue journal of guild {}: {}", id, ex.getMessage());
+            }
+        });
+    }
+
+    private void discard(Path file)
+    {
+        try
+        {
+            Files.deleteIfExists(file);
+        }
+        catch(IOException ex)
+        {
+            LOGGER.warn("Could not delete the queue journal {}: {}", file, ex.getMessage());
+        }
+    }
+
+    private void flushAll()
+    {
+        recordPlaying();
+        journals.forEach((id, journal) ->
+        {
+            try
+            {
+                Files.createDirectories(folder);
+                journal.journal.flush();
+            }
+            catch(IOException ex)
+            {
+                LOGGER.warn("Could not write the queue journal of guild {}: {}", id, ex.getMessage());
+            }
+        });
+    }
+
+    private void recordPlaying()
+    {
+        if(bot.getJDA() == null)
+            return;
+        journals.forEach((id, journal) ->
+        {
+            Guild guild = bot.getJDA().getGuildById(id);
+            if(guild == null || !(guild.getAudioManager().getSendingHandler() instanceof AudioHandler handler))
+                return;
+            AudioTrack track = handler.getPlayer().getPlayingTrack();
+            AudioChannel channel = guild.getAudioManager().getConnectedChannel();
+            journal.playing(track, handler.getPlayer().isPaused(), channel == null ? 0L : channel.getIdLong());
+        });
+    }
+
+    // a position of -1 restores the entry at the position held in its bytes
+    private QueuedTrack restore(PlayerManager players, QueueJournal.Entry entry, MetadataReader metadata, long position)
+    {
+        if(entry.getTrack() == null)
+            return null;
+        try
+        {
+            return EncodedQueuedTrack.restore(players, entry.getTrack(), metadata.read(entry.getMetadata()), position);
+        }
+        catch(IOException ex)
+        {
+            LOGGER.debug("Skipping a journaled track that could not be decoded: {}", ex.getMessage());
+            return null;
+        }
+    }
+
+    private AudioTrack decode(PlayerManager players, QueueJournal.Entry entry, MetadataReader metadata)
+    {
+        try
+        {
+            AudioTrack track = EncodedQueuedTrack.decode(players, entry.getTrack());
+            return track == null ? null : QueuedTrack.prepare(track, metadata.read(entry.getMetadata()));
+        }
+        catch(IOException ex)
+        {
+            LOGGER.debug("Skipping a journaled track that could not be decoded: {}", ex.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Turns the queue's changes into journal records. Entries are stored by the bytes they
+     * already hold when they are encoded, and consecutive entries of one request share the
+     * metadata string.
+     */
+    private class GuildJournal implements AbstractQueue.Listener<QueuedTrack>
+    {
+        private final QueueJournal journal;
+        private RequestMetadata lastRequest;
+        private String lastMetadata;
+        private AudioTrack lastTrack;
+        private QueueJournal.Entry lastPlaying;
+
+        private GuildJournal(QueueJournal journal)
+        {
+            this.journal = journal;
+        }
+
+        @Override
+        public void added(int index, QueuedTrack item)
+        {
+            byte[] encoded = item instanceof EncodedQueuedTrack eqt ? eqt.getEncoded() : encode(item.getTrack());
+            journal.added(index, new QueueJournal.Entry(encoded, write(item.getRequestMetadata())));
+        }
+
+        @Override
+        public void removed(int index, QueuedTrack item)
+        {
+            journal.removed(index);
+        }
+
+        @Override
+        public void cleared()
+        {
+            journal.cleared();
+        }
+
+        private void playing(AudioTrack track, boolean paused, long channel)
+        {
+            if(track != lastTrack)
+            {
+                lastTrack = track;
+                lastPlaying = track == null ? null
+                        : new QueueJournal.Entry(encode(track), write(track.getUserData(RequestMetadata.class)));
+            }
+            journal.playing(lastPlaying, track == null ? 0L : track.getPosition(), paused, channel);
+        }
+
+        private synchronized String write(RequestMetadata rm)
+        {
+            if(rm == null)
+                return null;
+            if(rm != lastRequest)
+            {
+                lastRequest = rm;
+                lastMetadata = rm.toString();
+            }
+            return lastMetadata;
+        }
+
+        // null marks a track that cannot be restored, which keeps the positions in step
+        private byte[] encode(AudioTrack track)
+        {
+            try
+            {
+                return EncodedQueuedTrack.encode(bot.getPlayerManager(), track);
+            }
+            catch(IOException | UnsupportedOperationException ex)
+            {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Parses journaled request metadata, sharing one instance between consecutive entries
+     * of the same request.
+     */
+    private static class MetadataReader
+    {
+        private String lastJson;
+        private RequestMetadata last;
+
+        private RequestMetadata read(String json)
+        {
+            if(json == null)
+                return RequestMetadata.EMPTY;
+            if(!json.equals(lastJson))
+            {
+                try
+                {
+                    last = objectMapper.readValue(json, RequestMetadata.class);
+                }
+                catch(JsonProcessingException ex)
+                {
+                    last = RequestMetadata.EMPTY;
+                }
+                lastJson = json;
+            }
+            return last;
+        }
+    }
+}
@@ -18,7 +18,6 @@ package com.jagrosh.jmusicbot.audio;
 import com.jagrosh.jmusicbot.queue.Queueable;
 import com.jagrosh.jmusicbot.utils.TimeUtil;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
-import com.sedmelluq.discord.lavaplayer.track.AudioTrackInfo;
 
 /**
  *
@@ -31,12 +30,18 @@ public class QueuedTrack implements Queueable
 
     public QueuedTrack(AudioTrack track, RequestMetadata rm)
     {
-        this.track = track;
-        this.track.setUserData(rm == null ? RequestMetadata.EMPTY : rm);
+        this.track = prepare(track, rm);
+        this.requestMetadata = rm;
+    }
 
+    /**
+     * For entries that produce their track lazily by overriding {@link #getTrack()}
+     * and the accessors that read from it.
+     */
+    protected QueuedTrack(RequestMetadata rm)
+    {
+        this.track = null;
         this.requestMetadata = rm;
-        if (this.track.isSeekable() && rm != null)
-            track.setPosition(rm.requestInfo.startTimestamp);
     }
     
     @Override
@@ -55,12 +60,68 @@ public class QueuedTrack implements Queueable
         return requestMetadata;
     }
 
+    public String getTitle()
+    {
+        return track.getInfo().title;
+    }
+
+    public String getAuthor()
+    {
+        return track.getInfo().author;
+    }
+
+    public String getUri()
+    {
+        return track.getInfo().uri;
+    }
+
+    @Override
+    public long getDuration()
+    {
+        return track.getDuration();
+    }
+
+    @Override
+    public String getSearchText()
+    {
+        String author = getAuthor();
+        return author == null ? getTitle() : getTitle() + " " + author;
+    }
+
+    /**
+     * Makes a fresh copy of the entry's track, e.g. to open it on the standby player ahead of
+     * time. Unlike {@link AudioTrack#makeClone()}, the copy starts where the entry does, which
+     * is partway through for a track put back by {@link AudioHandler#playPrevious()} or after
+     * a recovery.
+     *
+     * @return the copy
+     */
+    public AudioTrack copyTrack()
+    {
+        AudioTrack track = getTrack();
+        AudioTrack copy = prepare(track.makeClone(), requestMetadata);
+        if (copy.isSeekable())
+            copy.setPosition(track.getPosition());
+        return copy;
+    }
+
+    /**
+     * Attaches the request metadata to a track and seeks it to the requested start.
+     */
+    static AudioTrack prepare(AudioTrack track, RequestMetadata rm)
+    {
+        track.setUserData(rm == null ? RequestMetadata.EMPTY : rm);
+        if (track.isSeekable() && rm != null)
+            track.setPosition(rm.requestInfo.startTimestamp);
+        return track;
+    }
+
     @Override
     public String toString() 
     {
-        String entry = "`[" + TimeUtil.formatTime(track.getDuration()) + "]` ";
-        AudioTrackInfo trackInfo = track.getInfo();
-        entry = entry + (trackInfo.uri.startsWith("http") ? "[**" + trackInfo.title + "**]("+trackInfo.uri+")" : "**" + trackInfo.title + "**");
-        return entry + " - <@" + track.getUserData(RequestMetadata.class).getOwner() + ">";
+        String entry = "`[" + TimeUtil.formatTime(getDuration()) + "]` ";
+        String uri = getUri();
+        entry = entry + (uri.startsWith("http") ? "[**" + getTitle() + "**]("+uri+")" : "**" + getTitle() + "**");
+        return entry + " - <@" + getIdentifier() + ">";
     }
 }
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 Arif Banai (arif-banai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jagrosh.jmusicbot.audio;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the attempts to recover tracks whose stream got stuck or failed, across all guilds,
+ * and how long a recovery took from the failure until the track played again.
+ */
+public final class RecoveryStats
+{
+    private final AtomicLong attempts = new AtomicLong();
+    private final AtomicLong recovered = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong totalLatencyMillis = new AtomicLong();
+    private final AtomicLong maxLatencyMillis = new AtomicLong();
+
+    void attempted()
+    {
+        attempts.incrementAndGet();
+    }
+
+    void recovered(long latencyMillis)
+    {
+        recovered.incrementAndGet();
+        totalLatencyMillis.addAndGet(latencyMillis);
+        maxLatencyMillis.accumulateAndGet(latencyMillis, Math::max);
+    }
+
+    void failed()
+    {
+        failed.incrementAndGet();
+    }
+
+    public long getAttempts()
+    {
+        return attempts.get();
+    }
+
+    public long getRecovered()
+    {
+        return recovered.get();
+    }
+
+    public long getFailed()
+    {
+        return failed.get();
+    }
+
+    /**
+     * @return the mean time from a failure until the track played again, or 0 if none was recovered
+     */
+    public long getAverageLatencyMillis()
+    {
+        long count = recovered.get();
+        return count == 0 ? 0 : totalLatencyMillis.get() / count;
+    }
+
+    public long getMaxLatencyMillis()
+    {
+        return maxLatencyMillis.get();
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2026 Arif Banai (arif-banai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jagrosh.jmusicbot.audio;
+
+import com.sedmelluq.discord.lavaplayer.player.AudioLoadResultHandler;
+import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
+import com.sedmelluq.discord.lavaplayer.track.AudioPlaylist;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Brings back a track whose stream got stuck or failed with a recoverable error. The same
+ * identifier is loaded again, or, if that finds nothing, searched for by title on another
+ * enabled source; the new track is seeked to where the old one stopped. Each track gets a
+ * bounded number of attempts, counted across the tracks that recovered it.
+ * <p>
+ * A failure is first {@link #mark marked}, while the failed track is still playing, and
+ * {@link #recover recovered} once its end event arrives. It counts as recovered in the
+ * {@link RecoveryStats} only once the new track has {@link #started started}; one dropped
+ * because the guild was stopped meanwhile does not.
+ */
+class TrackRecovery
+{
+    private final static Logger LOGGER = LoggerFactory.getLogger(TrackRecovery.class);
+
+    private final PlayerManager manager;
+    private final long guildId;
+    private final int maxAttempts;
+    private final boolean fallbackSearch;
+
+    // the last track marked or recovered, whose failures count against the same attempts
+    private AudioTrack lineage;
+    private int attempts;
+    private AudioTrack marked;
+    private long markedPosition;
+    private long markedAt;
+    // the track loaded again, until it starts playing
+    private AudioTrack restarting;
+    private long restartingSince;
+
+    TrackRecovery(PlayerManager manager, long guildId)
+    {
+        this.manager = manager;
+        this.guildId = guildId;
+        this.maxAttempts = manager.getBot().getConfig().getRecoveryAttempts();
+        this.fallbackSearch = manager.getBot().getConfig().useRecoveryFallbackSearch();
+    }
+
+    /**
+     * @return whether an exception is worth loading the track again for; a common error, such
+     *         as a removed or region locked video, fails the same way every time
+     */
+    static boolean isRecoverable(FriendlyException exception)
+    {
+        return exception.severity != FriendlyException.Severity.COMMON;
+    }
+
+    /**
+     * Marks a failed track for recovery, unless it is out of attempts.
+     *
+     * @param track the track that failed, still at its last good position
+     * @return whether the track will be recovered when it ends
+     */
+    synchronized boolean mark(AudioTrack track)
+    {
+        if(track != lineage)
+        {
+            lineage = track;
+            attempts = 0;
+        }
+        if(attempts >= maxAttempts)
+            return false;
+        attempts++;
+        marked = track;
+        markedPosition = track.getPosition();
+        markedAt = System.currentTimeMillis();
+        manager.getRecoveryStats().attempted();
+        LOGGER.info("Recovering track {} at {} ms in guild {} (attempt {} of {})",
+                track.getIdentifier(), markedPosition, guildId, attempts, maxAttempts);
+        return true;
+    }
+
+    synchronized boolean isMarked(AudioTrack track)
+    {
+        return track != null && track == marked;
+    }
+
+    /**
+     * Loads a marked track again.
+     *
+     * @param track     the marked track, which has ended
+     * @param recovered called with the new track, already seeked, to play it
+     * @param giveUp    called if the track could not be found again
+     */
+    synchronized void recover(AudioTrack track, Consumer<AudioTrack> recovered, Runnable giveUp)
+    {
+        marked = null;
+        long position = markedPosition;
+        long failedAt = markedAt;
+        RequestMetadata rm = track.getUserData(RequestMetadata.class);
+        Consumer<AudioTrack> found = next ->
+        {
+            next.setUserData(rm == null ? RequestMetadata.EMPTY : rm);
+            if(next.isSeekable() && position > 0 && position < next.getDuration())
+                next.setPosition(position);
+            synchronized(this)
+            {
+                lineage = next;
+                restarting = next;
+                restartingSince = failedAt;
+            }
+            recovered.accept(next);
+        };
+        Runnable notFound = () ->
+        {
+            manager.getRecoveryStats().failed();
+            LOGGER.warn("Could not recover track {} in guild {}", track.getIdentifier(), guildId);
+            giveUp.run();
+        };
+        String search = fallbackSearch ? fallbackQuery(track) : null;
+        String identifier = track.getInfo().uri != null ? track.getInfo().uri : track.getIdentifier();
+        load(identifier, found, search == null ? notFound : () -> load(search, found, notFound));
+    }
+
+    /**
+     * Counts a recovery once its track starts playing. The recovered track is played at once
+     * or put first in the queue, so the next track to start is either it or a sign that it
+     * was passed over; either way the recovery is settled.
+     *
+     * @param track the track that started, possibly a copy of the recovered one
+     */
+    synchronized void started(AudioTrack track)
+    {
+        if(restarting == null)
+            return;
+        if(Objects.equals(restarting.getIdentifier(), track.getIdentifier()))
+            manager.getRecoveryStats().recovered(System.currentTimeMillis() - restartingSince);
+        restarting = null;
+    }
+
+    /**
+     * Forgets a recovered track that will not be played, e.g. because the guild was stopped
+     * while it was loaded again.
+     */
+    synchronized void dropped()
+    {
+        restarting = null;
+    }
+
+    private void load(String identifier, Consumer<AudioTrack> found, Runnable notFound)
+    {
+        manager.loadItemOrdered(this, identifier, new AudioLoadResultHandler()
+        {
+            @Override
+            public void trackLoaded(AudioTrack track)
+            {
+                found.accept(track);
+            }
+
+            @Override
+            public void playlistLoaded(AudioPlaylist playlist)
+            {
+                AudioTrack track = playlist.getSelectedTrack() != null ? playlist.getSelectedTrack()
+                        : playlist.getTracks().isEmpty() ? null : playlist.getTracks().get(0);
+                if(track == null)
+                    notFound.run();
+                else
+                    found.accept(track);
+            }
+
+            @Override
+            public void noMatches()
+            {
+                notFound.run();
+            }
+
+            @Override
+            public void loadFailed(FriendlyException exception)
+            {
+                LOGGER.debug("Loading {} to recover a track failed: {}", identifier, exception.getMessage());
+                notFound.run();
+            }
+        });
+    }
+
+    // a search on an enabled source other than the one the track came from, or null if there is none
+    private String fallbackQuery(AudioTrack track)
+    {
+        String source = track.getSourceManager() == null ? null : track.getSourceManager().getSourceName();
+        String query = track.getInfo().author == null ? track.getInfo().title : track.getInfo().title + " " + track.getInfo().author;
+        if(query == null)
+            return null;
+        for(AudioSource candidate : manager.getBot().getConfig().getEnabledAudioSources())
+        {
+            if(candidate.getConfigName().equals(source))
+                continue;
+            if(candidate == AudioSource.YOUTUBE)
+                return "ytsearch:" + query;
+            if(candidate == AudioSource.SOUNDCLOUD)
+                return "scsearch:" + query;
+        }
+        return null;
+    }
+}
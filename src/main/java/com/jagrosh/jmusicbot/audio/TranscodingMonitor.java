@@ -0,0 +1,282 @@
+/*
+ * Copyright 2026 Arif Banai (arif-banai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jagrosh.jmusicbot.audio;
+
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps track of which guilds make lavaplayer encode their frames again, and what it costs.
+ * <p>
+ * Every frame a guild sends is counted as passed through or transcoded. Lavaplayer passes the
+ * opus frames of a source through untouched only if the source delivers opus (see
+ * {@link #deliversOpus}) and the guild's volume is 100; the frames of any other source, such as
+ * an mp3 or aac stream, are decoded and encoded again whatever the volume. A track started
+ * while the encoder is capped below the engine's quality, by the guild's {@link BitrateTier}
+ * or the {@link QualityGovernor}, is counted as transcoded as well. Every
+ * few seconds the CPU time of lavaplayer's playback threads is sampled and shared out between
+ * the guilds by the frames they transcoded since the last sample (or by all their frames, if
+ * none was transcoded). Lavaplayer does not tell which guild a thread works for, so the CPU
+ * time of a guild is an estimate, but the total is measured.
+ * <p>
+ * The monitor also caps how many guilds may transcode at once, see {@link #acquire}.
+ */
+public class TranscodingMonitor
+{
+    private final static long SAMPLE_SECONDS = 10;
+    // lavaplayer names the threads that decode and encode tracks lava-daemon-pool-playback-*
+    private final static String PLAYBACK_THREADS = "playback";
+    // sources whose streams are opus, which lavaplayer picks over the other formats they offer
+    private final static Set<String> OPUS_SOURCES = Set.of("youtube");
+    // files and http streams whose container holds opus
+    private final static Set<String> OPUS_EXTENSIONS = Set.of(".opus", ".webm");
+
+    private final int maxGuilds;
+    private final Map<Long, GuildStats> guilds = new ConcurrentHashMap<>();
+    private final Set<Long> transcoding = new HashSet<>();
+    private Map<Long, Long> threadCpu = new HashMap<>();
+    private volatile long totalCpuNanos;
+
+    /**
+     * @param maxGuilds how many guilds may transcode at once, or 0 for no limit
+     */
+    public TranscodingMonitor(int maxGuilds)
+    {
+        this.maxGuilds = maxGuilds;
+    }
+
+    public void init(ScheduledExecutorService threadpool)
+    {
+        if(ManagementFactory.getThreadMXBean().isThreadCpuTimeSupported())
+            threadpool.scheduleWithFixedDelay(this::sample, SAMPLE_SECONDS, SAMPLE_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Tells whether lavaplayer can pass a track's frames through as they come from its source,
+     * rather than decoding and encoding them again. It can for tracks played from the
+     * {@link FrameCache}, for the sources that stream opus, and for opus files and streams.
+     *
+     * @param track a track
+     * @return whether the track's source delivers opus
+     */
+    public static boolean deliversOpus(AudioTrack track)
+    {
+        if(track instanceof CachedAudioTrack)
+            return true;
+        if(track instanceof ParkedAudioTrack || track.getSourceManager() == null)
+            return false;
+        String source = track.getSourceManager().getSourceName();
+        if(OPUS_SOURCES.contains(source))
+            return true;
+        if(!source.equals("http") && !source.equals("local"))
+            return false;
+        String uri = track.getInfo().uri == null ? track.getIdentifier() : track.getInfo().uri;
+        String path = uri.toLowerCase(Locale.ROOT).replaceFirst("[?#].*$", "");
+        for(String extension : OPUS_EXTENSIONS)
+            if(path.endsWith(extension))
+                return true;
+        return false;
+    }
+
+    /**
+     * @param guildId the guild
+     * @return the counters of the guild, which its handler keeps to count frames
+     */
+    public GuildStats getStats(long guildId)
+    {
+        return guilds.computeIfAbsent(guildId, GuildStats::new);
+    }
+
+    /**
+     * @return the counters of every guild that has sent frames
+     */
+    public List<GuildStats> getGuilds()
+    {
+        return new ArrayList<>(guilds.values());
+    }
+
+    /**
+     * Takes one of the slots for transcoding guilds.
+     *
+     * @param guildId the guild that wants a volume other than 100
+     * @return whether the guild may transcode; always true for a guild that already does
+     */
+    synchronized boolean acquire(long guildId)
+    {
+        if(transcoding.contains(guildId))
+            return true;
+        if(maxGuilds > 0 && transcoding.size() >= maxGuilds)
+            return false;
+        return transcoding.add(guildId);
+    }
+
+    /**
+     * Gives back the slot of a guild that went back to volume 100.
+     */
+    synchronized void release(long guildId)
+    {
+        transcoding.remove(guildId);
+    }
+
+    /**
+     * Forgets a guild whose handler was torn down, giving back its slot.
+     */
+    synchronized void remove(long guildId)
+    {
+        transcoding.remove(guildId);
+        guilds.remove(guildId);
+    }
+
+    public synchronized int getTranscodingCount()
+    {
+        return transcoding.size();
+    }
+
+    public int getMaxGuilds()
+    {
+        return maxGuilds;
+    }
+
+    /**
+     * @return the CPU time lavaplayer's playback threads used since sampling began
+     */
+    public long getTotalCpuMillis()
+    {
+        return TimeUnit.NANOSECONDS.toMillis(totalCpuNanos);
+    }
+
+    private void sample()
+    {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        Map<Long, Long> sampled = new HashMap<>();
+        long spent = 0;
+        for(ThreadInfo info : threads.getThreadInfo(threads.getAllThreadIds()))
+        {
+            if(info == null || !info.getThreadName().contains(PLAYBACK_THREADS))
+                continue;
+            long cpu = threads.getThreadCpuTime(info.getThreadId());
+            if(cpu < 0)
+                continue;
+            sampled.put(info.getThreadId(), cpu);
+            spent += cpu - threadCpu.getOrDefault(info.getThreadId(), 0L);
+        }
+        threadCpu = sampled;
+        totalCpuNanos += spent;
+
+        long transcoded = 0;
+        long all = 0;
+        for(GuildStats stats : guilds.values())
+        {
+            stats.sample();
+            transcoded += stats.transcodedDelta;
+            all += stats.transcodedDelta + stats.passthroughDelta;
+        }
+        if(spent <= 0 || all == 0)
+            return;
+        for(GuildStats stats : guilds.values())
+        {
+            long share = transcoded > 0 ? stats.transcodedDelta : stats.transcodedDelta + stats.passthroughDelta;
+            stats.cpuNanos += (long) ((double) spent * share / (transcoded > 0 ? transcoded : all));
+        }
+    }
+
+    /**
+     * The frames one guild sent or missed, and its share of the CPU time. Frames are only
+     * counted by the guild's audio thread.
+     */
+    public static class GuildStats
+    {
+        private final long guildId;
+        private volatile long passthroughFrames;
+        private volatile long transcodedFrames;
+        private volatile long underruns;
+        private volatile long cpuNanos;
+        // only used by the sampler
+        private long sampledPassthrough, sampledTranscoded, passthroughDelta, transcodedDelta;
+
+        private GuildStats(long guildId)
+        {
+            this.guildId = guildId;
+        }
+
+        void frameSent(boolean transcoded)
+        {
+            if(transcoded)
+                transcodedFrames++;
+            else
+                passthroughFrames++;
+        }
+
+        void frameMissed()
+        {
+            underruns++;
+        }
+
+        private void sample()
+        {
+            long passthrough = passthroughFrames;
+            long transcoded = transcodedFrames;
+            passthroughDelta = passthrough - sampledPassthrough;
+            transcodedDelta = transcoded - sampledTranscoded;
+            sampledPassthrough = passthrough;
+            sampledTranscoded = transcoded;
+        }
+
+        public long getGuildId()
+        {
+            return guildId;
+        }
+
+        public long getPassthroughFrames()
+        {
+            return passthroughFrames;
+        }
+
+        public long getTranscodedFrames()
+        {
+            return transcodedFrames;
+        }
+
+        /**
+         * @return the frames missed while a track was playing, because none was ready in time
+         */
+        public long getUnderruns()
+        {
+            return underruns;
+        }
+
+        /**
+         * @return the estimated CPU time spent on the guild's frames
+         */
+        public long getCpuMillis()
+        {
+            return TimeUnit.NANOSECONDS.toMillis(cpuNanos);
+        }
+    }
+}
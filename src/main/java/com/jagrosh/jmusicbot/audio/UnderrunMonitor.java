@@ -0,0 +1,271 @@
+/*
+ * Copyright 2026 Arif Banai (arif-banai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jagrosh.jmusicbot.audio;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.management.GcInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Keeps the underruns of the last few minutes, the runs of frames a guild missed while a
+ * track was playing, next to the garbage collection pauses of the same minutes, so a stutter
+ * can be told apart as one the JVM caused or one it did not.
+ * <p>
+ * An underrun begins with the first frame a guild's player had no frame ready for, and ends
+ * with the next frame sent (or when the track stops playing). Its length goes into a
+ * histogram kept since startup. The pauses are reported by the JVM's garbage collectors; an
+ * underrun that overlaps one, or begins shortly after one ended, is taken to be caused by it.
+ */
+public class UnderrunMonitor
+{
+    private final static Logger LOGGER = LoggerFactory.getLogger(UnderrunMonitor.class);
+    public final static long WINDOW_MINUTES = 10;
+    /** the upper bounds of the histogram's buckets, in milliseconds; the last bucket is unbounded */
+    public final static long[] HISTOGRAM_BOUNDS = {20, 40, 100, 250, 500, 1000};
+    private final static long WINDOW_MILLIS = TimeUnit.MINUTES.toMillis(WINDOW_MINUTES);
+    // a pause stops the playback threads, whose buffers then run dry a little after it ended
+    private final static long GC_SLACK_MILLIS = 200;
+    private final static int MAX_KEPT = 10_000;
+
+    private final Deque<Underrun> underruns = new ArrayDeque<>();
+    // the start and end of each pause, in epoch milliseconds
+    private final Deque<long[]> pauses = new ArrayDeque<>();
+    private final AtomicLongArray histogram = new AtomicLongArray(HISTOGRAM_BOUNDS.length + 1);
+
+    /**
+     * Listens for the pauses of every garbage collector of the JVM. Collectors that report
+     * their concurrent work (ZGC's and Shenandoah's cycles, G1's concurrent GC) are skipped,
+     * that work does not stop the threads.
+     */
+    public void init()
+    {
+        long jvmStart = ManagementFactory.getRuntimeMXBean().getStartTime();
+        int listening = 0;
+        for(GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans())
+        {
+            if(!(gc instanceof NotificationEmitter) || isConcurrent(gc.getName()))
+                continue;
+            ((NotificationEmitter) gc).addNotificationListener((notification, handback) ->
+            {
+                if(!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType()))
+                    return;
+                GcInfo info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData()).getGcInfo();
+                gcPaused(jvmStart + info.getStartTime(), jvmStart + info.getEndTime());
+            }, null, null);
+            listening++;
+        }
+        if(listening == 0)
+            LOGGER.warn("The garbage collectors report no pauses, underruns are not matched with them");
+    }
+
+    private static boolean isConcurrent(String collector)
+    {
+        return collector.contains("Cycles") || collector.contains("Concurrent");
+    }
+
+    /**
+     * Takes in an underrun of a guild. Called from the audio thread, so it only appends.
+     *
+     * @param guildId the guild
+     * @param start   when the first frame was missed, in epoch milliseconds
+     * @param end     when a frame was sent again, or the track stopped playing
+     * @param frames  how many frames were missed
+     */
+    public void underrun(long guildId, long start, long end, int frames)
+    {
+        histogram.incrementAndGet(bucket(end - start));
+        synchronized(this)
+        {
+            underruns.addLast(new Underrun(guildId, start, end, frames, false));
+            if(underruns.size() > MAX_KEPT)
+                underruns.removeFirst();
+            prune(System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Takes in a pause of a garbage collector.
+     *
+     * @param start when the pause began, in epoch milliseconds
+     * @param end   when the pause ended
+     */
+    public synchronized void gcPaused(long start, long end)
+    {
+        pauses.addLast(new long[]{start, end});
+        if(pauses.size() > MAX_KEPT)
+            pauses.removeFirst();
+        prune(System.currentTimeMillis());
+    }
+
+    /**
+     * @return the underruns of the last {@link #WINDOW_MINUTES} minutes, oldest first, each
+     *         marked with whether it overlapped a garbage collection pause
+     */
+    public List<Underrun> getRecent()
+    {
+        List<Underrun> copied;
+        List<long[]> copiedPauses;
+        // copied under the lock and matched outside it, so the audio thread never waits on the matching
+        synchronized(this)
+        {
+            prune(System.currentTimeMillis());
+            copied = new ArrayList<>(underruns);
+            copiedPauses = new ArrayList<>(pauses);
+        }
+        List<Underrun> recent = new ArrayList<>(copied.size());
+        for(Underrun underrun : copied)
+            recent.add(new Underrun(underrun.guildId, underrun.start, underrun.end, underrun.frames,
+                    overlaps(copiedPauses, underrun.start, underrun.end)));
+        return recent;
+    }
+
+    // whether a pause overlaps the time, or ended shortly before it; the pauses of the JVM
+    // do not overlap each other, so they are ordered by their end as well as by their start
+    private static boolean overlaps(List<long[]> pauses, long start, long end)
+    {
+        int low = 0;
+        int high = pauses.size();
+        while(low < high)
+        {
+            int mid = (low + high) >>> 1;
+            if(pauses.get(mid)[1] + GC_SLACK_MILLIS < start)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low < pauses.size() && pauses.get(low)[0] <= end;
+    }
+
+    /**
+     * @return how many garbage collection pauses there were in the last {@link #WINDOW_MINUTES} minutes
+     */
+    public synchronized int getRecentGcPauses()
+    {
+        prune(System.currentTimeMillis());
+        return pauses.size();
+    }
+
+    /**
+     * @return how long the garbage collection pauses of the last {@link #WINDOW_MINUTES}
+     *         minutes took together, in milliseconds
+     */
+    public long getRecentGcPauseMillis()
+    {
+        List<long[]> copied;
+        synchronized(this)
+        {
+            prune(System.currentTimeMillis());
+            copied = new ArrayList<>(pauses);
+        }
+        long total = 0;
+        for(long[] pause : copied)
+            total += pause[1] - pause[0];
+        return total;
+    }
+
+    /**
+     * @return how many underruns since startup lasted up to each of {@link #HISTOGRAM_BOUNDS},
+     *         and in the last element, how many lasted longer
+     */
+    public long[] getHistogram()
+    {
+        long[] counts = new long[histogram.length()];
+        for(int i = 0; i < counts.length; i++)
+            counts[i] = histogram.get(i);
+        return counts;
+    }
+
+    private static int bucket(long millis)
+    {
+        for(int i = 0; i < HISTOGRAM_BOUNDS.length; i++)
+            if(millis <= HISTOGRAM_BOUNDS[i])
+                return i;
+        return HISTOGRAM_BOUNDS.length;
+    }
+
+    // drops what ended before the window
+    private void prune(long now)
+    {
+        while(!underruns.isEmpty() && underruns.peekFirst().end < now - WINDOW_MILLIS)
+            underruns.removeFirst();
+        while(!pauses.isEmpty() && pauses.peekFirst()[1] < now - WINDOW_MILLIS)
+            pauses.removeFirst();
+    }
+
+    /**
+     * A run of frames one guild missed.
+     */
+    public static class Underrun
+    {
+        private final long guildId;
+        private final long start;
+        private final long end;
+        private final int frames;
+        private final boolean duringGc;
+
+        private Underrun(long guildId, long start, long end, int frames, boolean duringGc)
+        {
+            this.guildId = guildId;
+            this.start = start;
+            this.end = end;
+            this.frames = frames;
+            this.duringGc = duringGc;
+        }
+
+        public long getGuildId()
+        {
+            return guildId;
+        }
+
+        public long getStart()
+        {
+            return start;
+        }
+
+        /**
+         * @return the time from the first frame missed until a frame was sent again
+         */
+        public long getMillis()
+        {
+            return end - start;
+        }
+
+        public int getFrames()
+        {
+            return frames;
+        }
+
+        /**
+         * @return whether a garbage collection pause overlapped the underrun, or ended shortly before it
+         */
+        public boolean isDuringGc()
+        {
+            return duringGc;
+        }
+    }
+}
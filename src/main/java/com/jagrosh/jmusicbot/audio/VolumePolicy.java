@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 Arif Banai (arif-banai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jagrosh.jmusicbot.audio;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * When a guild's volume change reaches its player. Any volume but 100 makes lavaplayer
+ * decode and encode every frame again, instead of passing opus frames through.
+ */
+public enum VolumePolicy
+{
+    /**
+     * The volume changes right away.
+     */
+    IMMEDIATE("immediate"),
+
+    /**
+     * The volume changes when the next track starts, so a track is either passed through or
+     * encoded again from start to end.
+     */
+    TRACK_BOUNDARY("track-boundary");
+
+    private final String configName;
+
+    VolumePolicy(String configName)
+    {
+        this.configName = configName;
+    }
+
+    /**
+     * @param name the name used in the config, in any case
+     * @return the policy, or null if there is none by that name
+     */
+    public static VolumePolicy fromConfigName(String name)
+    {
+        for(VolumePolicy policy : values())
+            if(policy.configName.equalsIgnoreCase(name))
+                return policy;
+        return null;
+    }
+
+    /**
+     * @return the names used in the config, comma separated
+     */
+    public static String getConfigNames()
+    {
+        return Arrays.stream(values()).map(VolumePolicy::getConfigName).collect(Collectors.joining(", "));
+    }
+
+    public String getConfigName()
+    {
+        return configName;
+    }
+}
@@ -47,22 +47,26 @@ public class CommandFactory {
                     new PlaylistsCmd(bot),
                     new QueueCmd(bot),
                     new RemoveCmd(bot),
+                    new ReplayCmd(bot),
                     new SearchCmd(bot),
                     new SCSearchCmd(bot),
                     new SeekCmd(bot),
                     new ShuffleCmd(bot),
                     new SkipCmd(bot),
 
+                    new BroadcastCmd(bot),
                     new ForceRemoveCmd(bot),
                     new ForceskipCmd(bot),
                     new MoveTrackCmd(bot),
                     new PauseCmd(bot),
                     new PlaynextCmd(bot),
+                    new PreviousCmd(bot),
                     new RepeatCmd(bot),
                     new SkiptoCmd(bot),
                     new StopCmd(bot),
                     new VolumeCmd(bot),
 
+                    new DuplicatesCmd(bot),
                     new PrefixCmd(bot),
                     new QueueTypeCmd(bot),
                     new SetdjCmd(bot),
@@ -88,23 +92,27 @@ public class CommandFactory {
                     new SlashPlaylistsCmd(bot),
                     new SlashQueueCmd(bot),
                     new SlashRemoveCmd(bot),
+                    new SlashReplayCmd(bot),
                     new SlashSearchCmd(bot),
                     new SlashSeekCmd(bot),
                     new SlashShuffleCmd(bot),
                     new SlashSkipCmd(bot),
 
                     // DJ
+                    new SlashBroadcastCmd(bot),
                     new SlashForceRemoveCmd(bot),
                     new SlashForceskipCmd(bot),
                     new SlashMoveTrackCmd(bot),
                     new SlashPauseCmd(bot),
                     new SlashPlaynextCmd(bot),
+                    new SlashPreviousCmd(bot),
                     new SlashRepeatCmd(bot),
                     new SlashSkiptoCmd(bot),
                     new SlashStopCmd(bot),
                     new SlashVolumeCmd(bot),
 
                     // Admin
+                    new SlashDuplicatesCmd(bot),
                     new SlashPrefixCmd(bot),
                     new SlashQueueTypeCmd(bot),
                     new SlashSetdjCmd(bot),
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 Arif Banai (arif-banai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jagrosh.jmusicbot.commands.admin;
+
+import com.jagrosh.jdautilities.command.CommandEvent;
+import com.jagrosh.jmusicbot.Bot;
+import com.jagrosh.jmusicbot.commands.AdminCommand;
+import com.jagrosh.jmusicbot.settings.DuplicatePolicy;
+import com.jagrosh.jmusicbot.settings.Settings;
+
+/**
+ * Sets what happens when a track that is already playing or queued is requested again.
+ */
+public class DuplicatesCmd extends AdminCommand
+{
+    public DuplicatesCmd(Bot bot)
+    {
+        this.name = "duplicates";
+        this.help = "sets how duplicate track requests are handled; spacing is the number of other "
+                + "requests in the guild since the last one, and each track of a playlist counts as a request";
+        this.arguments = "[allow|reject|copies <number>|spacing <number>]";
+        this.aliases = bot.getConfig().getAliases(this.name);
+    }
+
+    @Override
+    protected void execute(CommandEvent event)
+    {
+        Settings settings = event.getClient().getSettingsFor(event.getGuild());
+        String[] parts = event.getArgs().trim().split("\\s+");
+
+        if (parts[0].isEmpty())
+        {
+            event.reply("Duplicate requests: `" + settings.getDuplicatePolicy().describe(settings.getDuplicateLimit()) + "`.");
+            return;
+        }
+
+        DuplicatePolicy policy;
+        try
+        {
+            policy = DuplicatePolicy.valueOf(parts[0].toUpperCase());
+        }
+        catch (IllegalArgumentException e)
+        {
+            event.replyError("Invalid policy. Valid policies are: [" + String.join("|", DuplicatePolicy.getNames()) + "]");
+            return;
+        }
+
+        int limit = 0;
+        if (policy == DuplicatePolicy.COPIES || policy == DuplicatePolicy.SPACING)
+        {
+            try
+            {
+                limit = Integer.parseInt(parts.length > 1 ? parts[1] : "");
+            }
+            catch (NumberFormatException e)
+            {
+                limit = 0;
+            }
+            if (limit < 1)
+            {
+                event.replyError("Please include a number of at least 1, e.g. `" + parts[0].toLowerCase() + " 2`.");
+                return;
+            }
+        }
+
+        settings.setDuplicatePolicy(policy, limit);
+        event.replySuccess("Duplicate requests were set to `" + policy.describe(limit) + "`.");
+    }
+}
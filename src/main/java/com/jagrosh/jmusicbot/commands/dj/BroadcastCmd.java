@@ -0,0 +1,76 @@
+/*
+ * Copyright 2026 Arif Banai (arif-banai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jagrosh.jmusicbot.commands.dj;
+
+import com.jagrosh.jdautilities.command.CommandEvent;
+import com.jagrosh.jmusicbot.Bot;
+import com.jagrosh.jmusicbot.audio.AudioHandler;
+import com.jagrosh.jmusicbot.audio.Broadcast;
+import com.jagrosh.jmusicbot.commands.DJCommand;
+
+/**
+ * Tunes the guild in to the shared broadcast of a playlist, or out of it. Every guild tuned
+ * in to the same playlist hears the same stream, which is only decoded once.
+ */
+public class BroadcastCmd extends DJCommand
+{
+    public BroadcastCmd(Bot bot)
+    {
+        super(bot);
+        this.name = "broadcast";
+        this.help = "tunes in to the shared broadcast of a playlist";
+        this.arguments = "<playlist|OFF>";
+        this.aliases = bot.getConfig().getAliases(this.name);
+        this.beListening = true;
+        this.bePlaying = false;
+    }
+
+    @Override
+    public void doCommand(CommandEvent event)
+    {
+        AudioHandler handler = (AudioHandler)event.getGuild().getAudioManager().getSendingHandler();
+        String args = event.getArgs().trim();
+        if(args.isEmpty())
+        {
+            Broadcast current = handler.getBroadcast();
+            if(current==null)
+                event.replyWarning("Not tuned in to a broadcast. Use `"+event.getClient().getPrefix()+name+" <playlist>` to tune in.");
+            else
+                event.replySuccess("Tuned in to the broadcast of **"+current.getName()+"**, with "+current.getReceiverCount()+" servers listening");
+            return;
+        }
+        if(args.equalsIgnoreCase("off"))
+        {
+            if(handler.getBroadcast()==null)
+            {
+                event.replyError("Not tuned in to a broadcast!");
+                return;
+            }
+            handler.setBroadcast(null);
+            event.replySuccess("Tuned out of the broadcast");
+            return;
+        }
+        Broadcast.Receiver receiver = bot.getPlayerManager().getBroadcastManager().join(args.replaceAll("\\s+", "_"));
+        if(receiver==null)
+        {
+            event.replyError("I could not find `"+args+".txt` in the Playlists folder.");
+            return;
+        }
+        handler.setBroadcast(receiver);
+        event.replySuccess("Tuned in to the broadcast of **"+receiver.getBroadcast().getName()+"**"
+                +(handler.getPlayer().getPlayingTrack()==null ? "" : ", which plays once the queue is done"));
+    }
+}
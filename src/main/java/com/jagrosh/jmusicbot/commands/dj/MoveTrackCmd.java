@@ -19,7 +19,7 @@ public class MoveTrackCmd extends DJCommand
         super(bot);
         this.name = "movetrack";
         this.help = "move a track in the current queue to a different position";
-        this.arguments = "<from> <to>";
+        this.arguments = "<from|title> <to>";
         this.aliases = bot.getConfig().getAliases(this.name);
         this.bePlaying = true;
     }
@@ -30,18 +30,19 @@ public class MoveTrackCmd extends DJCommand
         int from;
         int to;
 
-        String[] parts = event.getArgs().split("\\s+", 2);
-        if(parts.length < 2)
+        String args = event.getArgs().trim().replaceAll("\\s+", " ");
+        int split = args.lastIndexOf(' ');
+        if (split < 0)
         {
             event.replyError("Please include two valid indexes.");
             return;
         }
+        String source = args.substring(0, split);
 
         try
         {
             // Validate the args
-            from = Integer.parseInt(parts[0]);
-            to = Integer.parseInt(parts[1]);
+            to = Integer.parseInt(args.substring(split + 1));
         }
         catch (NumberFormatException e)
         {
@@ -49,6 +50,23 @@ public class MoveTrackCmd extends DJCommand
             return;
         }
 
+        AudioHandler handler = (AudioHandler) event.getGuild().getAudioManager().getSendingHandler();
+        AbstractQueue<QueuedTrack> queue = handler.getQueue();
+        try
+        {
+            from = Integer.parseInt(source);
+        }
+        catch (NumberFormatException e)
+        {
+            // Not a position, so look the track up by its title
+            from = handler.findInQueue(source, 0) + 1;
+            if (from == 0)
+            {
+                event.replyError(String.format("No track in the queue matches `%s`.", source));
+                return;
+            }
+        }
+
         if (from == to)
         {
             event.replyError("Can't move a track to the same position.");
@@ -56,8 +74,6 @@ public class MoveTrackCmd extends DJCommand
         }
 
         // Validate that from and to are available
-        AudioHandler handler = (AudioHandler) event.getGuild().getAudioManager().getSendingHandler();
-        AbstractQueue<QueuedTrack> queue = handler.getQueue();
         if (isUnavailablePosition(queue, from))
         {
             String reply = String.format("`%d` is not a valid position in the queue!", from);
@@ -73,7 +89,7 @@ public class MoveTrackCmd extends DJCommand
 
         // Move the track
         QueuedTrack track = queue.moveItem(from - 1, to - 1);
-        String trackTitle = track.getTrack().getInfo().title;
+        String trackTitle = track.getTitle();
         String reply = String.format("Moved **%s** from position `%d` to `%d`.", trackTitle, from, to);
         event.replySuccess(reply);
     }
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026 Arif Banai (arif-banai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jagrosh.jmusicbot.commands.dj;
+
+import com.jagrosh.jdautilities.command.CommandEvent;
+import com.jagrosh.jmusicbot.Bot;
+import com.jagrosh.jmusicbot.audio.AudioHandler;
+import com.jagrosh.jmusicbot.audio.QueuedTrack;
+import com.jagrosh.jmusicbot.commands.DJCommand;
+
+/**
+ * Goes back to the previously played track, putting the current one back at the front of
+ * the queue. The track comes from the guild's play history, so it starts without being
+ * looked up again.
+ */
+public class PreviousCmd extends DJCommand
+{
+    public PreviousCmd(Bot bot)
+    {
+        super(bot);
+        this.name = "previous";
+        this.help = "goes back to the previously played song";
+        this.aliases = bot.getConfig().getAliases(this.name);
+        this.beListening = true;
+        this.bePlaying = false;
+    }
+
+    @Override
+    public void doCommand(CommandEvent event)
+    {
+        AudioHandler handler = (AudioHandler)event.getGuild().getAudioManager().getSendingHandler();
+        QueuedTrack previous = handler.playPrevious();
+        if(previous==null)
+        {
+            event.replyError("There is no previously played song to go back to!");
+            return;
+        }
+        event.replySuccess("Went back to **"+previous.getTitle()+"**");
+    }
+}
@@ -31,7 +31,7 @@ public class SkiptoCmd extends DJCommand
         super(bot);
         this.name = "skipto";
         this.help = "skips to the specified song";
-        this.arguments = "<position>";
+        this.arguments = "<position|title>";
         this.aliases = bot.getConfig().getAliases(this.name);
         this.bePlaying = true;
     }
@@ -40,23 +40,27 @@ public class SkiptoCmd extends DJCommand
     public void doCommand(CommandEvent event) 
     {
         int index = 0;
+        AudioHandler handler = (AudioHandler)event.getGuild().getAudioManager().getSendingHandler();
         try
         {
             index = Integer.parseInt(event.getArgs());
         }
         catch(NumberFormatException e)
         {
-            event.reply(event.getClient().getError()+" `"+event.getArgs()+"` is not a valid integer!");
-            return;
+            index = handler.findInQueue(event.getArgs(), 0)+1;
+            if(index==0)
+            {
+                event.reply(event.getClient().getError()+" `"+event.getArgs()+"` is not a valid integer or the title of a queued song!");
+                return;
+            }
         }
-        AudioHandler handler = (AudioHandler)event.getGuild().getAudioManager().getSendingHandler();
         if(index<1 || index>handler.getQueue().size())
         {
             event.reply(event.getClient().getError()+" Position must be a valid integer between 1 and "+handler.getQueue().size()+"!");
             return;
         }
-        handler.getQueue().skip(index-1);
-        event.reply(event.getClient().getSuccess()+" Skipped to **"+handler.getQueue().get(0).getTrack().getInfo().title+"**");
+        handler.getQueue().removeRange(0, index-1);
+        event.reply(event.getClient().getSuccess()+" Skipped to **"+handler.getQueue().get(0).getTitle()+"**");
         handler.getPlayer().stopTrack();
     }
 }
@@ -59,9 +59,14 @@ public class VolumeCmd extends DJCommand
                 event.reply(event.getClient().getError()+" Volume must be a valid integer between 0 and 150!");
             else
             {
-                handler.getPlayer().setVolume(nvolume);
                 settings.setVolume(nvolume);
-                event.reply(FormatUtil.volumeIcon(nvolume)+" Volume changed from `"+volume+"` to `"+nvolume+"`");
+                AudioHandler.VolumeChange change = handler.changeVolume(nvolume);
+                if(change==AudioHandler.VolumeChange.NEXT_TRACK)
+                    event.reply(FormatUtil.volumeIcon(nvolume)+" Volume will change from `"+volume+"` to `"+nvolume+"` when the next song starts");
+                else if(change==AudioHandler.VolumeChange.CAPPED)
+                    event.reply(event.getClient().getWarning()+" Volume set to `"+nvolume+"`, but too many servers are playing at an adjusted volume right now. Playing at `100` until then.");
+                else
+                    event.reply(FormatUtil.volumeIcon(nvolume)+" Volume changed from `"+volume+"` to `"+nvolume+"`");
             }
         }
     }
@@ -36,7 +36,10 @@ import net.dv8tion.jda.api.Permission;
 import net.dv8tion.jda.api.entities.Message;
 import net.dv8tion.jda.api.exceptions.PermissionException;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  *
@@ -72,7 +75,7 @@ public class PlayCmd extends MusicCommand
             {
                 if(DJCommand.checkDJPermission(event))
                 {
-                    handler.getPlayer().setPaused(false);
+                    handler.unpause();
                     event.replySuccess("Resumed **"+handler.getPlayer().getPlayingTrack().getInfo().title+"**.");
                 }
                 else
@@ -115,9 +118,15 @@ public class PlayCmd extends MusicCommand
                 return;
             }
             AudioHandler handler = (AudioHandler)event.getGuild().getAudioManager().getSendingHandler();
-            int pos = handler.addTrack(new QueuedTrack(track, RequestMetadata.fromResultHandler(track, event)))+1;
+            int added = handler.addTrack(new QueuedTrack(track, RequestMetadata.fromResultHandler(track, event)));
+            if(added==AudioHandler.DUPLICATE)
+            {
+                m.editMessage(FormatUtil.filter(event.getClient().getWarning()+" **"+track.getInfo().title+"** was not added: "+handler.getDuplicateRejection())).queue();
+                return;
+            }
+            int pos = added+1;
             String addMsg = FormatUtil.filter(event.getClient().getSuccess()+" Added **"+track.getInfo().title
-                    +"** (`"+ TimeUtil.formatTime(track.getDuration())+"`) "+(pos==0?"to begin playing":" to the queue at position "+pos));
+                    +"** (`"+ TimeUtil.formatTime(track.getDuration())+"`) "+(pos==0?"to begin playing":" to the queue at position "+pos+FormatUtil.formatEta(handler.getTimeUntil(pos-1))));
             if(playlist==null || !event.getSelfMember().hasPermission(event.getTextChannel(), Permission.MESSAGE_ADD_REACTION))
                 m.editMessage(addMsg).queue();
             else
@@ -142,16 +151,13 @@ public class PlayCmd extends MusicCommand
         
         private int loadPlaylist(AudioPlaylist playlist, AudioTrack exclude)
         {
-            int[] count = {0};
-            playlist.getTracks().stream().forEach((track) -> {
-                if(!bot.getConfig().isTooLong(track) && !track.equals(exclude))
-                {
-                    AudioHandler handler = (AudioHandler)event.getGuild().getAudioManager().getSendingHandler();
-                    handler.addTrack(new QueuedTrack(track, RequestMetadata.fromResultHandler(track, event)));
-                    count[0]++;
-                }
-            });
-            return count[0];
+            List<QueuedTrack> tracks = playlist.getTracks().stream()
+                    .filter(track -> !bot.getConfig().isTooLong(track) && !track.equals(exclude))
+                    .map(track -> new QueuedTrack(track, RequestMetadata.fromResultHandler(track, event)))
+                    .collect(Collectors.toList());
+            AudioHandler handler = (AudioHandler)event.getGuild().getAudioManager().getSendingHandler();
+            // tracks the duplicate policy turns away are left out of the count
+            return (int) Arrays.stream(handler.addTracks(tracks)).filter(pos -> pos != AudioHandler.DUPLICATE).count();
         }
         
         @Override
@@ -246,7 +252,9 @@ public class PlayCmd extends MusicCommand
             event.getChannel().sendMessage(loadingEmoji+" Loading playlist **"+event.getArgs()+"**... ("+playlist.getItems().size()+" items)").queue(m -> 
             {
                 AudioHandler handler = (AudioHandler)event.getGuild().getAudioManager().getSendingHandler();
-                playlist.loadTracks(bot.getPlayerManager(), (at)->handler.addTrack(new QueuedTrack(at, RequestMetadata.fromResultHandler(at, event))), () -> {
+                playlist.loadTracks(bot.getPlayerManager(), (tracks)->handler.addTracks(tracks.stream()
+                        .map(at -> new QueuedTrack(at, RequestMetadata.fromResultHandler(at, event)))
+                        .collect(Collectors.toList())), () -> {
                     StringBuilder builder = new StringBuilder(playlist.getTracks().isEmpty() 
                             ? event.getClient().getWarning()+" No tracks were loaded!" 
                             : event.getClient().getSuccess()+" Loaded **"+playlist.getTracks().size()+"** tracks!");
@@ -16,22 +16,21 @@
 package com.jagrosh.jmusicbot.commands.music;
 
 import com.jagrosh.jdautilities.command.CommandEvent;
-import com.jagrosh.jdautilities.menu.Paginator;
 import com.jagrosh.jmusicbot.Bot;
 import com.jagrosh.jmusicbot.audio.AudioHandler;
 import com.jagrosh.jmusicbot.audio.QueuedTrack;
 import com.jagrosh.jmusicbot.commands.MusicCommand;
+import com.jagrosh.jmusicbot.queue.AbstractQueue;
 import com.jagrosh.jmusicbot.settings.QueueType;
 import com.jagrosh.jmusicbot.settings.RepeatMode;
 import com.jagrosh.jmusicbot.settings.Settings;
 import com.jagrosh.jmusicbot.utils.FormatUtil;
+import com.jagrosh.jmusicbot.utils.LazyPaginator;
 import com.jagrosh.jmusicbot.utils.TimeUtil;
 import net.dv8tion.jda.api.Permission;
-import net.dv8tion.jda.api.exceptions.PermissionException;
 import net.dv8tion.jda.api.utils.messages.MessageCreateBuilder;
 import net.dv8tion.jda.api.utils.messages.MessageCreateData;
 
-import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -40,7 +39,7 @@ import java.util.concurrent.TimeUnit;
  */
 public class QueueCmd extends MusicCommand 
 {
-    private final Paginator.Builder builder;
+    private final LazyPaginator paginator;
     
     public QueueCmd(Bot bot)
     {
@@ -51,21 +50,7 @@ public class QueueCmd extends MusicCommand
         this.aliases = bot.getConfig().getAliases(this.name);
         this.bePlaying = true;
         this.botPermissions = new Permission[]{Permission.MESSAGE_ADD_REACTION,Permission.MESSAGE_EMBED_LINKS};
-        builder = new Paginator.Builder()
-            .setColumns(1)
-            .setFinalAction(m -> {
-                try {
-                    m.clearReactions().queue();
-                } catch(PermissionException ignore){
-                    // do nothing
-                }})
-            .setItemsPerPage(10)
-            .waitOnSinglePage(false)
-            .useNumberedItems(true)
-            .showPageNumbers(true)
-            .wrapPageEnds(true)
-            .setEventWaiter(bot.getWaiter())
-            .setTimeout(1, TimeUnit.MINUTES);
+        paginator = new LazyPaginator(bot.getWaiter(), 10, 1, TimeUnit.MINUTES);
     }
 
     @Override
@@ -78,8 +63,8 @@ public class QueueCmd extends MusicCommand
         }
         catch(NumberFormatException ignore){}
         AudioHandler ah = (AudioHandler)event.getGuild().getAudioManager().getSendingHandler();
-        List<QueuedTrack> list = ah.getQueue().getList();
-        if(list.isEmpty())
+        AbstractQueue<QueuedTrack> queue = ah.getQueue();
+        if(queue.isEmpty())
         {
             MessageCreateData nowp = ah.getNowPlaying(event.getJDA());
             MessageCreateData nonowp = ah.getNoMusicPlaying(event.getJDA());
@@ -93,21 +78,14 @@ public class QueueCmd extends MusicCommand
             });
             return;
         }
-        String[] songs = new String[list.size()];
-        long total = 0;
-        for(int i=0; i<list.size(); i++)
-        {
-            total += list.get(i).getTrack().getDuration();
-            songs[i] = list.get(i).toString();
-        }
+        int count = queue.size();
+        long total = queue.getDuration();
         Settings settings = event.getClient().getSettingsFor(event.getGuild());
-        long fintotal = total;
-        builder.setText((i1,i2) -> getQueueTitle(ah, event.getClient().getSuccess(), songs.length, fintotal, settings.getRepeatMode(), settings.getQueueType()))
-                .setItems(songs)
-                .setUsers(event.getAuthor())
-                .setColor(event.getSelfMember().getColors().getPrimary())
-                ;
-        builder.build().paginate(event.getChannel(), pagenum);
+        // entries are only copied and formatted for the page being shown, from the queue as it
+        // is then (a change of queue type replaces it)
+        paginator.paginate(event.getChannel(), event.getAuthor(), count, (from, to) -> ah.getQueue().page(from, to), QueuedTrack::toString,
+                (i1,i2) -> getQueueTitle(ah, event.getClient().getSuccess(), count, total, settings.getRepeatMode(), settings.getQueueType()),
+                event.getSelfMember().getColors().getPrimary(), pagenum);
     }
     
     private String getQueueTitle(AudioHandler ah, String success, int songslength, long total, RepeatMode repeatmode, QueueType queueType)
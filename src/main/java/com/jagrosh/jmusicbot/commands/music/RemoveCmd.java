@@ -35,7 +35,7 @@ public class RemoveCmd extends MusicCommand
         super(bot);
         this.name = "remove";
         this.help = "removes a song from the queue";
-        this.arguments = "<position|ALL>";
+        this.arguments = "<position|title|ALL>";
         this.aliases = bot.getConfig().getAliases(this.name);
         this.beListening = true;
         this.bePlaying = true;
@@ -63,7 +63,12 @@ public class RemoveCmd extends MusicCommand
         try {
             pos = Integer.parseInt(event.getArgs());
         } catch(NumberFormatException e) {
-            pos = 0;
+            pos = handler.findInQueue(event.getArgs(), event.getAuthor().getIdLong())+1;
+            if(pos==0)
+            {
+                event.replyError("No song in the queue matches `"+event.getArgs()+"`!");
+                return;
+            }
         }
         if(pos<1 || pos>handler.getQueue().size())
         {
@@ -78,7 +83,7 @@ public class RemoveCmd extends MusicCommand
         if(qt.getIdentifier()==event.getAuthor().getIdLong())
         {
             handler.getQueue().remove(pos-1);
-            event.replySuccess("Removed **"+qt.getTrack().getInfo().title+"** from the queue");
+            event.replySuccess("Removed **"+qt.getTitle()+"** from the queue");
         }
         else if(isDJ)
         {
@@ -89,12 +94,12 @@ public class RemoveCmd extends MusicCommand
             } catch(Exception e) {
                 u = null;
             }
-            event.replySuccess("Removed **"+qt.getTrack().getInfo().title
+            event.replySuccess("Removed **"+qt.getTitle()
                     +"** from the queue (requested by "+(u==null ? "someone" : "**"+u.getName()+"**")+")");
         }
         else
         {
-            event.replyError("You cannot remove **"+qt.getTrack().getInfo().title+"** because you didn't add it!");
+            event.replyError("You cannot remove **"+qt.getTitle()+"** because you didn't add it!");
         }
     }
 }
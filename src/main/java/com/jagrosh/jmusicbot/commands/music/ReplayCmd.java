@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 Arif Banai (arif-banai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jagrosh.jmusicbot.commands.music;
+
+import com.jagrosh.jdautilities.command.CommandEvent;
+import com.jagrosh.jmusicbot.Bot;
+import com.jagrosh.jmusicbot.audio.AudioHandler;
+import com.jagrosh.jmusicbot.audio.EncodedQueuedTrack;
+import com.jagrosh.jmusicbot.audio.RequestMetadata;
+import com.jagrosh.jmusicbot.commands.MusicCommand;
+import com.jagrosh.jmusicbot.utils.FormatUtil;
+import com.jagrosh.jmusicbot.utils.TimeUtil;
+
+/**
+ * Queues a recently played track again, straight from the guild's play history, without
+ * searching for it.
+ */
+public class ReplayCmd extends MusicCommand
+{
+    public ReplayCmd(Bot bot)
+    {
+        super(bot);
+        this.name = "replay";
+        this.help = "queues a recently played song again (1 is the last one played)";
+        this.arguments = "[number]";
+        this.aliases = bot.getConfig().getAliases(this.name);
+        this.beListening = true;
+        this.bePlaying = false;
+    }
+
+    @Override
+    public void doCommand(CommandEvent event)
+    {
+        AudioHandler handler = (AudioHandler)event.getGuild().getAudioManager().getSendingHandler();
+        int played = handler.getHistory().size();
+        if(played==0)
+        {
+            event.replyError("No songs have been played recently!");
+            return;
+        }
+        int back;
+        try {
+            back = event.getArgs().isEmpty() ? 1 : Integer.parseInt(event.getArgs());
+        } catch(NumberFormatException e) {
+            back = 0;
+        }
+        EncodedQueuedTrack track = handler.getHistory().get(back-1);
+        if(track==null)
+        {
+            event.replyError("Number must be a valid integer between 1 and "+played+"!");
+            return;
+        }
+        EncodedQueuedTrack replay = track.withRequester(new RequestMetadata(event.getAuthor(),
+                new RequestMetadata.RequestInfo(event.getArgs(), track.getUri())));
+        int added = handler.addTrack(replay);
+        if(added==AudioHandler.DUPLICATE)
+        {
+            event.replyWarning(FormatUtil.filter("**"+track.getTitle()+"** was not added: "+handler.getDuplicateRejection()));
+            return;
+        }
+        int pos = added+1;
+        event.replySuccess(FormatUtil.filter("Added **"+track.getTitle()+"** (`"+TimeUtil.formatTime(track.getDuration())+"`) "
+                +(pos==0 ? "to begin playing" : "to the queue at position "+pos+FormatUtil.formatEta(handler.getTimeUntil(pos-1)))));
+    }
+}
@@ -95,10 +95,16 @@ public class SearchCmd extends MusicCommand
                 return;
             }
             AudioHandler handler = (AudioHandler)event.getGuild().getAudioManager().getSendingHandler();
-            int pos = handler.addTrack(new QueuedTrack(track, RequestMetadata.fromResultHandler(track, event)))+1;
+            int added = handler.addTrack(new QueuedTrack(track, RequestMetadata.fromResultHandler(track, event)));
+            if(added==AudioHandler.DUPLICATE)
+            {
+                m.editMessage(FormatUtil.filter(event.getClient().getWarning()+" **"+track.getInfo().title+"** was not added: "+handler.getDuplicateRejection())).queue();
+                return;
+            }
+            int pos = added+1;
             m.editMessage(FormatUtil.filter(event.getClient().getSuccess()+" Added **"+track.getInfo().title
                     +"** (`"+ TimeUtil.formatTime(track.getDuration())+"`) "+(pos==0 ? "to begin playing"
-                        : " to the queue at position "+pos))).queue();
+                        : " to the queue at position "+pos+FormatUtil.formatEta(handler.getTimeUntil(pos-1))))).queue();
         }
 
         @Override
@@ -117,10 +123,16 @@ public class SearchCmd extends MusicCommand
                             return;
                         }
                         AudioHandler handler = (AudioHandler)event.getGuild().getAudioManager().getSendingHandler();
-                        int pos = handler.addTrack(new QueuedTrack(track, RequestMetadata.fromResultHandler(track, event)))+1;
+                        int added = handler.addTrack(new QueuedTrack(track, RequestMetadata.fromResultHandler(track, event)));
+                        if(added==AudioHandler.DUPLICATE)
+                        {
+                            event.replyWarning("**" + FormatUtil.filter(track.getInfo().title) + "** was not added: " + handler.getDuplicateRejection());
+                            return;
+                        }
+                        int pos = added+1;
                         event.replySuccess("Added **" + FormatUtil.filter(track.getInfo().title)
                                 + "** (`" + TimeUtil.formatTime(track.getDuration()) + "`) " + (pos==0 ? "to begin playing" 
-                                    : " to the queue at position "+pos));
+                                    : " to the queue at position "+pos+FormatUtil.formatEta(handler.getTimeUntil(pos-1))));
                     })
                     .setCancel((msg) -> {})
                     .setUsers(event.getAuthor())
@@ -63,6 +63,7 @@ public class SkipCmd extends MusicCommand
             {
                 msg = event.getClient().getSuccess()+" You voted to skip the song `[";
                 handler.getVotes().add(event.getAuthor().getId());
+                handler.prefetchNext();
             }
             int skippers = (int)event.getSelfMember().getVoiceState().getChannel().getMembers().stream()
                     .filter(m -> handler.getVotes().contains(m.getUser().getId())).count();
@@ -19,7 +19,10 @@ import java.nio.file.Files;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -29,6 +32,15 @@ import com.jagrosh.jmusicbot.Bot;
 import com.jagrosh.jmusicbot.BotConfig;
 import com.jagrosh.jmusicbot.audio.AudioHandler;
 import com.jagrosh.jmusicbot.audio.AudioSource;
+import com.jagrosh.jmusicbot.audio.BitrateTier;
+import com.jagrosh.jmusicbot.audio.Broadcast;
+import com.jagrosh.jmusicbot.audio.ConnectionLinger;
+import com.jagrosh.jmusicbot.audio.EngineSettings;
+import com.jagrosh.jmusicbot.audio.FrameCache;
+import com.jagrosh.jmusicbot.audio.QualityGovernor;
+import com.jagrosh.jmusicbot.audio.RecoveryStats;
+import com.jagrosh.jmusicbot.audio.TranscodingMonitor;
+import com.jagrosh.jmusicbot.audio.UnderrunMonitor;
 import com.jagrosh.jmusicbot.commands.OwnerCommand;
 import com.jagrosh.jmusicbot.playlist.PlaylistLoader;
 import com.jagrosh.jmusicbot.utils.OtherUtil;
@@ -36,6 +48,7 @@ import com.sedmelluq.discord.lavaplayer.tools.PlayerLibrary;
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.JDAInfo;
 import net.dv8tion.jda.api.Permission;
+import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.channel.ChannelType;
 import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
 import net.dv8tion.jda.api.utils.FileUpload;
@@ -54,6 +67,7 @@ public class DebugCmd extends OwnerCommand
     
     private static final String SECTION_SEPARATOR = "=";
     private static final int SECTION_WIDTH = 40;
+    private static final int TOP_GUILDS = 10;
     
     private final Bot bot;
     
@@ -76,6 +90,11 @@ public class DebugCmd extends OwnerCommand
         appendJMusicBotSection(sb);
         appendConfigurationSection(sb);
         appendAudioSourcesSection(sb);
+        appendEngineSection(sb);
+        appendRecoverySection(sb);
+        appendTranscodingSection(sb, event.getJDA());
+        appendGovernorSection(sb);
+        appendUnderrunsSection(sb, event.getJDA());
         appendPlaylistsSection(sb);
         appendDependenciesSection(sb);
         appendRuntimeSection(sb, event.getJDA());
@@ -166,6 +185,122 @@ public class DebugCmd extends OwnerCommand
         sb.append("  YouTube OAuth: ").append(formatYouTubeOAuthStatus(config)).append("\n");
     }
     
+    private void appendEngineSection(StringBuilder sb)
+    {
+        EngineSettings engine = bot.getPlayerManager().getEngineSettings();
+        appendSectionHeader(sb, "ENGINE");
+        
+        sb.append("  Profile: ").append(engine.getProfile().getConfigName()).append("\n");
+        sb.append("  Frame Buffer: ").append(engine.getFrameBufferMillis()).append(" ms\n");
+        sb.append("  Resampling Quality: ").append(engine.getResamplingQuality()).append("\n");
+        sb.append("  Opus Encoding Quality: ").append(engine.getOpusEncodingQuality()).append("\n");
+        sb.append("  Item Loader Threads: ").append(engine.getItemLoaderThreads()).append("\n");
+        sb.append("  Track Stuck Threshold: ").append(engine.getTrackStuckThresholdMillis()).append(" ms\n");
+        sb.append("  Player Cleanup Threshold: ").append(engine.getPlayerCleanupThresholdMillis()).append(" ms\n");
+        sb.append("  Allocation-Free Frames: ").append(bot.getConfig().useAllocationFreeFrames()).append("\n");
+        FrameCache cache = bot.getPlayerManager().getFrameCache();
+        if (cache == null)
+            sb.append("  Frame Cache: disabled\n");
+        else
+            sb.append("  Frame Cache: ").append(formatNumber(cache.getCount())).append(" tracks, ")
+                    .append(cache.getSize() / (1024 * 1024)).append(" of ")
+                    .append(cache.getMaxBytes() / (1024 * 1024)).append(" MB\n");
+    }
+    
+    private void appendRecoverySection(StringBuilder sb)
+    {
+        RecoveryStats stats = bot.getPlayerManager().getRecoveryStats();
+        appendSectionHeader(sb, "RECOVERY");
+        
+        sb.append("  Attempts per Track: ").append(bot.getConfig().getRecoveryAttempts()).append("\n");
+        sb.append("  Fallback Search: ").append(bot.getConfig().useRecoveryFallbackSearch()).append("\n");
+        sb.append("  Attempts: ").append(stats.getAttempts()).append("\n");
+        sb.append("  Recovered: ").append(stats.getRecovered()).append("\n");
+        sb.append("  Failed: ").append(stats.getFailed()).append("\n");
+        sb.append("  Average Latency: ").append(stats.getAverageLatencyMillis()).append(" ms\n");
+        sb.append("  Max Latency: ").append(stats.getMaxLatencyMillis()).append(" ms\n");
+    }
+    
+    private void appendTranscodingSection(StringBuilder sb, JDA jda)
+    {
+        TranscodingMonitor monitor = bot.getPlayerManager().getTranscodingMonitor();
+        appendSectionHeader(sb, "TRANSCODING");
+        
+        sb.append("  Volume Policy: ").append(bot.getConfig().getVolumePolicy().getConfigName()).append("\n");
+        sb.append("  Transcoding Guilds: ").append(monitor.getTranscodingCount())
+                .append(monitor.getMaxGuilds() > 0 ? " of " + monitor.getMaxGuilds() : "").append("\n");
+        sb.append("  Playback CPU Time: ").append(formatNumber(monitor.getTotalCpuMillis())).append(" ms\n");
+        List<TranscodingMonitor.GuildStats> guilds = monitor.getGuilds();
+        guilds.sort(Comparator.comparingLong(TranscodingMonitor.GuildStats::getCpuMillis).reversed());
+        for (TranscodingMonitor.GuildStats stats : guilds.subList(0, Math.min(TOP_GUILDS, guilds.size())))
+        {
+            Guild guild = jda.getGuildById(stats.getGuildId());
+            sb.append("  ").append(guild == null ? Long.toString(stats.getGuildId()) : guild.getName()).append(": ")
+                    .append(formatNumber(stats.getPassthroughFrames())).append(" passthrough, ")
+                    .append(formatNumber(stats.getTranscodedFrames())).append(" transcoded, ")
+                    .append(formatNumber(stats.getUnderruns())).append(" missed, ~")
+                    .append(formatNumber(stats.getCpuMillis())).append(" ms CPU\n");
+        }
+    }
+    
+    private void appendGovernorSection(StringBuilder sb)
+    {
+        QualityGovernor governor = bot.getPlayerManager().getQualityGovernor();
+        appendSectionHeader(sb, "GOVERNOR");
+        
+        if (governor == null)
+        {
+            sb.append("  Enabled: false\n");
+            return;
+        }
+        double load = governor.getLastLoad();
+        sb.append("  Level: ").append(governor.getLevel()).append(" of ").append(governor.getLevels().size() - 1)
+                .append(" (").append(governor.getLevels().get(governor.getLevel())).append(")\n");
+        sb.append("  Last Sample: ").append(load < 0 ? "unknown" : Math.round(load * 100) + "%").append(" CPU, ")
+                .append(formatNumber(governor.getLastUnderruns())).append(" missed frames\n");
+        for (QualityGovernor.Step step : governor.getSteps())
+            sb.append("  ").append(Instant.ofEpochMilli(step.getTime())).append(": ").append(step).append("\n");
+    }
+    
+    private void appendUnderrunsSection(StringBuilder sb, JDA jda)
+    {
+        UnderrunMonitor monitor = bot.getPlayerManager().getUnderrunMonitor();
+        appendSectionHeader(sb, "UNDERRUNS");
+        
+        List<UnderrunMonitor.Underrun> recent = monitor.getRecent();
+        long frames = 0;
+        int duringGc = 0;
+        Map<Long, Integer> perGuild = new HashMap<>();
+        for (UnderrunMonitor.Underrun underrun : recent)
+        {
+            frames += underrun.getFrames();
+            if (underrun.isDuringGc())
+                duringGc++;
+            perGuild.merge(underrun.getGuildId(), 1, Integer::sum);
+        }
+        sb.append("  Last ").append(UnderrunMonitor.WINDOW_MINUTES).append(" Minutes: ")
+                .append(formatNumber(recent.size())).append(" underruns (")
+                .append(formatNumber(frames)).append(" frames), ")
+                .append(duringGc).append(" overlapped GC\n");
+        sb.append("  GC Pauses: ").append(monitor.getRecentGcPauses()).append(", ")
+                .append(formatNumber(monitor.getRecentGcPauseMillis())).append(" ms\n");
+        long[] histogram = monitor.getHistogram();
+        sb.append("  Lengths:");
+        for (int i = 0; i < histogram.length; i++)
+            sb.append(i < UnderrunMonitor.HISTOGRAM_BOUNDS.length ? " <=" + UnderrunMonitor.HISTOGRAM_BOUNDS[i] : " >"
+                    + UnderrunMonitor.HISTOGRAM_BOUNDS[i - 1]).append(" ms ").append(formatNumber(histogram[i]));
+        sb.append("\n");
+        perGuild.entrySet().stream()
+                .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed())
+                .limit(TOP_GUILDS)
+                .forEach(entry ->
+                {
+                    Guild guild = jda.getGuildById(entry.getKey());
+                    sb.append("  ").append(guild == null ? Long.toString(entry.getKey()) : guild.getName())
+                            .append(": ").append(entry.getValue()).append(" underruns\n");
+                });
+    }
+    
     private void appendPlaylistsSection(StringBuilder sb)
     {
         PlaylistLoader loader = bot.getPlaylistLoader();
@@ -218,6 +353,18 @@ public class DebugCmd extends OwnerCommand
                 .filter(guild -> guild.getAudioManager().isConnected())
                 .count();
         sb.append("  Voice Connections: ").append(voiceConnections).append("\n");
+        
+        ConnectionLinger linger = bot.getPlayerManager().getConnectionLinger();
+        sb.append("  Linger Window: ").append(linger.getLingerMillis() / 1000).append(" s, ")
+                .append(linger.getLingeringCount()).append(" lingering\n");
+        sb.append("  Voice Joins: ").append(formatNumber(linger.getConnects())).append(", ")
+                .append(formatNumber(linger.getReuses())).append(" avoided, ")
+                .append(formatNumber(linger.getClosed())).append(" closed after lingering\n");
+        sb.append("  Time to First Audio: ").append(linger.getAverageColdMillis()).append(" ms joining (")
+                .append(formatNumber(linger.getColdStarts())).append("), ")
+                .append(linger.getAverageWarmMillis()).append(" ms connected (")
+                .append(formatNumber(linger.getWarmStarts())).append("), ~")
+                .append(linger.getSavedMillis() / 1000).append(" s saved\n");
     }
     
     private void appendPlaybackSection(StringBuilder sb, JDA jda)
@@ -225,7 +372,10 @@ public class DebugCmd extends OwnerCommand
         appendSectionHeader(sb, "PLAYBACK");
         
         int guildsPlaying = 0;
+        int guildsParked = 0;
+        int idleConnections = 0;
         int totalQueued = 0;
+        int[] tiers = new int[BitrateTier.values().length];
         
         for (var guild : jda.getGuilds())
         {
@@ -234,12 +384,30 @@ public class DebugCmd extends OwnerCommand
             {
                 if (handler.getPlayer().getPlayingTrack() != null)
                     guildsPlaying++;
+                if (handler.isParked())
+                    guildsParked++;
                 totalQueued += handler.getQueue().size();
+                if (guild.getAudioManager().isConnected())
+                {
+                    tiers[handler.getBitrateTier().ordinal()]++;
+                    if (handler.isIdle())
+                        idleConnections++;
+                }
             }
         }
         
+        sb.append("  Audio Handlers: ").append(formatNumber(bot.getPlayerManager().getHandlerCount())).append("\n");
         sb.append("  Guilds Playing: ").append(guildsPlaying).append("\n");
+        sb.append("  Paused Tracks Released: ").append(guildsParked).append("\n");
+        sb.append("  Idle Connections: ").append(idleConnections).append("\n");
         sb.append("  Total Queued Tracks: ").append(formatNumber(totalQueued)).append("\n");
+        sb.append("  Bitrate Tiers:");
+        for (BitrateTier tier : BitrateTier.values())
+            sb.append(" ").append(tier).append(" ").append(tiers[tier.ordinal()]);
+        sb.append("\n");
+        for (Broadcast broadcast : bot.getPlayerManager().getBroadcastManager().getBroadcasts())
+            sb.append("  Broadcast ").append(broadcast.getName()).append(": ")
+                    .append(broadcast.getReceiverCount()).append(" guilds\n");
     }
     
     // ========== Formatting Helpers ==========
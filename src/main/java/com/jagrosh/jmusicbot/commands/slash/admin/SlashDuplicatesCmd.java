@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 Arif Banai (arif-banai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jagrosh.jmusicbot.commands.slash.admin;
+
+import com.jagrosh.jdautilities.command.SlashCommandEvent;
+import com.jagrosh.jmusicbot.Bot;
+import com.jagrosh.jmusicbot.commands.slash.SlashAdminCommand;
+import com.jagrosh.jmusicbot.settings.DuplicatePolicy;
+import com.jagrosh.jmusicbot.settings.Settings;
+import net.dv8tion.jda.api.interactions.commands.OptionType;
+import net.dv8tion.jda.api.interactions.commands.build.OptionData;
+
+import java.util.Arrays;
+
+/**
+ * Slash command version of DuplicatesCmd.
+ */
+public class SlashDuplicatesCmd extends SlashAdminCommand
+{
+    public SlashDuplicatesCmd(Bot bot)
+    {
+        this.name = "duplicates";
+        this.help = "sets how duplicate track requests are handled";
+        this.aliases = bot.getConfig().getAliases(this.name);
+
+        OptionData policy = new OptionData(OptionType.STRING, "policy",
+                "How to handle duplicates (omit to show the current policy)", false);
+        for (String name : DuplicatePolicy.getNames())
+            policy.addChoice(name, name.toUpperCase());
+        this.options = Arrays.asList(policy,
+                new OptionData(OptionType.INTEGER, "number",
+                        "Copies allowed, or other requests needed in between (copies and spacing only)", false)
+                        .setMinValue(1));
+    }
+
+    @Override
+    public void doCommand(SlashCommandEvent event)
+    {
+        Settings settings = event.getClient().getSettingsFor(event.getGuild());
+
+        if (!event.hasOption("policy"))
+        {
+            event.reply("Duplicate requests: `"
+                    + settings.getDuplicatePolicy().describe(settings.getDuplicateLimit()) + "`.").queue();
+            return;
+        }
+
+        DuplicatePolicy policy;
+        try
+        {
+            policy = DuplicatePolicy.valueOf(event.optString("policy", "").toUpperCase());
+        }
+        catch (IllegalArgumentException e)
+        {
+            event.reply(event.getClient().getError() + " Invalid policy. Valid policies are: ["
+                    + String.join("|", DuplicatePolicy.getNames()) + "]").setEphemeral(true).queue();
+            return;
+        }
+
+        int limit = 0;
+        if (policy == DuplicatePolicy.COPIES || policy == DuplicatePolicy.SPACING)
+        {
+            limit = (int) event.optLong("number", 0);
+            if (limit < 1)
+            {
+                event.reply(event.getClient().getError()
+                        + " Please include a number of at least 1.").setEphemeral(true).queue();
+                return;
+            }
+        }
+
+        settings.setDuplicatePolicy(policy, limit);
+        event.reply(event.getClient().getSuccess() + " Duplicate requests were set to `"
+                + policy.describe(limit) + "`.").queue();
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 Arif Banai (arif-banai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jagrosh.jmusicbot.commands.slash.dj;
+
+import com.jagrosh.jdautilities.command.SlashCommandEvent;
+import com.jagrosh.jmusicbot.Bot;
+import com.jagrosh.jmusicbot.audio.AudioHandler;
+import com.jagrosh.jmusicbot.audio.Broadcast;
+import com.jagrosh.jmusicbot.commands.slash.SlashDJCommand;
+import net.dv8tion.jda.api.interactions.commands.OptionType;
+import net.dv8tion.jda.api.interactions.commands.build.OptionData;
+
+import java.util.Collections;
+
+/**
+ * Slash command version of BroadcastCmd.
+ */
+public class SlashBroadcastCmd extends SlashDJCommand
+{
+    public SlashBroadcastCmd(Bot bot)
+    {
+        super(bot);
+        this.name = "broadcast";
+        this.help = "tunes in to the shared broadcast of a playlist";
+        this.aliases = bot.getConfig().getAliases(this.name);
+        this.bePlaying = false;
+        this.beListening = true;
+        this.options = Collections.singletonList(
+                new OptionData(OptionType.STRING, "playlist", "The playlist to tune in to, or OFF to tune out", false)
+        );
+    }
+
+    @Override
+    public void doCommand(SlashCommandEvent event)
+    {
+        AudioHandler handler = (AudioHandler) event.getGuild().getAudioManager().getSendingHandler();
+        String playlist = event.optString("playlist", "").trim();
+        if (playlist.isEmpty())
+        {
+            Broadcast current = handler.getBroadcast();
+            if (current == null)
+                event.reply(event.getClient().getWarning() + " Not tuned in to a broadcast. Use `/" + name
+                        + " <playlist>` to tune in.").setEphemeral(true).queue();
+            else
+                event.reply(event.getClient().getSuccess() + " Tuned in to the broadcast of **" + current.getName()
+                        + "**, with " + current.getReceiverCount() + " servers listening").queue();
+            return;
+        }
+        if (playlist.equalsIgnoreCase("off"))
+        {
+            if (handler.getBroadcast() == null)
+            {
+                event.reply(event.getClient().getError() + " Not tuned in to a broadcast!").setEphemeral(true).queue();
+                return;
+            }
+            handler.setBroadcast(null);
+            event.reply(event.getClient().getSuccess() + " Tuned out of the broadcast").queue();
+            return;
+        }
+        Broadcast.Receiver receiver = bot.getPlayerManager().getBroadcastManager().join(playlist.replaceAll("\\s+", "_"));
+        if (receiver == null)
+        {
+            event.reply(event.getClient().getError() + " I could not find `" + playlist
+                    + ".txt` in the Playlists folder.").setEphemeral(true).queue();
+            return;
+        }
+        handler.setBroadcast(receiver);
+        event.reply(event.getClient().getSuccess() + " Tuned in to the broadcast of **" + receiver.getBroadcast().getName() + "**"
+                + (handler.getPlayer().getPlayingTrack() == null ? "" : ", which plays once the queue is done")).queue();
+    }
+}
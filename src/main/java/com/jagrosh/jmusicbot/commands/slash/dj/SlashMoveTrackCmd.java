@@ -25,10 +25,12 @@ public class SlashMoveTrackCmd extends SlashDJCommand
         this.bePlaying = true;
         this.beListening = false;
         this.options = Arrays.asList(
-                new OptionData(OptionType.INTEGER, "from",
-                        "Current position of the track in the queue", true).setMinValue(1),
                 new OptionData(OptionType.INTEGER, "to",
-                        "New position for the track in the queue", true).setMinValue(1)
+                        "New position for the track in the queue", true).setMinValue(1),
+                new OptionData(OptionType.INTEGER, "from",
+                        "Current position of the track in the queue", false).setMinValue(1),
+                new OptionData(OptionType.STRING, "title",
+                        "Part of the title or author of the track to move", false)
         );
     }
 
@@ -37,6 +39,20 @@ public class SlashMoveTrackCmd extends SlashDJCommand
     {
         int from = (int) event.optLong("from", 0);
         int to = (int) event.optLong("to", 0);
+        String title = event.optString("title", "");
+
+        AudioHandler handler = (AudioHandler) event.getGuild().getAudioManager().getSendingHandler();
+        AbstractQueue<QueuedTrack> queue = handler.getQueue();
+
+        if (from == 0 && !title.isEmpty())
+        {
+            from = handler.findInQueue(title, 0) + 1;
+            if (from == 0)
+            {
+                event.reply("No track in the queue matches `" + title + "`.").setEphemeral(true).queue();
+                return;
+            }
+        }
 
         if (from == to)
         {
@@ -44,9 +60,6 @@ public class SlashMoveTrackCmd extends SlashDJCommand
             return;
         }
 
-        AudioHandler handler = (AudioHandler) event.getGuild().getAudioManager().getSendingHandler();
-        AbstractQueue<QueuedTrack> queue = handler.getQueue();
-
         if (from < 1 || from > queue.size())
         {
             event.reply("`" + from + "` is not a valid position in the queue!")
@@ -61,7 +74,7 @@ public class SlashMoveTrackCmd extends SlashDJCommand
         }
 
         QueuedTrack track = queue.moveItem(from - 1, to - 1);
-        event.reply(event.getClient().getSuccess() + " Moved **" + track.getTrack().getInfo().title
+        event.reply(event.getClient().getSuccess() + " Moved **" + track.getTitle()
                 + "** from position `" + from + "` to `" + to + "`.").queue();
     }
 }
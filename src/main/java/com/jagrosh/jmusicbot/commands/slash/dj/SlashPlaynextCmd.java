@@ -80,7 +80,7 @@ public class SlashPlaynextCmd extends SlashDJCommand
             hook.editOriginal(FormatUtil.filter(event.getClient().getSuccess()
                     + " Added **" + track.getInfo().title
                     + "** (`" + TimeUtil.formatTime(track.getDuration()) + "`) "
-                    + (pos == 0 ? "to begin playing" : "to the queue at position " + pos))).queue();
+                    + (pos == 0 ? "to begin playing" : "to the queue at position " + pos + FormatUtil.formatEta(handler.getTimeUntil(pos - 1))))).queue();
         }
 
         @Override
@@ -7,7 +7,7 @@ import com.jagrosh.jmusicbot.commands.slash.SlashDJCommand;
 import net.dv8tion.jda.api.interactions.commands.OptionType;
 import net.dv8tion.jda.api.interactions.commands.build.OptionData;
 
-import java.util.Collections;
+import java.util.Arrays;
 
 /**
  * Slash command version of SkiptoCmd.
@@ -22,9 +22,11 @@ public class SlashSkiptoCmd extends SlashDJCommand
         this.aliases = bot.getConfig().getAliases(this.name);
         this.bePlaying = true;
         this.beListening = false;
-        this.options = Collections.singletonList(
+        this.options = Arrays.asList(
                 new OptionData(OptionType.INTEGER, "position",
-                        "Queue position to skip to", true).setMinValue(1)
+                        "Queue position to skip to", false).setMinValue(1),
+                new OptionData(OptionType.STRING, "title",
+                        "Part of the title or author of the song to skip to", false)
         );
     }
 
@@ -33,6 +35,18 @@ public class SlashSkiptoCmd extends SlashDJCommand
     {
         int index = (int) event.optLong("position", 0);
         AudioHandler handler = (AudioHandler) event.getGuild().getAudioManager().getSendingHandler();
+        String title = event.optString("title", "");
+
+        if (index == 0 && !title.isEmpty())
+        {
+            index = handler.findInQueue(title, 0) + 1;
+            if (index == 0)
+            {
+                event.reply(event.getClient().getError() + " No song in the queue matches `" + title + "`!")
+                        .setEphemeral(true).queue();
+                return;
+            }
+        }
 
         if (index < 1 || index > handler.getQueue().size())
         {
@@ -42,9 +56,9 @@ public class SlashSkiptoCmd extends SlashDJCommand
             return;
         }
 
-        handler.getQueue().skip(index - 1);
+        handler.getQueue().removeRange(0, index - 1);
         event.reply(event.getClient().getSuccess() + " Skipped to **"
-                + handler.getQueue().get(0).getTrack().getInfo().title + "**").queue();
+                + handler.getQueue().get(0).getTitle() + "**").queue();
         handler.getPlayer().stopTrack();
     }
 }
@@ -52,8 +52,15 @@ public class SlashVolumeCmd extends SlashDJCommand
             return;
         }
 
-        handler.getPlayer().setVolume(nvolume);
         settings.setVolume(nvolume);
-        event.reply(FormatUtil.volumeIcon(nvolume) + " Volume changed from `" + volume + "` to `" + nvolume + "`").queue();
+        AudioHandler.VolumeChange change = handler.changeVolume(nvolume);
+        if (change == AudioHandler.VolumeChange.NEXT_TRACK)
+            event.reply(FormatUtil.volumeIcon(nvolume) + " Volume will change from `" + volume + "` to `" + nvolume
+                    + "` when the next song starts").queue();
+        else if (change == AudioHandler.VolumeChange.CAPPED)
+            event.reply(event.getClient().getWarning() + " Volume set to `" + nvolume + "`, but too many servers are"
+                    + " playing at an adjusted volume right now. Playing at `100` until then.").queue();
+        else
+            event.reply(FormatUtil.volumeIcon(nvolume) + " Volume changed from `" + volume + "` to `" + nvolume + "`").queue();
     }
 }
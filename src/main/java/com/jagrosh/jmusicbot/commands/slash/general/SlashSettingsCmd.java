@@ -3,6 +3,7 @@ package com.jagrosh.jmusicbot.commands.slash.general;
 import com.jagrosh.jdautilities.command.SlashCommand;
 import com.jagrosh.jdautilities.command.SlashCommandEvent;
 import com.jagrosh.jmusicbot.Bot;
+import com.jagrosh.jmusicbot.settings.DuplicatePolicy;
 import com.jagrosh.jmusicbot.settings.QueueType;
 import com.jagrosh.jmusicbot.settings.RepeatMode;
 import com.jagrosh.jmusicbot.settings.Settings;
@@ -49,6 +50,9 @@ public class SlashSettingsCmd extends SlashCommand
                         + "\nQueue Type: " + (s.getQueueType() == QueueType.FAIR
                                 ? s.getQueueType().getUserFriendlyName()
                                 : "**" + s.getQueueType().getUserFriendlyName() + "**")
+                        + "\nDuplicates: " + (s.getDuplicatePolicy() == DuplicatePolicy.ALLOW
+                                ? s.getDuplicatePolicy().describe(s.getDuplicateLimit())
+                                : "**" + s.getDuplicatePolicy().describe(s.getDuplicateLimit()) + "**")
                         + "\nDefault Playlist: " + (s.getDefaultPlaylist() == null ? "None"
                                 : "**" + s.getDefaultPlaylist() + "**"))
                 .setFooter(event.getJDA().getGuilds().size() + " servers | "
@@ -17,7 +17,10 @@ import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
 import net.dv8tion.jda.api.interactions.commands.OptionType;
 import net.dv8tion.jda.api.interactions.commands.build.OptionData;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Slash command version of PlayCmd.
@@ -55,7 +58,7 @@ public class SlashPlayCmd extends SlashMusicCommand
             {
                 if (SlashDJCommand.checkDJPermission(event))
                 {
-                    handler.getPlayer().setPaused(false);
+                    handler.unpause();
                     event.reply(event.getClient().getSuccess() + " Resumed **"
                             + handler.getPlayer().getPlayingTrack().getInfo().title + "**.").queue();
                 }
@@ -106,25 +109,29 @@ public class SlashPlayCmd extends SlashMusicCommand
                 return;
             }
             AudioHandler handler = (AudioHandler) event.getGuild().getAudioManager().getSendingHandler();
-            int pos = handler.addTrack(new QueuedTrack(track, RequestMetadata.fromResultHandler(track, event))) + 1;
+            int added = handler.addTrack(new QueuedTrack(track, RequestMetadata.fromResultHandler(track, event)));
+            if (added == AudioHandler.DUPLICATE)
+            {
+                hook.editOriginal(FormatUtil.filter(event.getClient().getWarning() + " **" + track.getInfo().title
+                        + "** was not added: " + handler.getDuplicateRejection())).queue();
+                return;
+            }
+            int pos = added + 1;
             hook.editOriginal(FormatUtil.filter(event.getClient().getSuccess()
                     + " Added **" + track.getInfo().title
                     + "** (`" + TimeUtil.formatTime(track.getDuration()) + "`) "
-                    + (pos == 0 ? "to begin playing" : "to the queue at position " + pos))).queue();
+                    + (pos == 0 ? "to begin playing" : "to the queue at position " + pos + FormatUtil.formatEta(handler.getTimeUntil(pos - 1))))).queue();
         }
 
         private int loadPlaylist(AudioPlaylist playlist, AudioTrack exclude)
         {
-            int[] count = {0};
-            playlist.getTracks().forEach(track -> {
-                if (!bot.getConfig().isTooLong(track) && !track.equals(exclude))
-                {
-                    AudioHandler handler = (AudioHandler) event.getGuild().getAudioManager().getSendingHandler();
-                    handler.addTrack(new QueuedTrack(track, RequestMetadata.fromResultHandler(track, event)));
-                    count[0]++;
-                }
-            });
-            return count[0];
+            List<QueuedTrack> tracks = playlist.getTracks().stream()
+                    .filter(track -> !bot.getConfig().isTooLong(track) && !track.equals(exclude))
+                    .map(track -> new QueuedTrack(track, RequestMetadata.fromResultHandler(track, event)))
+                    .collect(Collectors.toList());
+            AudioHandler handler = (AudioHandler) event.getGuild().getAudioManager().getSendingHandler();
+            // tracks the duplicate policy turns away are left out of the count
+            return (int) Arrays.stream(handler.addTracks(tracks)).filter(pos -> pos != AudioHandler.DUPLICATE).count();
         }
 
         @Override
@@ -5,6 +5,7 @@ import com.jagrosh.jmusicbot.Bot;
 import com.jagrosh.jmusicbot.audio.AudioHandler;
 import com.jagrosh.jmusicbot.audio.QueuedTrack;
 import com.jagrosh.jmusicbot.commands.slash.SlashMusicCommand;
+import com.jagrosh.jmusicbot.queue.AbstractQueue;
 import com.jagrosh.jmusicbot.settings.QueueType;
 import com.jagrosh.jmusicbot.settings.RepeatMode;
 import com.jagrosh.jmusicbot.settings.Settings;
@@ -44,20 +45,19 @@ public class SlashQueueCmd extends SlashMusicCommand
     {
         int pagenum = (int) event.optLong("page", 1);
         AudioHandler ah = (AudioHandler) event.getGuild().getAudioManager().getSendingHandler();
-        List<QueuedTrack> list = ah.getQueue().getList();
+        AbstractQueue<QueuedTrack> queue = ah.getQueue();
 
-        if (list.isEmpty())
+        if (queue.isEmpty())
         {
             event.reply(event.getClient().getWarning() + " There is no music in the queue!").queue();
             return;
         }
 
-        int totalPages = (int) Math.ceil((double) list.size() / ITEMS_PER_PAGE);
+        int count = queue.size();
+        int totalPages = (int) Math.ceil((double) count / ITEMS_PER_PAGE);
         if (pagenum > totalPages) pagenum = totalPages;
 
-        long total = 0;
-        for (QueuedTrack qt : list)
-            total += qt.getTrack().getDuration();
+        long total = queue.getDuration();
 
         Settings settings = event.getClient().getSettingsFor(event.getGuild());
         RepeatMode repeatMode = settings.getRepeatMode();
@@ -70,19 +70,19 @@ public class SlashQueueCmd extends SlashMusicCommand
                     .append(ah.getPlayer().getPlayingTrack().getInfo().title).append("**\n");
         }
         title.append(event.getClient().getSuccess())
-                .append(" Current Queue | ").append(list.size()).append(" entries | `")
+                .append(" Current Queue | ").append(count).append(" entries | `")
                 .append(TimeUtil.formatTime(total)).append("` | ")
                 .append(queueType.getEmoji()).append(" `").append(queueType.getUserFriendlyName()).append("`");
         if (repeatMode.getEmoji() != null)
             title.append(" | ").append(repeatMode.getEmoji());
 
         int start = (pagenum - 1) * ITEMS_PER_PAGE;
-        int end = Math.min(start + ITEMS_PER_PAGE, list.size());
+        List<QueuedTrack> page = queue.page(start, start + ITEMS_PER_PAGE);
 
         StringBuilder desc = new StringBuilder();
-        for (int i = start; i < end; i++)
+        for (int i = 0; i < page.size(); i++)
         {
-            desc.append("`").append(i + 1).append(".` ").append(list.get(i).toString()).append("\n");
+            desc.append("`").append(start + i + 1).append(".` ").append(page.get(i).toString()).append("\n");
         }
 
         EmbedBuilder eb = new EmbedBuilder()
@@ -11,7 +11,7 @@ import net.dv8tion.jda.api.entities.User;
 import net.dv8tion.jda.api.interactions.commands.OptionType;
 import net.dv8tion.jda.api.interactions.commands.build.OptionData;
 
-import java.util.Collections;
+import java.util.Arrays;
 
 /**
  * Slash command version of RemoveCmd.
@@ -26,10 +26,12 @@ public class SlashRemoveCmd extends SlashMusicCommand
         this.aliases = bot.getConfig().getAliases(this.name);
         this.beListening = true;
         this.bePlaying = true;
-        this.options = Collections.singletonList(
+        this.options = Arrays.asList(
                 new OptionData(OptionType.INTEGER, "position",
-                        "Position in the queue to remove (use 0 to remove all your songs)", true)
-                        .setMinValue(0)
+                        "Position in the queue to remove (use 0 to remove all your songs)", false)
+                        .setMinValue(0),
+                new OptionData(OptionType.STRING, "title",
+                        "Part of the title or author of the song to remove", false)
         );
     }
 
@@ -44,6 +46,23 @@ public class SlashRemoveCmd extends SlashMusicCommand
         }
 
         int pos = (int) event.optLong("position", 0);
+        String title = event.optString("title", "");
+
+        if (!event.hasOption("position"))
+        {
+            if (title.isEmpty())
+            {
+                event.reply("Give the position or part of the title of the song to remove!")
+                        .setEphemeral(true).queue();
+                return;
+            }
+            pos = handler.findInQueue(title, event.getUser().getIdLong()) + 1;
+            if (pos == 0)
+            {
+                event.reply("No song in the queue matches `" + title + "`!").setEphemeral(true).queue();
+                return;
+            }
+        }
 
         // Position 0 means "remove all my songs"
         if (pos == 0)
@@ -72,7 +91,7 @@ public class SlashRemoveCmd extends SlashMusicCommand
         if (qt.getIdentifier() == event.getUser().getIdLong())
         {
             handler.getQueue().remove(pos - 1);
-            event.reply(event.getClient().getSuccess() + " Removed **" + qt.getTrack().getInfo().title
+            event.reply(event.getClient().getSuccess() + " Removed **" + qt.getTitle()
                     + "** from the queue").queue();
         }
         else if (isDJ)
@@ -87,13 +106,13 @@ public class SlashRemoveCmd extends SlashMusicCommand
             {
                 u = null;
             }
-            event.reply(event.getClient().getSuccess() + " Removed **" + qt.getTrack().getInfo().title
+            event.reply(event.getClient().getSuccess() + " Removed **" + qt.getTitle()
                     + "** from the queue (requested by "
                     + (u == null ? "someone" : "**" + u.getName() + "**") + ")").queue();
         }
         else
         {
-            event.reply("You cannot remove **" + qt.getTrack().getInfo().title
+            event.reply("You cannot remove **" + qt.getTitle()
                     + "** because you didn't add it!").setEphemeral(true).queue();
         }
     }
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2026 Arif Banai (arif-banai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jagrosh.jmusicbot.commands.slash.music;
+
+import com.jagrosh.jdautilities.command.SlashCommandEvent;
+import com.jagrosh.jmusicbot.Bot;
+import com.jagrosh.jmusicbot.audio.AudioHandler;
+import com.jagrosh.jmusicbot.audio.EncodedQueuedTrack;
+import com.jagrosh.jmusicbot.audio.RequestMetadata;
+import com.jagrosh.jmusicbot.commands.slash.SlashMusicCommand;
+import com.jagrosh.jmusicbot.utils.FormatUtil;
+import com.jagrosh.jmusicbot.utils.TimeUtil;
+import net.dv8tion.jda.api.interactions.commands.OptionType;
+import net.dv8tion.jda.api.interactions.commands.build.OptionData;
+
+import java.util.Collections;
+
+/**
+ * Slash command version of ReplayCmd.
+ */
+public class SlashReplayCmd extends SlashMusicCommand
+{
+    public SlashReplayCmd(Bot bot)
+    {
+        super(bot);
+        this.name = "replay";
+        this.help = "queues a recently played song again";
+        this.aliases = bot.getConfig().getAliases(this.name);
+        this.beListening = true;
+        this.bePlaying = false;
+        this.options = Collections.singletonList(
+                new OptionData(OptionType.INTEGER, "number",
+                        "How many songs back to go (1 is the last one played)", false).setMinValue(1)
+        );
+    }
+
+    @Override
+    public void doCommand(SlashCommandEvent event)
+    {
+        AudioHandler handler = (AudioHandler) event.getGuild().getAudioManager().getSendingHandler();
+        int played = handler.getHistory().size();
+        if (played == 0)
+        {
+            event.reply(event.getClient().getError() + " No songs have been played recently!")
+                    .setEphemeral(true).queue();
+            return;
+        }
+
+        int back = (int) event.optLong("number", 1);
+        EncodedQueuedTrack track = handler.getHistory().get(back - 1);
+        if (track == null)
+        {
+            event.reply(event.getClient().getError() + " Number must be a valid integer between 1 and "
+                    + played + "!").setEphemeral(true).queue();
+            return;
+        }
+
+        EncodedQueuedTrack replay = track.withRequester(new RequestMetadata(event.getUser(),
+                new RequestMetadata.RequestInfo(Integer.toString(back), track.getUri())));
+        int added = handler.addTrack(replay);
+        if (added == AudioHandler.DUPLICATE)
+        {
+            event.reply(FormatUtil.filter(event.getClient().getWarning() + " **" + track.getTitle()
+                    + "** was not added: " + handler.getDuplicateRejection())).queue();
+            return;
+        }
+        int pos = added + 1;
+        event.reply(FormatUtil.filter(event.getClient().getSuccess()
+                + " Added **" + track.getTitle()
+                + "** (`" + TimeUtil.formatTime(track.getDuration()) + "`) "
+                + (pos == 0 ? "to begin playing" : "to the queue at position " + pos + FormatUtil.formatEta(handler.getTimeUntil(pos - 1))))).queue();
+    }
+}
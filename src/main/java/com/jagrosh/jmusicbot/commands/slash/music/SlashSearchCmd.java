@@ -82,11 +82,18 @@ public class SlashSearchCmd extends SlashMusicCommand
                 return;
             }
             AudioHandler handler = (AudioHandler) event.getGuild().getAudioManager().getSendingHandler();
-            int pos = handler.addTrack(new QueuedTrack(track, RequestMetadata.fromResultHandler(track, event))) + 1;
+            int added = handler.addTrack(new QueuedTrack(track, RequestMetadata.fromResultHandler(track, event)));
+            if (added == AudioHandler.DUPLICATE)
+            {
+                hook.editOriginal(FormatUtil.filter(event.getClient().getWarning() + " **" + track.getInfo().title
+                        + "** was not added: " + handler.getDuplicateRejection())).queue();
+                return;
+            }
+            int pos = added + 1;
             hook.editOriginal(FormatUtil.filter(event.getClient().getSuccess()
                     + " Added **" + track.getInfo().title
                     + "** (`" + TimeUtil.formatTime(track.getDuration()) + "`) "
-                    + (pos == 0 ? "to begin playing" : "to the queue at position " + pos))).queue();
+                    + (pos == 0 ? "to begin playing" : "to the queue at position " + pos + FormatUtil.formatEta(handler.getTimeUntil(pos - 1))))).queue();
         }
 
         @Override
@@ -49,6 +49,7 @@ public class SlashSkipCmd extends SlashMusicCommand
             {
                 msg = event.getClient().getSuccess() + " You voted to skip the song `[";
                 handler.getVotes().add(event.getUser().getId());
+                handler.prefetchNext();
             }
             int skippers = (int) event.getGuild().getSelfMember().getVoiceState().getChannel()
                     .getMembers().stream()
@@ -46,6 +46,11 @@ public enum ConfigOption {
     LOG_LEVEL("logging.level", ConfigType.STRING, false, "Logging verbosity (off, error, warn, info, debug, trace, all)"),
     EVAL_ENGINE("dangerous.evalEngine", ConfigType.STRING, false, "Eval engine name"),
     PLAYLISTS_FOLDER("paths.playlistsFolder", ConfigType.STRING, false, "Alternative folder for playlists"),
+    FRAME_CACHE_FOLDER("paths.frameCacheFolder", ConfigType.STRING, false, "Folder for the frame cache"),
+    QUEUE_JOURNAL_FOLDER("paths.queueJournalFolder", ConfigType.STRING, false, "Folder for the queue journals"),
+    ENGINE_PROFILE("playback.engine.profile", ConfigType.STRING, false, "Lavaplayer engine profile (default, low-cpu, low-latency, high-quality)"),
+    ENGINE_RESAMPLING_QUALITY("playback.engine.resamplingQuality", ConfigType.STRING, false, "Resampling quality override (LOW, MEDIUM, HIGH; empty = profile)"),
+    VOLUME_POLICY("playback.transcoding.volumePolicy", ConfigType.STRING, false, "When volume changes reach the player (immediate, track-boundary)"),
     
     // Boolean options
     STAY_IN_CHANNEL("voice.stayInChannel", ConfigType.BOOLEAN, false, "Whether to stay in voice channel after queue ends"),
@@ -54,12 +59,36 @@ public enum ConfigOption {
     UPDATE_ALERTS("updates.alerts", ConfigType.BOOLEAN, false, "Whether to alert owner about updates"),
     USE_EVAL("dangerous.eval", ConfigType.BOOLEAN, false, "Whether to enable eval command (DANGEROUS)"),
     USE_YOUTUBE_OAUTH("playback.youtube.useOAuth", ConfigType.BOOLEAN, false, "Whether to use YouTube OAuth2 for playback"),
+    ALLOCATION_FREE_FRAMES("playback.allocationFreeFrames", ConfigType.BOOLEAN, false, "Whether players decode into a fixed buffer instead of allocating every frame"),
+    RECOVERY_FALLBACK_SEARCH("playback.recovery.fallbackSearch", ConfigType.BOOLEAN, false, "Whether a track that cannot be loaded again is searched for on another source"),
+    FRAME_CACHE("playback.frameCache.enabled", ConfigType.BOOLEAN, false, "Whether to keep the frames of played tracks on disk"),
+    GOVERNOR("playback.governor.enabled", ConfigType.BOOLEAN, false, "Whether to lower playback quality while the host is overloaded"),
+    MATCH_CHANNEL_BITRATE("playback.transcoding.matchChannelBitrate", ConfigType.BOOLEAN, false, "Whether encoding effort follows the voice channel's bitrate"),
+    QUEUE_JOURNAL("playback.queueJournal.enabled", ConfigType.BOOLEAN, false, "Whether to journal queues to disk and restore them on restart"),
     
     // Numeric options
     MAX_SECONDS("playback.maxTrackSeconds", ConfigType.LONG, false, "Maximum track length in seconds (0 = no limit)"),
     MAX_YT_PLAYLIST_PAGES("playback.maxYouTubePlaylistPages", ConfigType.INT, false, "Maximum YouTube playlist pages to load"),
     ALONE_TIME_UNTIL_STOP("voice.aloneTimeUntilStopSeconds", ConfigType.LONG, false, "Seconds to wait alone before leaving (0 = never)"),
+    LINGER_SECONDS("voice.lingerSeconds", ConfigType.LONG, false, "Seconds to stay connected after the queue ends (0 = leave right away)"),
     SKIP_RATIO("playback.skipRatio", ConfigType.DOUBLE, false, "Ratio of users needed to vote skip"),
+    HISTORY_SIZE("playback.historySize", ConfigType.INT, false, "Recently played tracks kept per guild (0 = none)"),
+    RECOVERY_ATTEMPTS("playback.recovery.attempts", ConfigType.INT, false, "Attempts to recover a stuck or failed track (0 = off)"),
+    MAX_TRANSCODING_GUILDS("playback.transcoding.maxGuilds", ConfigType.INT, false, "Guilds allowed a volume other than 100 at once (0 = no limit)"),
+    GOVERNOR_HIGH_CPU("playback.governor.highCpuPercent", ConfigType.INT, false, "Process CPU load in percent at which playback quality is lowered"),
+    GOVERNOR_LOW_CPU("playback.governor.lowCpuPercent", ConfigType.INT, false, "Process CPU load in percent under which playback quality is restored"),
+    GOVERNOR_MAX_UNDERRUNS("playback.governor.maxUnderruns", ConfigType.INT, false, "Missed frames in 10 seconds at which playback quality is lowered (0 = CPU only)"),
+    GOVERNOR_MIN_OPUS_QUALITY("playback.governor.minOpusQuality", ConfigType.INT, false, "Opus encoding quality the governor does not go below, 0-10"),
+    IDLE_PLAYER_MINUTES("playback.idlePlayerMinutes", ConfigType.INT, false, "Minutes an unused player is kept before it is torn down (0 = forever)"),
+    PAUSED_RELEASE_MINUTES("playback.pausedReleaseMinutes", ConfigType.INT, false, "Minutes a track stays paused before its stream is released (0 = never)"),
+    PREFETCH_SECONDS("playback.prefetchSeconds", ConfigType.INT, false, "Seconds before a track ends to prefetch the next one (0 = off)"),
+    ENGINE_FRAME_BUFFER_MILLIS("playback.engine.frameBufferMillis", ConfigType.INT, false, "Frame buffer duration override in milliseconds (0 = profile)"),
+    ENGINE_OPUS_QUALITY("playback.engine.opusEncodingQuality", ConfigType.INT, false, "Opus encoding quality override, 0-10 (-1 = profile)"),
+    ENGINE_LOADER_THREADS("playback.engine.itemLoaderThreads", ConfigType.INT, false, "Item loader thread pool size override (0 = profile)"),
+    ENGINE_TRACK_STUCK_MILLIS("playback.engine.trackStuckThresholdMillis", ConfigType.LONG, false, "Track stuck threshold override in milliseconds (0 = profile)"),
+    ENGINE_CLEANUP_MILLIS("playback.engine.playerCleanupThresholdMillis", ConfigType.LONG, false, "Idle player cleanup threshold override in milliseconds (0 = profile)"),
+    FRAME_CACHE_MAX_MEGABYTES("playback.frameCache.maxSizeMegabytes", ConfigType.LONG, false, "Size the frame cache is kept under, in megabytes"),
+    QUEUE_JOURNAL_COMPACT_AFTER("playback.queueJournal.compactAfterRecords", ConfigType.INT, false, "Queue journal changes before compaction"),
     
     // Complex options - Nested configurations
     ALIASES("commands.aliases", ConfigType.CONFIG, false, "Command aliases configuration"),
@@ -156,7 +156,11 @@ public class PlaylistLoader
             this.shuffle = shuffle;
         }
         
-        public void loadTracks(AudioPlayerManager manager, Consumer<AudioTrack> consumer, Runnable callback)
+        /**
+         * Loads every item of the playlist. The consumer receives the tracks of each item as
+         * one batch, so a nested playlist can be queued in a single call.
+         */
+        public void loadTracks(AudioPlayerManager manager, Consumer<List<AudioTrack>> consumer, Runnable callback)
         {
             if(loaded)
                 return;
@@ -187,7 +191,7 @@ public class PlaylistLoader
                         {
                             at.setUserData(0L);
                             tracks.add(at);
-                            consumer.accept(at);
+                            consumer.accept(Collections.singletonList(at));
                         }
                         done();
                     }
@@ -217,7 +221,8 @@ public class PlaylistLoader
                             loaded.removeIf(track -> config.isTooLong(track));
                             loaded.forEach(at -> at.setUserData(0L));
                             tracks.addAll(loaded);
-                            loaded.forEach(at -> consumer.accept(at));
+                            if(!loaded.isEmpty())
+                                consumer.accept(loaded);
                         }
                         done();
                     }
@@ -16,8 +16,15 @@
 package com.jagrosh.jmusicbot.queue;
 
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Predicate;
 
 /**
  *
@@ -28,13 +35,42 @@ public abstract class AbstractQueue<T extends Queueable>
 {
     protected AbstractQueue(AbstractQueue<T> queue)
     {
-        this.list = queue != null ? queue.getList() : new LinkedList<>();
+        // migrate the entries of the previous queue (if any) into a fresh indexed list
+        this.list = queue != null
+                ? new IndexedList<>(queue.getList(), Queueable::getDuration)
+                : new IndexedList<>(Queueable::getDuration);
+        this.list.addObserver(new RequesterIndex());
+        this.titles = new TitleIndex<>(this.list, Queueable::getSearchText);
+        this.list.addObserver(titles);
     }
 
-    protected final List<T> list;
+    protected final IndexedList<T> list;
+
+    // the nodes of each requester's items, in queue order
+    private final Map<Long, TreeSet<IndexedList.Node<T>>> requesters = new HashMap<>();
+    private final TitleIndex<T> titles;
+
+    // the last page copied, reused until the queue changes
+    private List<T> page;
+    private int pageFrom, pageTo, pageVersion;
 
     public abstract int add(T item);
 
+    /**
+     * Adds a batch of items, in order, as if each had been passed to {@link #add(Queueable)}.
+     *
+     * @param items the items to add
+     * @return the position each item was inserted at
+     */
+    public int[] addAll(Collection<? extends T> items)
+    {
+        int[] positions = new int[items.size()];
+        int i = 0;
+        for(T item : items)
+            positions[i++] = add(item);
+        return positions;
+    }
+
     public void addAt(int index, T item)
     {
         if(index >= list.size())
@@ -47,6 +83,36 @@ public abstract class AbstractQueue<T extends Queueable>
         return list.size();
     }
 
+    /**
+     * Registers a listener for every change to the queue, first replaying each item
+     * currently in the queue to it as an addition, in order.
+     *
+     * @param listener the listener to notify of future changes
+     */
+    public void addListener(Listener<? super T> listener)
+    {
+        list.addObserver(new IndexedList.Observer<T>()
+        {
+            @Override
+            public void linked(IndexedList.Node<T> node)
+            {
+                listener.added(list.rankOf(node), node.getValue());
+            }
+
+            @Override
+            public void unlinked(IndexedList.Node<T> node)
+            {
+                listener.removed(list.rankOf(node), node.getValue());
+            }
+
+            @Override
+            public void cleared()
+            {
+                listener.cleared();
+            }
+        });
+    }
+
     public T pull() {
         return list.remove(0);
     }
@@ -61,29 +127,155 @@ public abstract class AbstractQueue<T extends Queueable>
         return list;
     }
 
+    /**
+     * @return the total duration of the queue in milliseconds, or {@link Long#MAX_VALUE}
+     *         if it holds an item of unknown length
+     */
+    public long getDuration()
+    {
+        return list.weight();
+    }
+
+    /**
+     * @param index a position in the queue, from 0 to {@code size()}
+     * @return the total duration of the items ahead of the position, in O(log n), or
+     *         {@link Long#MAX_VALUE} if one of them is of unknown length
+     */
+    public long getDurationBefore(int index)
+    {
+        return list.weightBefore(index);
+    }
+
+    /**
+     * Returns an immutable copy of a range of the queue, such as the page of it being shown.
+     * Only the range is copied, walking the tree from its start in O(log n + page size), and
+     * the copy is shared between calls for the same range until the queue is modified.
+     *
+     * @param fromIndex the first position, inclusive
+     * @param toIndex   the last position, exclusive; both are clamped to the queue's size
+     * @return the items in the range, in order
+     */
+    public List<T> page(int fromIndex, int toIndex)
+    {
+        int to = Math.min(Math.max(toIndex, 0), list.size());
+        int from = Math.min(Math.max(fromIndex, 0), to);
+        if(page == null || pageVersion != list.version() || pageFrom != from || pageTo != to)
+        {
+            page = Collections.unmodifiableList(new ArrayList<>(list.subList(from, to)));
+            pageFrom = from;
+            pageTo = to;
+            pageVersion = list.version();
+        }
+        return page;
+    }
+
     public T get(int index) {
         return list.get(index);
     }
 
+    /**
+     * @return the item at the head of the queue, or null if it is empty; unlike {@link #get},
+     *         safe to call from another thread (such as the audio thread) while the queue changes
+     */
+    public T peek()
+    {
+        return list.peekFirst();
+    }
+
     public T remove(int index)
     {
         return list.remove(index);
     }
 
+    /**
+     * @param identifier the requester
+     * @return the number of items from the requester
+     */
+    public int count(long identifier)
+    {
+        TreeSet<IndexedList.Node<T>> nodes = requesters.get(identifier);
+        return nodes == null ? 0 : nodes.size();
+    }
+
+    /**
+     * @param identifier the requester
+     * @return the positions of the requester's items, in queue order
+     */
+    public int[] indexesOf(long identifier)
+    {
+        TreeSet<IndexedList.Node<T>> nodes = requesters.get(identifier);
+        if(nodes == null)
+            return new int[0];
+        int[] indexes = new int[nodes.size()];
+        int i = 0;
+        for(IndexedList.Node<T> node : nodes)
+            indexes[i++] = list.rankOf(node);
+        return indexes;
+    }
+
+    /**
+     * @param identifier the requester
+     * @return the position of the requester's last item, or -1 if there is none
+     */
+    public int lastIndexOf(long identifier)
+    {
+        TreeSet<IndexedList.Node<T>> nodes = requesters.get(identifier);
+        return nodes == null ? -1 : list.rankOf(nodes.last());
+    }
+
+    /**
+     * Finds the items whose search text contains a fragment, ignoring case and punctuation,
+     * through an index built by the first search and kept up to date with the queue, rather
+     * than a scan of it.
+     *
+     * @param fragment part of a title or author, at least two letters or digits long
+     * @return the positions of the matching items, in queue order
+     */
+    public int[] search(String fragment)
+    {
+        return titles.find(fragment);
+    }
+
     public int removeAll(long identifier)
+    {
+        TreeSet<IndexedList.Node<T>> nodes = requesters.get(identifier);
+        if(nodes == null)
+            return 0;
+        // copy first, the index drops each node as it is removed
+        List<IndexedList.Node<T>> removed = new ArrayList<>(nodes);
+        for(IndexedList.Node<T> node : removed)
+            list.remove(list.rankOf(node));
+        return removed.size();
+    }
+
+    /**
+     * Removes every item matching the filter in a single pass over the queue.
+     *
+     * @param filter the items to remove
+     * @return the number of items removed
+     */
+    public int removeIf(Predicate<? super T> filter)
     {
         int count = 0;
-        for(int i=list.size()-1; i>=0; i--)
+        for(Iterator<T> it = list.iterator(); it.hasNext();)
         {
-            if(list.get(i).getIdentifier()==identifier)
+            if(filter.test(it.next()))
             {
-                list.remove(i);
+                it.remove();
                 count++;
             }
         }
         return count;
     }
 
+    /**
+     * Removes the items from {@code fromIndex} (inclusive) to {@code toIndex} (exclusive).
+     */
+    public void removeRange(int fromIndex, int toIndex)
+    {
+        list.subList(fromIndex, toIndex).clear();
+    }
+
     public void clear()
     {
         list.clear();
@@ -91,27 +283,22 @@ public abstract class AbstractQueue<T extends Queueable>
 
     public int shuffle(long identifier)
     {
-        List<Integer> iset = new ArrayList<>();
-        for(int i=0; i<list.size(); i++)
-        {
-            if(list.get(i).getIdentifier()==identifier)
-                iset.add(i);
-        }
-        for(int j=0; j<iset.size(); j++)
+        int[] iset = indexesOf(identifier);
+        for(int j=0; j<iset.length; j++)
         {
-            int first = iset.get(j);
-            int second = iset.get((int)(Math.random()*iset.size()));
+            int first = iset[j];
+            int second = iset[(int)(Math.random()*iset.length)];
             T temp = list.get(first);
             list.set(first, list.get(second));
             list.set(second, temp);
         }
-        return iset.size();
+        return iset.length;
     }
 
     public void skip(int number)
     {
         if (number > 0) {
-            list.subList(0, number).clear();
+            removeRange(0, number);
         }
     }
 
@@ -127,4 +314,56 @@ public abstract class AbstractQueue<T extends Queueable>
         list.add(to, item);
         return item;
     }
+
+    /**
+     * Keeps {@link #requesters} in step with the list. Nodes keep their relative order
+     * until they are unlinked, so ordering each requester's set by position stays valid.
+     */
+    private class RequesterIndex implements IndexedList.Observer<T>
+    {
+        private final Comparator<IndexedList.Node<T>> byPosition = Comparator.comparingInt(list::rankOf);
+
+        @Override
+        public void linked(IndexedList.Node<T> node)
+        {
+            requesters.computeIfAbsent(node.getValue().getIdentifier(), id -> new TreeSet<>(byPosition)).add(node);
+        }
+
+        @Override
+        public void unlinked(IndexedList.Node<T> node)
+        {
+            long identifier = node.getValue().getIdentifier();
+            TreeSet<IndexedList.Node<T>> nodes = requesters.get(identifier);
+            nodes.remove(node);
+            if(nodes.isEmpty())
+                requesters.remove(identifier);
+        }
+
+        @Override
+        public void cleared()
+        {
+            requesters.clear();
+        }
+    }
+
+    /**
+     * Receives the changes made to a queue, with the position each happened at. A move or a
+     * replacement is reported as a removal followed by an addition.
+     */
+    public interface Listener<T>
+    {
+        /**
+         * @param index the position the item now has
+         * @param item  the item added
+         */
+        void added(int index, T item);
+
+        /**
+         * @param index the position the item had
+         * @param item  the item removed
+         */
+        void removed(int index, T item);
+
+        void cleared();
+    }
 }
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2026 Arif Banai (arif-banai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jagrosh.jmusicbot.queue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A hash index of the tracks in a queue, plus the one playing, by a key such as the track's
+ * URI. It follows the queue as an {@link AbstractQueue.Listener}, so asking how many copies of
+ * a track there are, or how many other requests were made since it was last requested, costs
+ * a single lookup whatever the size of the queue.
+ * <p>
+ * A key is only kept while a copy of it is queued or playing.
+ *
+ * @param <T> the queue items
+ */
+public class DuplicateIndex<T> implements AbstractQueue.Listener<T>
+{
+    private final Function<? super T, String> keyer;
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    private String playing;
+    private long requests;
+
+    /**
+     * @param keyer gives the key of an item; items with equal keys are copies of each other
+     */
+    public DuplicateIndex(Function<? super T, String> keyer)
+    {
+        this.keyer = keyer;
+    }
+
+    public String keyOf(T item)
+    {
+        return keyer.apply(item);
+    }
+
+    /**
+     * @param key a track key
+     * @return the number of copies of the track queued, plus one if it is playing
+     */
+    public synchronized int copies(String key)
+    {
+        Entry entry = entries.get(key);
+        if(entry == null)
+            return 0;
+        return entry.queued + (key.equals(playing) ? 1 : 0);
+    }
+
+    /**
+     * @param key a track key
+     * @return the number of other requests recorded since the track was last requested, or
+     *         {@link Long#MAX_VALUE} if none of its copies came from a recorded request
+     */
+    public synchronized long requestsSince(String key)
+    {
+        Entry entry = entries.get(key);
+        return entry == null || entry.lastRequest < 0 ? Long.MAX_VALUE : requests - entry.lastRequest - 1;
+    }
+
+    /**
+     * Records a request for a track that was just queued or started.
+     *
+     * @param key the track key
+     */
+    public synchronized void requested(String key)
+    {
+        entries.computeIfAbsent(key, k -> new Entry()).lastRequest = requests++;
+    }
+
+    /**
+     * @param key the key of the playing track, or null if nothing is playing
+     */
+    public synchronized void setPlaying(String key)
+    {
+        String previous = playing;
+        playing = key;
+        if(previous != null && !previous.equals(key))
+            release(previous, entries.get(previous));
+        if(key != null)
+            entries.computeIfAbsent(key, k -> new Entry());
+    }
+
+    @Override
+    public synchronized void added(int index, T item)
+    {
+        entries.computeIfAbsent(keyOf(item), k -> new Entry()).queued++;
+    }
+
+    @Override
+    public synchronized void removed(int index, T item)
+    {
+        String key = keyOf(item);
+        Entry entry = entries.get(key);
+        if(entry == null)
+            return;
+        entry.queued--;
+        release(key, entry);
+    }
+
+    @Override
+    public synchronized void cleared()
+    {
+        Entry current = playing == null ? null : entries.get(playing);
+        entries.clear();
+        if(current != null)
+        {
+            current.queued = 0;
+            entries.put(playing, current);
+        }
+    }
+
+    /**
+     * @return the number of keys held
+     */
+    public synchronized int size()
+    {
+        return entries.size();
+    }
+
+    private void release(String key, Entry entry)
+    {
+        if(entry != null && entry.queued <= 0 && !key.equals(playing))
+            entries.remove(key);
+    }
+
+    private static class Entry
+    {
+        private int queued;
+        private long lastRequest = -1;
+    }
+}
@@ -15,7 +15,9 @@
  */
 package com.jagrosh.jmusicbot.queue;
 
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.ListIterator;
 import java.util.Set;
 
 /**
@@ -35,20 +37,51 @@ public class FairQueue<T extends Queueable> extends AbstractQueue<T>
     @Override
     public int add(T item)
     {
-        int lastIndex;
-        for(lastIndex=list.size()-1; lastIndex>-1; lastIndex--)
-            if(list.get(lastIndex).getIdentifier() == item.getIdentifier())
-                break;
-        lastIndex++;
+        return addToNextRound(list.listIterator(lastIndexOf(item.getIdentifier()) + 1), item);
+    }
+
+    /**
+     * Adds a batch of items in a single pass. Consecutive items from the same requester
+     * carry on from where the previous one was placed instead of searching the queue again,
+     * so a playlist is merged into the rotation in one walk.
+     */
+    @Override
+    public int[] addAll(Collection<? extends T> items)
+    {
+        int[] positions = new int[items.size()];
+        int i = 0;
+        ListIterator<T> it = null;
+        long identifier = 0;
+        for(T item : items)
+        {
+            if(it == null || item.getIdentifier() != identifier)
+            {
+                identifier = item.getIdentifier();
+                it = list.listIterator(lastIndexOf(identifier) + 1);
+            }
+            positions[i++] = addToNextRound(it, item);
+        }
+        return positions;
+    }
+
+    /**
+     * Inserts the item at the end of the run of distinct requesters starting at the
+     * iterator, leaving the iterator just after the inserted item.
+     */
+    private int addToNextRound(ListIterator<T> it, T item)
+    {
         set.clear();
-        for(; lastIndex<list.size(); lastIndex++)
+        while(it.hasNext())
         {
-            if(set.contains(list.get(lastIndex).getIdentifier()))
+            if(!set.add(it.next().getIdentifier()))
+            {
+                it.previous();
                 break;
-            set.add(list.get(lastIndex).getIdentifier());
+            }
         }
-        list.add(lastIndex, item);
-        return lastIndex;
+        int index = it.nextIndex();
+        it.add(item);
+        return index;
     }
 
 }
@@ -0,0 +1,636 @@
+/*
+ * Copyright 2026 Arif Banai (arif-banai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jagrosh.jmusicbot.queue;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * A {@link java.util.List} backed by a size-augmented AVL tree (an order-statistic tree).
+ * <p>
+ * Positional reads, inserts and removals all run in O(log n), and iteration walks the
+ * tree in order in amortized O(1) per element. Guild queues are accessed almost entirely
+ * by position ({@code get}, {@code remove}, {@code addAt}, {@code moveItem}), which is
+ * the worst case for a {@link java.util.LinkedList}.
+ * <p>
+ * Nodes are never copied into one another when the tree is rebalanced, so a node keeps
+ * holding the same element for as long as that element is in the list. Queues use this
+ * to build secondary indexes over nodes through an {@link Observer}.
+ * <p>
+ * Every node also holds the total weight of its subtree, for an optional non-negative
+ * weight given to each element, so prefix sums of the weights are O(log n) as well. Sums saturate at
+ * {@link Long#MAX_VALUE}, which doubles as "unknown" (e.g. the length of a stream).
+ *
+ * @param <T>
+ */
+public class IndexedList<T> extends AbstractList<T>
+{
+    private final List<Observer<T>> observers = new ArrayList<>(1);
+    private final ToLongFunction<? super T> weigher;
+    private Node<T> root;
+    // unlike modCount, also counts replacements
+    private int version;
+    // the first element, published after every change for threads that only peek, see peekFirst
+    private volatile T head;
+
+    public IndexedList()
+    {
+        this(item -> 0);
+    }
+
+    public IndexedList(ToLongFunction<? super T> weigher)
+    {
+        this.weigher = weigher;
+    }
+
+    public IndexedList(Collection<? extends T> items)
+    {
+        this(items, item -> 0);
+    }
+
+    public IndexedList(Collection<? extends T> items, ToLongFunction<? super T> weigher)
+    {
+        this.weigher = weigher;
+        Object[] array = items.toArray();
+        root = build(array, 0, array.length - 1, null);
+        publishHead();
+    }
+
+    @Override
+    public int size()
+    {
+        return size(root);
+    }
+
+    @Override
+    public T get(int index)
+    {
+        checkIndex(index, size());
+        return node(index).value;
+    }
+
+    @Override
+    public T set(int index, T element)
+    {
+        checkIndex(index, size());
+        return replace(node(index), element);
+    }
+
+    @Override
+    public void add(int index, T element)
+    {
+        checkIndex(index, size() + 1);
+        Node<T> node = new Node<>(element, weigher.applyAsLong(element));
+        root = insert(root, index, node);
+        root.parent = null;
+        modCount++;
+        version++;
+        publishHead();
+        for(Observer<T> observer : observers)
+            observer.linked(node);
+    }
+
+    @Override
+    public T remove(int index)
+    {
+        checkIndex(index, size());
+        return unlink(index).value;
+    }
+
+    @Override
+    public void clear()
+    {
+        root = null;
+        modCount++;
+        version++;
+        publishHead();
+        for(Observer<T> observer : observers)
+            observer.cleared();
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex)
+    {
+        for(int i = fromIndex; i < toIndex; i++)
+            unlink(fromIndex);
+    }
+
+    @Override
+    public Iterator<T> iterator()
+    {
+        return new Itr(0);
+    }
+
+    @Override
+    public ListIterator<T> listIterator(int index)
+    {
+        checkIndex(index, size() + 1);
+        return new Itr(index);
+    }
+
+    /**
+     * Registers an observer, first replaying every node currently in the list to it in order.
+     *
+     * @param observer the observer to notify of future changes
+     */
+    void addObserver(Observer<T> observer)
+    {
+        observers.add(observer);
+        forEachNode(observer::linked);
+    }
+
+    /**
+     * Walks the nodes of the list in order.
+     *
+     * @param action the action to take on each node
+     */
+    void forEachNode(Consumer<Node<T>> action)
+    {
+        for(Node<T> node = root == null ? null : first(root); node != null; node = successor(node))
+            action.accept(node);
+    }
+
+    /**
+     * @return the total weight of the elements
+     */
+    public long weight()
+    {
+        return weight(root);
+    }
+
+    /**
+     * @param index an index from 0 to {@code size()}
+     * @return the total weight of the elements before the index, in O(log n)
+     */
+    public long weightBefore(int index)
+    {
+        checkIndex(index, size() + 1);
+        long sum = 0;
+        Node<T> node = root;
+        while(node != null)
+        {
+            int leftSize = size(node.left);
+            if(index <= leftSize)
+                node = node.left;
+            else
+            {
+                sum = add(sum, add(weight(node.left), node.weight));
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Reads the first element without touching the tree, so, unlike every other method, it
+     * may be called from a thread other than the one changing the list. The element is the
+     * one published by the last completed change.
+     *
+     * @return the first element, or null if the list is empty
+     */
+    public T peekFirst()
+    {
+        return head;
+    }
+
+    /**
+     * @return a counter that changes with every modification of the list, including
+     *         replacing an element
+     */
+    int version()
+    {
+        return version;
+    }
+
+    /**
+     * @param node a node currently linked into this list
+     * @return the index of the node, in O(log n)
+     */
+    int rankOf(Node<T> node)
+    {
+        return rank(node);
+    }
+
+    // Tree navigation
+
+    private Node<T> node(int index)
+    {
+        Node<T> node = root;
+        while(true)
+        {
+            int leftSize = size(node.left);
+            if(index < leftSize)
+                node = node.left;
+            else if(index > leftSize)
+            {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+            else
+                return node;
+        }
+    }
+
+    private int rank(Node<T> node)
+    {
+        int rank = size(node.left);
+        while(node.parent != null)
+        {
+            if(node == node.parent.right)
+                rank += size(node.parent.left) + 1;
+            node = node.parent;
+        }
+        return rank;
+    }
+
+    private static <T> Node<T> first(Node<T> node)
+    {
+        while(node.left != null)
+            node = node.left;
+        return node;
+    }
+
+    private static <T> Node<T> last(Node<T> node)
+    {
+        while(node.right != null)
+            node = node.right;
+        return node;
+    }
+
+    private static <T> Node<T> successor(Node<T> node)
+    {
+        if(node.right != null)
+            return first(node.right);
+        while(node.parent != null && node == node.parent.right)
+            node = node.parent;
+        return node.parent;
+    }
+
+    private static <T> Node<T> predecessor(Node<T> node)
+    {
+        if(node.left != null)
+            return last(node.left);
+        while(node.parent != null && node == node.parent.left)
+            node = node.parent;
+        return node.parent;
+    }
+
+    // Tree mutation
+
+    private void publishHead()
+    {
+        head = root == null ? null : first(root).value;
+    }
+
+    private T replace(Node<T> node, T element)
+    {
+        for(Observer<T> observer : observers)
+            observer.unlinked(node);
+        T old = node.value;
+        node.value = element;
+        node.weight = weigher.applyAsLong(element);
+        for(Node<T> n = node; n != null; n = n.parent)
+            update(n);
+        version++;
+        publishHead();
+        for(Observer<T> observer : observers)
+            observer.linked(node);
+        return old;
+    }
+
+    private Node<T> unlink(int index)
+    {
+        Node<T> node = node(index);
+        for(Observer<T> observer : observers)
+            observer.unlinked(node);
+        root = delete(root, index);
+        if(root != null)
+            root.parent = null;
+        modCount++;
+        version++;
+        publishHead();
+        return node;
+    }
+
+    private Node<T> build(Object[] array, int lo, int hi, Node<T> parent)
+    {
+        if(lo > hi)
+            return null;
+        int mid = (lo + hi) >>> 1;
+        @SuppressWarnings("unchecked")
+        T element = (T) array[mid];
+        Node<T> node = new Node<>(element, weigher.applyAsLong(element));
+        node.parent = parent;
+        node.left = build(array, lo, mid - 1, node);
+        node.right = build(array, mid + 1, hi, node);
+        update(node);
+        return node;
+    }
+
+    private Node<T> insert(Node<T> node, int index, Node<T> created)
+    {
+        if(node == null)
+            return created;
+        int leftSize = size(node.left);
+        if(index <= leftSize)
+        {
+            node.left = insert(node.left, index, created);
+            node.left.parent = node;
+        }
+        else
+        {
+            node.right = insert(node.right, index - leftSize - 1, created);
+            node.right.parent = node;
+        }
+        return balance(node);
+    }
+
+    private Node<T> delete(Node<T> node, int index)
+    {
+        int leftSize = size(node.left);
+        if(index < leftSize)
+        {
+            node.left = delete(node.left, index);
+            if(node.left != null)
+                node.left.parent = node;
+        }
+        else if(index > leftSize)
+        {
+            node.right = delete(node.right, index - leftSize - 1);
+            if(node.right != null)
+                node.right.parent = node;
+        }
+        else
+        {
+            if(node.left == null || node.right == null)
+            {
+                Node<T> child = node.left != null ? node.left : node.right;
+                if(child != null)
+                    child.parent = node.parent;
+                node.left = node.right = node.parent = null;
+                return child;
+            }
+            // splice the successor node into this position rather than copying its value,
+            // so that nodes stay attached to their elements
+            Node<T> successor = first(node.right);
+            successor.right = deleteFirst(node.right);
+            successor.left = node.left;
+            if(successor.right != null)
+                successor.right.parent = successor;
+            successor.left.parent = successor;
+            successor.parent = node.parent;
+            node.left = node.right = node.parent = null;
+            return balance(successor);
+        }
+        return balance(node);
+    }
+
+    private Node<T> deleteFirst(Node<T> node)
+    {
+        if(node.left == null)
+            return node.right;
+        node.left = deleteFirst(node.left);
+        if(node.left != null)
+            node.left.parent = node;
+        return balance(node);
+    }
+
+    private Node<T> balance(Node<T> node)
+    {
+        update(node);
+        int factor = height(node.left) - height(node.right);
+        if(factor > 1)
+        {
+            if(height(node.left.left) < height(node.left.right))
+                node.left = rotateLeft(node.left);
+            return rotateRight(node);
+        }
+        if(factor < -1)
+        {
+            if(height(node.right.right) < height(node.right.left))
+                node.right = rotateRight(node.right);
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private Node<T> rotateRight(Node<T> node)
+    {
+        Node<T> pivot = node.left;
+        node.left = pivot.right;
+        if(node.left != null)
+            node.left.parent = node;
+        pivot.right = node;
+        pivot.parent = node.parent;
+        node.parent = pivot;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private Node<T> rotateLeft(Node<T> node)
+    {
+        Node<T> pivot = node.right;
+        node.right = pivot.left;
+        if(node.right != null)
+            node.right.parent = node;
+        pivot.left = node;
+        pivot.parent = node.parent;
+        node.parent = pivot;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static void update(Node<?> node)
+    {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        node.size = 1 + size(node.left) + size(node.right);
+        node.sum = add(node.weight, add(weight(node.left), weight(node.right)));
+    }
+
+    private static long weight(Node<?> node)
+    {
+        return node == null ? 0 : node.sum;
+    }
+
+    private static long add(long a, long b)
+    {
+        long sum = a + b;
+        return ((a ^ sum) & (b ^ sum)) < 0 ? Long.MAX_VALUE : sum;
+    }
+
+    private static int height(Node<?> node)
+    {
+        return node == null ? 0 : node.height;
+    }
+
+    private static int size(Node<?> node)
+    {
+        return node == null ? 0 : node.size;
+    }
+
+    private static void checkIndex(int index, int bound)
+    {
+        if(index < 0 || index >= bound)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + bound);
+    }
+
+    /**
+     * Receives every node as it enters or leaves the list. {@code unlinked} is called while
+     * the node is still in the tree, and {@code linked} once it is in place, so
+     * {@link #rankOf(Node)} is valid inside both. Replacing an element through {@code set}
+     * is reported as an unlink of the old element followed by a link of the new one.
+     */
+    interface Observer<T>
+    {
+        void linked(Node<T> node);
+
+        void unlinked(Node<T> node);
+
+        void cleared();
+    }
+
+    static final class Node<T>
+    {
+        private T value;
+        private Node<T> left, right, parent;
+        private int height = 1, size = 1;
+        private long weight, sum;
+
+        private Node(T value, long weight)
+        {
+            this.value = value;
+            this.weight = weight;
+            this.sum = weight;
+        }
+
+        T getValue()
+        {
+            return value;
+        }
+    }
+
+    private class Itr implements ListIterator<T>
+    {
+        private Node<T> next;
+        private Node<T> lastReturned;
+        private int nextIndex;
+        private int expectedModCount = modCount;
+
+        private Itr(int index)
+        {
+            this.next = index == size() ? null : node(index);
+            this.nextIndex = index;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return nextIndex < size();
+        }
+
+        @Override
+        public T next()
+        {
+            checkForComodification();
+            if(!hasNext())
+                throw new NoSuchElementException();
+            lastReturned = next;
+            next = successor(next);
+            nextIndex++;
+            return lastReturned.value;
+        }
+
+        @Override
+        public boolean hasPrevious()
+        {
+            return nextIndex > 0;
+        }
+
+        @Override
+        public T previous()
+        {
+            checkForComodification();
+            if(!hasPrevious())
+                throw new NoSuchElementException();
+            next = next == null ? last(root) : predecessor(next);
+            lastReturned = next;
+            nextIndex--;
+            return lastReturned.value;
+        }
+
+        @Override
+        public int nextIndex()
+        {
+            return nextIndex;
+        }
+
+        @Override
+        public int previousIndex()
+        {
+            return nextIndex - 1;
+        }
+
+        @Override
+        public void remove()
+        {
+            if(lastReturned == null)
+                throw new IllegalStateException();
+            checkForComodification();
+            if(lastReturned == next)
+                next = successor(next);
+            else
+                nextIndex--;
+            unlink(rank(lastReturned));
+            lastReturned = null;
+            expectedModCount = modCount;
+        }
+
+        @Override
+        public void set(T element)
+        {
+            if(lastReturned == null)
+                throw new IllegalStateException();
+            checkForComodification();
+            replace(lastReturned, element);
+        }
+
+        @Override
+        public void add(T element)
+        {
+            checkForComodification();
+            IndexedList.this.add(nextIndex++, element);
+            lastReturned = null;
+            expectedModCount = modCount;
+        }
+
+        private void checkForComodification()
+        {
+            if(modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+    }
+}
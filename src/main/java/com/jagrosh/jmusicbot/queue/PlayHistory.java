@@ -0,0 +1,117 @@
+/*
+ * Copyright 2026 Arif Banai (arif-banai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jagrosh.jmusicbot.queue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A fixed-size ring buffer of the items played most recently. Once it is full, recording
+ * another item overwrites the oldest one, so it never holds more than its capacity however
+ * long the bot plays.
+ *
+ * @param <T> the items played
+ */
+public class PlayHistory<T>
+{
+    private final Object[] items;
+    private int newest = -1;
+    private int size;
+
+    /**
+     * @param capacity the number of items kept; 0 keeps none
+     */
+    public PlayHistory(int capacity)
+    {
+        this.items = new Object[Math.max(0, capacity)];
+    }
+
+    /**
+     * Records an item as the most recently played.
+     *
+     * @param item the item
+     */
+    public synchronized void push(T item)
+    {
+        if(items.length == 0)
+            return;
+        newest = (newest + 1) % items.length;
+        items[newest] = item;
+        size = Math.min(size + 1, items.length);
+    }
+
+    /**
+     * Takes the most recently played item out of the history.
+     *
+     * @return the item, or null if the history is empty
+     */
+    public synchronized T pop()
+    {
+        if(size == 0)
+            return null;
+        T item = item(newest);
+        items[newest] = null;
+        newest = (newest - 1 + items.length) % items.length;
+        size--;
+        return item;
+    }
+
+    /**
+     * @param back how many items back to look, 0 being the most recently played
+     * @return the item, or null if the history does not go back that far
+     */
+    public synchronized T get(int back)
+    {
+        if(back < 0 || back >= size)
+            return null;
+        return item((newest - back + items.length) % items.length);
+    }
+
+    /**
+     * @return the items, most recently played first
+     */
+    public synchronized List<T> getList()
+    {
+        List<T> list = new ArrayList<>(size);
+        for(int back = 0; back < size; back++)
+            list.add(item((newest - back + items.length) % items.length));
+        return list;
+    }
+
+    public synchronized int size()
+    {
+        return size;
+    }
+
+    public int capacity()
+    {
+        return items.length;
+    }
+
+    public synchronized void clear()
+    {
+        for(int i = 0; i < items.length; i++)
+            items[i] = null;
+        newest = -1;
+        size = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T item(int slot)
+    {
+        return (T) items[slot];
+    }
+}
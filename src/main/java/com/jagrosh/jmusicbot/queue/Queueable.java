@@ -22,4 +22,22 @@ package com.jagrosh.jmusicbot.queue;
 public interface Queueable {
     
     public long getIdentifier();
+
+    /**
+     * @return the length of the item in milliseconds, used for queue totals and estimates,
+     *         or {@link Long#MAX_VALUE} if it is unknown
+     */
+    public default long getDuration()
+    {
+        return 0;
+    }
+
+    /**
+     * @return the text the item can be found by in its queue, such as a title and author,
+     *         or null if it cannot be searched for
+     */
+    public default String getSearchText()
+    {
+        return null;
+    }
 }
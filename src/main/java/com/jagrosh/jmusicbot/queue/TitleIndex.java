@@ -0,0 +1,218 @@
+/*
+ * Copyright 2026 Arif Banai (arif-banai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jagrosh.jmusicbot.queue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * A trigram index of the search text of the items in an {@link IndexedList}, such as a
+ * track's title and author. It follows the list as an observer, so finding the items that
+ * contain a fragment only looks at the items sharing its rarest trigram, never at the whole
+ * list.
+ * <p>
+ * Most queues are never searched, so the index is only built by the first lookup. It is
+ * dropped again when the list is cleared, or once the items linked and unlinked since the
+ * last lookup outnumber the items the list held then, since building it anew then costs no
+ * more than keeping it up to date would have.
+ * <p>
+ * Text is matched case-insensitively, with punctuation treated as a word break. Each word is
+ * padded with a space on both sides, so a two-character fragment still matches the start or
+ * end of a word.
+ *
+ * @param <T> the list items
+ */
+class TitleIndex<T> implements IndexedList.Observer<T>
+{
+    private final static int GRAM = 3;
+    // the edits a small list may take before its index is dropped
+    private final static int MIN_EDITS = 64;
+
+    private final IndexedList<T> list;
+    private final Function<? super T, String> texter;
+    private Map<String, Set<IndexedList.Node<T>>> grams = new HashMap<>();
+    private Map<IndexedList.Node<T>, String> texts = new HashMap<>();
+    private boolean built;
+    // the items linked and unlinked since the last lookup, and how many may be before the
+    // index is dropped
+    private int edits;
+    private int maxEdits;
+
+    /**
+     * @param list   the list to index
+     * @param texter gives the search text of an item, or null if it cannot be searched for
+     */
+    TitleIndex(IndexedList<T> list, Function<? super T, String> texter)
+    {
+        this.list = list;
+        this.texter = texter;
+    }
+
+    /**
+     * @param query a fragment of the search text
+     * @return the positions of the items whose text contains the fragment, in list order;
+     *         empty if the fragment has fewer than two letters or digits
+     */
+    int[] find(String query)
+    {
+        String fragment = normalize(query);
+        if(fragment.length() < GRAM - 1)
+            return new int[0];
+        if(!built)
+        {
+            built = true;
+            list.forEachNode(this::index);
+        }
+        edits = 0;
+        maxEdits = Math.max(MIN_EDITS, list.size());
+        Set<IndexedList.Node<T>> rarest = null;
+        if(fragment.length() < GRAM)
+        {
+            // a short fragment can only be looked up as the start or the end of a word
+            rarest = new HashSet<>(grams.getOrDefault(" " + fragment, Set.of()));
+            rarest.addAll(grams.getOrDefault(fragment + " ", Set.of()));
+        }
+        else
+        {
+            for(String gram : grams(fragment, false))
+            {
+                Set<IndexedList.Node<T>> nodes = grams.get(gram);
+                if(nodes == null)
+                    return new int[0];
+                if(rarest == null || nodes.size() < rarest.size())
+                    rarest = nodes;
+            }
+        }
+        int[] positions = new int[rarest.size()];
+        int count = 0;
+        for(IndexedList.Node<T> node : rarest)
+            if(matches(texts.get(node), fragment))
+                positions[count++] = list.rankOf(node);
+        positions = Arrays.copyOf(positions, count);
+        Arrays.sort(positions);
+        return positions;
+    }
+
+    @Override
+    public void linked(IndexedList.Node<T> node)
+    {
+        if(built && edited())
+            index(node);
+    }
+
+    private void index(IndexedList.Node<T> node)
+    {
+        String raw = texter.apply(node.getValue());
+        if(raw == null)
+            return;
+        String text = " " + normalize(raw) + " ";
+        texts.put(node, text);
+        for(String gram : grams(text, true))
+            grams.computeIfAbsent(gram, g -> new HashSet<>()).add(node);
+    }
+
+    @Override
+    public void unlinked(IndexedList.Node<T> node)
+    {
+        if(!built || !edited())
+            return;
+        String text = texts.remove(node);
+        if(text == null)
+            return;
+        for(String gram : grams(text, true))
+        {
+            Set<IndexedList.Node<T>> nodes = grams.get(gram);
+            if(nodes != null && nodes.remove(node) && nodes.isEmpty())
+                grams.remove(gram);
+        }
+    }
+
+    @Override
+    public void cleared()
+    {
+        drop();
+    }
+
+    // counts an edit, dropping the index if it is edited more than it is read
+    private boolean edited()
+    {
+        if(++edits <= maxEdits)
+            return true;
+        drop();
+        return false;
+    }
+
+    private void drop()
+    {
+        built = false;
+        edits = 0;
+        // new maps rather than cleared ones, which would keep their grown tables
+        grams = new HashMap<>();
+        texts = new HashMap<>();
+    }
+
+    private static boolean matches(String text, String fragment)
+    {
+        if(fragment.length() >= GRAM)
+            return text.contains(fragment);
+        return text.contains(" " + fragment) || text.contains(fragment + " ");
+    }
+
+    private static List<String> grams(String text, boolean distinct)
+    {
+        List<String> result = new ArrayList<>(Math.max(0, text.length() - GRAM + 1));
+        Set<String> seen = distinct ? new HashSet<>() : null;
+        for(int i = 0; i + GRAM <= text.length(); i++)
+        {
+            String gram = text.substring(i, i + GRAM);
+            if(seen == null || seen.add(gram))
+                result.add(gram);
+        }
+        return result;
+    }
+
+    // lower case, with every run of other characters than letters and digits as one space
+    static String normalize(String text)
+    {
+        StringBuilder sb = new StringBuilder(text.length());
+        boolean space = true;
+        for(int i = 0; i < text.length(); )
+        {
+            int cp = text.codePointAt(i);
+            i += Character.charCount(cp);
+            if(Character.isLetterOrDigit(cp))
+            {
+                sb.appendCodePoint(Character.toLowerCase(cp));
+                space = false;
+            }
+            else if(!space)
+            {
+                sb.append(' ');
+                space = true;
+            }
+        }
+        int end = sb.length();
+        if(end > 0 && sb.charAt(end - 1) == ' ')
+            sb.setLength(end - 1);
+        return sb.toString();
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 Arif Banai (arif-banai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jagrosh.jmusicbot.settings;
+
+import com.jagrosh.jmusicbot.utils.EnumUtil;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * What happens when a track that is already playing or queued is requested again. The
+ * {@code limit} of a guild's settings is the number of copies for {@link #COPIES}, and the
+ * number of other requests needed in between for {@link #SPACING}.
+ * <p>
+ * Spacing counts the requests made in the whole guild since the track was last requested,
+ * by anyone; it is not the distance between the copies in the queue, which changes as the
+ * queue plays, moves and is shuffled. Every track of a playlist or other bulk load is one
+ * request, checked in order, so a copy is turned away there as it would be on its own.
+ */
+public enum DuplicatePolicy
+{
+    ALLOW("Allow"),
+    REJECT("Reject"),
+    COPIES("Limit copies"),
+    SPACING("Require spacing");
+
+    private final String userFriendlyName;
+
+    DuplicatePolicy(String userFriendlyName)
+    {
+        this.userFriendlyName = userFriendlyName;
+    }
+
+    /**
+     * Parses a DuplicatePolicy from a string, returning the default value if parsing fails.
+     *
+     * @param value the string value to parse
+     * @param defaultValue the default value to return if parsing fails
+     * @return the parsed DuplicatePolicy, or defaultValue if parsing fails
+     */
+    public static DuplicatePolicy valueOfOrDefault(String value, DuplicatePolicy defaultValue)
+    {
+        return EnumUtil.valueOfOrDefault(DuplicatePolicy.class, value, defaultValue);
+    }
+
+    public static List<String> getNames()
+    {
+        return Arrays.stream(DuplicatePolicy.values())
+                .map(policy -> policy.name().toLowerCase())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @param copies        the number of copies already playing or queued
+     * @param requestsSince the number of other tracks requested since the last copy was
+     * @param limit         the guild's limit for this policy
+     * @return whether another copy may be queued
+     */
+    public boolean allows(int copies, long requestsSince, int limit)
+    {
+        return switch(this)
+        {
+            case ALLOW -> true;
+            case REJECT -> copies == 0;
+            case COPIES -> copies < limit;
+            case SPACING -> copies == 0 || requestsSince >= limit;
+        };
+    }
+
+    /**
+     * @param limit the guild's limit for this policy
+     * @return the policy as shown to users, e.g. "Limit copies (2)"
+     */
+    public String describe(int limit)
+    {
+        return this == ALLOW || this == REJECT ? userFriendlyName : userFriendlyName + " (" + limit + ")";
+    }
+
+    /**
+     * @param limit the guild's limit for this policy
+     * @return why a duplicate was turned away
+     */
+    public String getRejection(int limit)
+    {
+        return switch(this)
+        {
+            case ALLOW -> "";
+            case REJECT -> "That track is already in the queue.";
+            case COPIES -> "That track is already in the queue " + limit + " time" + (limit == 1 ? "" : "s") + ".";
+            case SPACING -> "That track was requested too recently; " + limit + " other track"
+                    + (limit == 1 ? " needs" : "s need") + " to be requested first.";
+        };
+    }
+
+    public String getUserFriendlyName()
+    {
+        return userFriendlyName;
+    }
+}
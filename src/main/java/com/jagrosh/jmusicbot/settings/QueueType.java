@@ -63,6 +63,12 @@ public enum QueueType
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Creates a queue of this type, migrating the entries of the previous queue (if any) into it.
+     *
+     * @param previous the queue being replaced, or {@code null}
+     * @return a new queue holding the previous queue's entries in the same order
+     */
     public <T extends Queueable> AbstractQueue<T> createInstance(AbstractQueue<T> previous)
     {
         return supplier.apply(previous);
@@ -40,8 +40,10 @@ public class Settings implements GuildSettingsProvider
     private QueueType queueType;
     private String prefix;
     private double skipRatio;
+    private DuplicatePolicy duplicatePolicy;
+    private int duplicateLimit;
 
-    public Settings(SettingsManager manager, String textId, String voiceId, String roleId, int volume, String defaultPlaylist, RepeatMode repeatMode, String prefix, double skipRatio, QueueType queueType)
+    public Settings(SettingsManager manager, String textId, String voiceId, String roleId, int volume, String defaultPlaylist, RepeatMode repeatMode, String prefix, double skipRatio, QueueType queueType, DuplicatePolicy duplicatePolicy, int duplicateLimit)
     {
         this.manager = manager;
         try
@@ -74,9 +76,11 @@ public class Settings implements GuildSettingsProvider
         this.prefix = prefix;
         this.skipRatio = skipRatio;
         this.queueType = queueType;
+        this.duplicatePolicy = duplicatePolicy;
+        this.duplicateLimit = duplicateLimit;
     }
     
-    public Settings(SettingsManager manager, long textId, long voiceId, long roleId, int volume, String defaultPlaylist, RepeatMode repeatMode, String prefix, double skipRatio, QueueType queueType)
+    public Settings(SettingsManager manager, long textId, long voiceId, long roleId, int volume, String defaultPlaylist, RepeatMode repeatMode, String prefix, double skipRatio, QueueType queueType, DuplicatePolicy duplicatePolicy, int duplicateLimit)
     {
         this.manager = manager;
         this.textId = textId;
@@ -88,6 +92,8 @@ public class Settings implements GuildSettingsProvider
         this.prefix = prefix;
         this.skipRatio = skipRatio;
         this.queueType = queueType;
+        this.duplicatePolicy = duplicatePolicy;
+        this.duplicateLimit = duplicateLimit;
     }
     
     // Getters
@@ -136,6 +142,16 @@ public class Settings implements GuildSettingsProvider
         return queueType;
     }
 
+    public DuplicatePolicy getDuplicatePolicy()
+    {
+        return duplicatePolicy;
+    }
+
+    public int getDuplicateLimit()
+    {
+        return duplicateLimit;
+    }
+
     @Override
     public Collection<String> getPrefixes()
     {
@@ -196,4 +212,11 @@ public class Settings implements GuildSettingsProvider
         this.queueType = queueType;
         this.manager.writeSettings();
     }
+
+    public void setDuplicatePolicy(DuplicatePolicy duplicatePolicy, int duplicateLimit)
+    {
+        this.duplicatePolicy = duplicatePolicy;
+        this.duplicateLimit = duplicateLimit;
+        this.manager.writeSettings();
+    }
 }
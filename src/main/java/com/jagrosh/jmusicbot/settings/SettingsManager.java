@@ -69,7 +69,9 @@ public class SettingsManager implements GuildSettingsManager<Settings>
                             o.has("repeat_mode")     ? RepeatMode.valueOfOrDefault(o.get("repeat_mode").asText(), RepeatMode.OFF) : RepeatMode.OFF,
                             o.has("prefix")          ? o.get("prefix").asText()                     : null,
                             o.has("skip_ratio")      ? o.get("skip_ratio").asDouble()                 : -1,
-                            o.has("queue_type")      ? QueueType.valueOfOrDefault(o.get("queue_type").asText(), QueueType.FAIR)  : QueueType.FAIR));
+                            o.has("queue_type")      ? QueueType.valueOfOrDefault(o.get("queue_type").asText(), QueueType.FAIR)  : QueueType.FAIR,
+                            o.has("duplicate_policy")? DuplicatePolicy.valueOfOrDefault(o.get("duplicate_policy").asText(), DuplicatePolicy.ALLOW) : DuplicatePolicy.ALLOW,
+                            o.has("duplicate_limit") ? o.get("duplicate_limit").asInt()               : 0));
                 }
             }
         } catch (NoSuchFileException e) {
@@ -108,7 +110,7 @@ public class SettingsManager implements GuildSettingsManager<Settings>
 
     private Settings createDefaultSettings()
     {
-        return new Settings(this, 0, 0, 0, 100, null, RepeatMode.OFF, null, -1, QueueType.FAIR);
+        return new Settings(this, 0, 0, 0, 100, null, RepeatMode.OFF, null, -1, QueueType.FAIR, DuplicatePolicy.ALLOW, 0);
     }
 
     protected void writeSettings()
@@ -135,6 +137,10 @@ public class SettingsManager implements GuildSettingsManager<Settings>
                 o.put("skip_ratio", s.getSkipRatio());
             if(s.getQueueType() != QueueType.FAIR)
                 o.put("queue_type", s.getQueueType().name());
+            if(s.getDuplicatePolicy() != DuplicatePolicy.ALLOW)
+                o.put("duplicate_policy", s.getDuplicatePolicy().name());
+            if(s.getDuplicateLimit() != 0)
+                o.put("duplicate_limit", s.getDuplicateLimit());
             obj.set(Long.toString(key), o);
         });
         try {
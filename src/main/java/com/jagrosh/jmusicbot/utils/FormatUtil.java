@@ -29,6 +29,15 @@ import java.util.List;
  */
 public class FormatUtil {
 
+    /**
+     * @param eta the time in milliseconds until a track plays, or -1 if it is unknown
+     * @return a suffix for replies about queued tracks, or an empty string
+     */
+    public static String formatEta(long eta)
+    {
+        return eta < 0 ? "" : " (plays in ~`" + TimeUtil.formatTime(eta) + "`)";
+    }
+
     public static String formatUsername(String username, String discrim)
     {
         if(discrim == null || discrim.equals("0000"))
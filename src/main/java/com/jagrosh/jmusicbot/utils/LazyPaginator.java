@@ -0,0 +1,175 @@
+/*
+ * Copyright 2026 Arif Banai (arif-banai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jagrosh.jmusicbot.utils;
+
+import com.jagrosh.jdautilities.commons.waiter.EventWaiter;
+import net.dv8tion.jda.api.EmbedBuilder;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.entities.UserSnowflake;
+import net.dv8tion.jda.api.entities.channel.middleman.MessageChannel;
+import net.dv8tion.jda.api.entities.emoji.Emoji;
+import net.dv8tion.jda.api.events.message.react.MessageReactionAddEvent;
+import net.dv8tion.jda.api.exceptions.PermissionException;
+import net.dv8tion.jda.api.utils.messages.MessageCreateBuilder;
+import net.dv8tion.jda.api.utils.messages.MessageCreateData;
+import net.dv8tion.jda.api.utils.messages.MessageEditData;
+
+import java.awt.Color;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A reaction paginator in the layout of the chewtils {@code Paginator}, except that
+ * only the items of the page being shown are loaded and rendered. The chewtils one needs
+ * every item as a string up front, which for a long queue means copying and formatting
+ * thousands of entries to show ten of them.
+ */
+public class LazyPaginator
+{
+    public final static String LEFT  = "\u25C0"; // ◀
+    public final static String STOP  = "\u23F9"; // ⏹
+    public final static String RIGHT = "\u25B6"; // ▶
+
+    private final EventWaiter waiter;
+    private final int itemsPerPage;
+    private final long timeout;
+    private final TimeUnit unit;
+
+    public LazyPaginator(EventWaiter waiter, int itemsPerPage, long timeout, TimeUnit unit)
+    {
+        this.waiter = waiter;
+        this.itemsPerPage = itemsPerPage;
+        this.timeout = timeout;
+        this.unit = unit;
+    }
+
+    /**
+     * Shows one page of the items, and lets the user flip through the others with reactions
+     * until the menu times out or is stopped.
+     *
+     * @param channel  the channel to send the menu to
+     * @param user     the user allowed to flip pages
+     * @param count    the number of items, which sets the number of pages
+     * @param loader   loads the items from a first index (inclusive) to a last one
+     *                 (exclusive), called for each page as it is shown; it may return fewer
+     *                 items if there are no longer as many
+     * @param renderer renders one item; only called for the items of the page shown
+     * @param text     the message content for a page number and the number of pages
+     * @param color    the color of the embed
+     * @param pageNum  the page to show first
+     */
+    public <T> void paginate(MessageChannel channel, User user, int count, BiFunction<Integer, Integer, List<T>> loader,
+                             Function<T, String> renderer, BiFunction<Integer, Integer, String> text, Color color, int pageNum)
+    {
+        Menu<T> menu = new Menu<>(user.getIdLong(), count, loader, renderer, text, color);
+        int page = Math.min(Math.max(pageNum, 1), menu.pages);
+        channel.sendMessage(menu.render(page)).queue(m ->
+        {
+            if(menu.pages < 2)
+                return;
+            m.addReaction(Emoji.fromUnicode(LEFT)).queue();
+            m.addReaction(Emoji.fromUnicode(STOP)).queue();
+            m.addReaction(Emoji.fromUnicode(RIGHT)).queue(v -> menu.await(m, page), t -> menu.await(m, page));
+        });
+    }
+
+    private static void finish(Message message)
+    {
+        try
+        {
+            message.clearReactions().queue();
+        }
+        catch(PermissionException ignore)
+        {
+            // do nothing
+        }
+    }
+
+    private class Menu<T>
+    {
+        private final long userId;
+        private final BiFunction<Integer, Integer, List<T>> loader;
+        private final Function<T, String> renderer;
+        private final BiFunction<Integer, Integer, String> text;
+        private final Color color;
+        private final int pages;
+
+        private Menu(long userId, int count, BiFunction<Integer, Integer, List<T>> loader, Function<T, String> renderer,
+                     BiFunction<Integer, Integer, String> text, Color color)
+        {
+            this.userId = userId;
+            this.loader = loader;
+            this.renderer = renderer;
+            this.text = text;
+            this.color = color;
+            this.pages = Math.max(1, (count + itemsPerPage - 1) / itemsPerPage);
+        }
+
+        private MessageCreateData render(int page)
+        {
+            int start = (page - 1) * itemsPerPage;
+            List<T> items = loader.apply(start, start + itemsPerPage);
+            StringBuilder sb = new StringBuilder();
+            for(int i = 0; i < items.size(); i++)
+                sb.append("\n`").append(start + i + 1).append(".` ").append(renderer.apply(items.get(i)));
+            EmbedBuilder eb = new EmbedBuilder()
+                    .setColor(color)
+                    .setDescription(sb.toString())
+                    .setFooter("Page " + page + "/" + pages, null);
+            return new MessageCreateBuilder()
+                    .setContent(text.apply(page, pages))
+                    .setEmbeds(eb.build())
+                    .build();
+        }
+
+        private void await(Message message, int page)
+        {
+            waiter.waitForEvent(MessageReactionAddEvent.class,
+                    event -> event.getMessageIdLong() == message.getIdLong() && event.getUserIdLong() == userId
+                            && isControl(event.getEmoji().getName()),
+                    event ->
+                    {
+                        String name = event.getEmoji().getName();
+                        if(STOP.equals(name))
+                        {
+                            finish(message);
+                            return;
+                        }
+                        int next = LEFT.equals(name)
+                                ? (page == 1 ? pages : page - 1)
+                                : (page == pages ? 1 : page + 1);
+                        try
+                        {
+                            event.getReaction().removeReaction(UserSnowflake.fromId(userId)).queue();
+                        }
+                        catch(PermissionException ignore)
+                        {
+                            // do nothing
+                        }
+                        message.editMessage(MessageEditData.fromCreateData(render(next))).queue(m -> await(m, next));
+                    },
+                    timeout, unit, () -> finish(message));
+        }
+
+        private boolean isControl(String name)
+        {
+            return LEFT.equals(name) || STOP.equals(name) || RIGHT.equals(name);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 Arif Banai (arif-banai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jagrosh.jmusicbot.benchmark;
+
+import com.sedmelluq.discord.lavaplayer.format.StandardAudioDataFormats;
+import com.sedmelluq.discord.lavaplayer.player.AudioPlayer;
+import com.sedmelluq.discord.lavaplayer.player.DefaultAudioPlayerManager;
+import com.sedmelluq.discord.lavaplayer.track.playback.MutableAudioFrame;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures the CPU time the sending thread spends per {@code canProvide} call of a guild that
+ * is connected with nothing playing, for the old path (asking the idle player for a frame)
+ * and the one {@link com.jagrosh.jmusicbot.audio.AudioHandler} uses now (one volatile read
+ * while the handler is idle). JDA makes the call every 20 ms for every connection.
+ * <p>
+ * Run with {@code mvn verify -Pbenchmark}.
+ */
+@DisplayName("Idle send path benchmark")
+class IdleSendPathBenchmark
+{
+    private static final int CONNECTIONS = 500;
+    private static final int WARMUP_ROUNDS = 2_000;
+    private static final int ROUNDS = 20_000;
+
+    private DefaultAudioPlayerManager manager;
+    private volatile boolean idle = true;
+
+    @AfterEach
+    void tearDown()
+    {
+        if(manager != null)
+            manager.shutdown();
+    }
+
+    @Test
+    @DisplayName("Reports the CPU time per call of each idle path")
+    void compareIdlePaths()
+    {
+        manager = new DefaultAudioPlayerManager();
+        AudioPlayer[] players = new AudioPlayer[CONNECTIONS];
+        for(int i = 0; i < CONNECTIONS; i++)
+            players[i] = manager.createPlayer();
+        MutableAudioFrame frame = new MutableAudioFrame();
+        frame.setBuffer(ByteBuffer.allocate(StandardAudioDataFormats.DISCORD_OPUS.maximumChunkSize()));
+
+        long providing = measure(() ->
+        {
+            int sent = 0;
+            for(AudioPlayer player : players)
+                if(player.provide(frame))
+                    sent++;
+            return sent;
+        });
+        long reading = measure(() ->
+        {
+            int sent = 0;
+            for(int i = 0; i < CONNECTIONS; i++)
+                if(!idle)
+                    sent++;
+            return sent;
+        });
+
+        long calls = (long) ROUNDS * CONNECTIONS;
+        System.out.printf("idle player provide: %,.1f ns per call%n", (double) providing / calls);
+        System.out.printf("idle flag read:      %,.1f ns per call%n", (double) reading / calls);
+        System.out.printf("%d idle connections: %,.2f%% of a core before, %,.2f%% after%n", CONNECTIONS,
+                share(providing), share(reading));
+        assertTrue(reading < providing, "the idle flag should be cheaper than asking the player");
+    }
+
+    // CPU time of this thread for the rounds, after a warmup
+    private static long measure(Round round)
+    {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        int sent = 0;
+        for(int i = 0; i < WARMUP_ROUNDS; i++)
+            sent += round.run();
+        long before = threads.getCurrentThreadCpuTime();
+        for(int i = 0; i < ROUNDS; i++)
+            sent += round.run();
+        long spent = threads.getCurrentThreadCpuTime() - before;
+        assertTrue(sent == 0, "an idle connection sent a frame");
+        return spent;
+    }
+
+    // the share of one core the connections would take at one call each every 20 ms
+    private static double share(long nanos)
+    {
+        return 100.0 * nanos / ROUNDS / 20_000_000;
+    }
+
+    private interface Round
+    {
+        int run();
+    }
+}
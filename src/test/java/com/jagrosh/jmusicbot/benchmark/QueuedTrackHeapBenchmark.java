@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 Arif Banai (arif-banai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jagrosh.jmusicbot.benchmark;
+
+import com.jagrosh.jmusicbot.audio.EncodedQueuedTrack;
+import com.jagrosh.jmusicbot.audio.QueuedTrack;
+import com.jagrosh.jmusicbot.audio.RequestMetadata;
+import com.sedmelluq.discord.lavaplayer.container.MediaContainer;
+import com.sedmelluq.discord.lavaplayer.container.MediaContainerDescriptor;
+import com.sedmelluq.discord.lavaplayer.container.MediaContainerRegistry;
+import com.sedmelluq.discord.lavaplayer.player.DefaultAudioPlayerManager;
+import com.sedmelluq.discord.lavaplayer.source.http.HttpAudioSourceManager;
+import com.sedmelluq.discord.lavaplayer.source.http.HttpAudioTrack;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrackInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the retained heap of decoded {@link QueuedTrack} entries with
+ * {@link EncodedQueuedTrack} entries, for the same playlist queued in many guilds.
+ * <p>
+ * Run with {@code mvn verify -Pbenchmark}.
+ */
+@DisplayName("Queued track heap benchmark")
+class QueuedTrackHeapBenchmark
+{
+    private static final int GUILDS = 40;
+    private static final int PLAYLIST_SIZE = 1000;
+
+    private DefaultAudioPlayerManager manager;
+    private HttpAudioSourceManager source;
+
+    @BeforeEach
+    void setUp()
+    {
+        manager = new DefaultAudioPlayerManager();
+        source = new HttpAudioSourceManager(MediaContainerRegistry.DEFAULT_REGISTRY);
+        manager.registerSourceManager(source);
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        manager.shutdown();
+    }
+
+    @Test
+    @DisplayName("Reports the retained heap of decoded and encoded entries")
+    void compareRetainedHeap() throws InterruptedException
+    {
+        long baseline = usedHeap();
+        List<List<QueuedTrack>> decoded = new ArrayList<>();
+        for(int guild = 0; guild < GUILDS; guild++)
+            decoded.add(loadPlaylist(guild));
+        long decodedBytes = usedHeap() - baseline;
+
+        List<List<QueuedTrack>> encoded = new ArrayList<>();
+        for(List<QueuedTrack> queue : decoded)
+            encoded.add(EncodedQueuedTrack.encodeAll(manager, queue));
+        decoded.clear();
+        long encodedBytes = usedHeap() - baseline;
+
+        int entries = GUILDS * PLAYLIST_SIZE;
+        System.out.printf("decoded: %,d bytes (%,d per entry)%n", decodedBytes, decodedBytes / entries);
+        System.out.printf("encoded: %,d bytes (%,d per entry)%n", encodedBytes, encodedBytes / entries);
+
+        QueuedTrack entry = encoded.get(0).get(PLAYLIST_SIZE - 1);
+        AudioTrack track = entry.getTrack();
+        assertEquals(entry.getTitle(), track.getInfo().title);
+        assertEquals(entry.getUri(), track.getInfo().uri);
+        assertEquals(entry.getUri(), track.getUserData(RequestMetadata.class).requestInfo.url);
+    }
+
+    // every guild loads the playlist on its own, so nothing is shared between the copies
+    private List<QueuedTrack> loadPlaylist(int guild)
+    {
+        List<QueuedTrack> queue = new ArrayList<>(PLAYLIST_SIZE);
+        for(int i = 0; i < PLAYLIST_SIZE; i++)
+        {
+            String uri = "https://example.com/music/" + i + ".mp3";
+            AudioTrackInfo info = new AudioTrackInfo("Track number " + i + " (Official Audio)", "Artist " + (i % 50),
+                    180_000L + i, uri, false, uri, null, null);
+            AudioTrack track = new HttpAudioTrack(info, new MediaContainerDescriptor(MediaContainer.MP3.probe, null), source);
+            RequestMetadata.UserInfo user = new RequestMetadata.UserInfo(guild, "user" + guild, "0000",
+                    "https://cdn.discordapp.com/embed/avatars/0.png");
+            queue.add(new QueuedTrack(track, new RequestMetadata(user,
+                    new RequestMetadata.RequestInfo("https://example.com/playlist", uri))));
+        }
+        return queue;
+    }
+
+    private static long usedHeap() throws InterruptedException
+    {
+        Runtime runtime = Runtime.getRuntime();
+        for(int i = 0; i < 5; i++)
+        {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2026 Arif Banai (arif-banai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jagrosh.jmusicbot.benchmark;
+
+import com.sedmelluq.discord.lavaplayer.format.StandardAudioDataFormats;
+import com.sedmelluq.discord.lavaplayer.player.AudioLoadResultHandler;
+import com.sedmelluq.discord.lavaplayer.player.AudioPlayer;
+import com.sedmelluq.discord.lavaplayer.player.DefaultAudioPlayerManager;
+import com.sedmelluq.discord.lavaplayer.source.local.LocalAudioSourceManager;
+import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
+import com.sedmelluq.discord.lavaplayer.track.AudioPlaylist;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrame;
+import com.sedmelluq.discord.lavaplayer.track.playback.MutableAudioFrame;
+import com.sedmelluq.discord.lavaplayer.track.playback.NonAllocatingAudioFrameBuffer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures the bytes the sending thread allocates per 20 ms frame, for the old send path
+ * ({@code provide()} and a wrapping {@link ByteBuffer} per frame) and for the one
+ * {@link com.jagrosh.jmusicbot.audio.AudioHandler} uses now (a {@link MutableAudioFrame} over
+ * one reused buffer, with players decoding into a {@link NonAllocatingAudioFrameBuffer}).
+ * <p>
+ * Run with {@code mvn verify -Pbenchmark}.
+ */
+@DisplayName("Send path allocation benchmark")
+class SendPathAllocationBenchmark
+{
+    private static final int SAMPLE_RATE = 48000;
+    private static final int SECONDS = 10;
+    private static final int WARMUP_FRAMES = 20;
+    private static final int FRAMES = 200;
+
+    @TempDir
+    Path folder;
+
+    private DefaultAudioPlayerManager manager;
+
+    @AfterEach
+    void tearDown()
+    {
+        if(manager != null)
+            manager.shutdown();
+    }
+
+    @Test
+    @DisplayName("Reports the bytes allocated per frame by each send path")
+    void compareAllocations() throws Exception
+    {
+        Path wav = writeTone(folder.resolve("tone.wav"));
+
+        manager = newManager(false);
+        AudioPlayer allocating = startPlayer(wav);
+        long allocatingBytes = measure(() ->
+        {
+            AudioFrame frame = allocating.provide();
+            return frame != null && ByteBuffer.wrap(frame.getData()).hasRemaining();
+        });
+        manager.shutdown();
+
+        manager = newManager(true);
+        AudioPlayer reusing = startPlayer(wav);
+        ByteBuffer buffer = ByteBuffer.allocate(StandardAudioDataFormats.DISCORD_OPUS.maximumChunkSize());
+        MutableAudioFrame mutable = new MutableAudioFrame();
+        mutable.setBuffer(buffer);
+        long reusingBytes = measure(() -> reusing.provide(mutable) && buffer.flip().hasRemaining());
+
+        System.out.printf("allocating send path: %,d bytes per frame%n", allocatingBytes / FRAMES);
+        System.out.printf("reusing send path:    %,d bytes per frame%n", reusingBytes / FRAMES);
+        assertTrue(reusingBytes < FRAMES, "the reusing path should allocate nothing per frame, allocated " + reusingBytes);
+        assertTrue(reusingBytes < allocatingBytes);
+    }
+
+    private static DefaultAudioPlayerManager newManager(boolean nonAllocating)
+    {
+        DefaultAudioPlayerManager manager = new DefaultAudioPlayerManager();
+        if(nonAllocating)
+            manager.getConfiguration().setFrameBufferFactory(NonAllocatingAudioFrameBuffer::new);
+        manager.registerSourceManager(new LocalAudioSourceManager());
+        return manager;
+    }
+
+    // starts the tone, and gives the player time to fill its frame buffer
+    private AudioPlayer startPlayer(Path wav) throws Exception
+    {
+        CompletableFuture<AudioTrack> loaded = new CompletableFuture<>();
+        manager.loadItem(wav.toString(), new AudioLoadResultHandler()
+        {
+            @Override
+            public void trackLoaded(AudioTrack track)
+            {
+                loaded.complete(track);
+            }
+
+            @Override
+            public void playlistLoaded(AudioPlaylist playlist)
+            {
+                loaded.completeExceptionally(new IllegalStateException("Expected a single track"));
+            }
+
+            @Override
+            public void noMatches()
+            {
+                loaded.completeExceptionally(new IllegalStateException("No track in " + wav));
+            }
+
+            @Override
+            public void loadFailed(FriendlyException exception)
+            {
+                loaded.completeExceptionally(exception);
+            }
+        });
+        AudioPlayer player = manager.createPlayer();
+        player.playTrack(loaded.get(10, TimeUnit.SECONDS));
+        Thread.sleep(1000);
+        return player;
+    }
+
+    // bytes allocated by this thread while reading the frames, after a warmup
+    private static long measure(FrameReader reader) throws InterruptedException
+    {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        read(reader, WARMUP_FRAMES);
+        long before = threads.getCurrentThreadAllocatedBytes();
+        read(reader, FRAMES);
+        return threads.getCurrentThreadAllocatedBytes() - before;
+    }
+
+    private static void read(FrameReader reader, int frames) throws InterruptedException
+    {
+        int read = 0;
+        while(read < frames)
+        {
+            if(reader.next())
+                read++;
+            else
+                Thread.sleep(5);
+        }
+    }
+
+    // a stereo 16-bit sine wave, which lavaplayer has to encode to opus frame by frame
+    private static Path writeTone(Path file) throws IOException
+    {
+        int samples = SAMPLE_RATE * SECONDS;
+        int dataSize = samples * 4;
+        try(OutputStream stream = Files.newOutputStream(file);
+            DataOutputStream out = new DataOutputStream(stream))
+        {
+            out.writeBytes("RIFF");
+            out.writeInt(Integer.reverseBytes(36 + dataSize));
+            out.writeBytes("WAVEfmt ");
+            out.writeInt(Integer.reverseBytes(16));
+            out.writeShort(Short.reverseBytes((short) 1));
+            out.writeShort(Short.reverseBytes((short) 2));
+            out.writeInt(Integer.reverseBytes(SAMPLE_RATE));
+            out.writeInt(Integer.reverseBytes(SAMPLE_RATE * 4));
+            out.writeShort(Short.reverseBytes((short) 4));
+            out.writeShort(Short.reverseBytes((short) 16));
+            out.writeBytes("data");
+            out.writeInt(Integer.reverseBytes(dataSize));
+            for(int i = 0; i < samples; i++)
+            {
+                short sample = (short) (Math.sin(2 * Math.PI * 440 * i / SAMPLE_RATE) * 8000);
+                out.writeShort(Short.reverseBytes(sample));
+                out.writeShort(Short.reverseBytes(sample));
+            }
+        }
+        return file;
+    }
+
+    private interface FrameReader
+    {
+        boolean next();
+    }
+}
@@ -55,20 +55,24 @@ public final class ConfigTestConstants {
         aliases.put("playlists", List.of("pls"));
         aliases.put("queue", List.of("list"));
         aliases.put("remove", List.of("delete"));
+        aliases.put("replay", List.of());
         aliases.put("scsearch", List.of());
         aliases.put("search", List.of("ytsearch"));
         aliases.put("shuffle", List.of());
         aliases.put("skip", List.of("voteskip"));
+        aliases.put("duplicates", List.of("dupes"));
         aliases.put("prefix", List.of("setprefix"));
         aliases.put("setdj", List.of());
         aliases.put("setskip", List.of("setskippercent", "skippercent", "setskipratio"));
         aliases.put("settc", List.of());
         aliases.put("setvc", List.of());
+        aliases.put("broadcast", List.of("radio"));
         aliases.put("forceremove", List.of("forcedelete", "modremove", "moddelete", "modelete"));
         aliases.put("forceskip", List.of("modskip"));
         aliases.put("movetrack", List.of("move"));
         aliases.put("pause", List.of());
         aliases.put("playnext", List.of());
+        aliases.put("previous", List.of("back", "prev"));
         aliases.put("queuetype", List.of());
         aliases.put("repeat", List.of());
         aliases.put("skipto", List.of("jumpto"));
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2026 Arif Banai (arif-banai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jagrosh.jmusicbot.unit.audio;
+
+import com.jagrosh.jmusicbot.audio.BitrateTier;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks which {@link BitrateTier} a voice channel's bitrate falls into.
+ */
+@DisplayName("BitrateTier Unit Tests")
+class BitrateTierTest
+{
+    @Test
+    @DisplayName("Bitrates fall into the lowest tier that covers them")
+    void picksTierByBitrate()
+    {
+        assertSame(BitrateTier.LOW, BitrateTier.of(8_000));
+        assertSame(BitrateTier.LOW, BitrateTier.of(64_000));
+        assertSame(BitrateTier.STANDARD, BitrateTier.of(96_000));
+        assertSame(BitrateTier.STANDARD, BitrateTier.of(128_000));
+        assertSame(BitrateTier.HIGH, BitrateTier.of(384_000));
+    }
+
+    @Test
+    @DisplayName("Lower tiers encode with less effort")
+    void lowerTiersEncodeCheaper()
+    {
+        assertTrue(BitrateTier.LOW.getOpusEncodingQuality() < BitrateTier.STANDARD.getOpusEncodingQuality());
+        assertTrue(BitrateTier.STANDARD.getOpusEncodingQuality() < BitrateTier.HIGH.getOpusEncodingQuality());
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2026 Arif Banai (arif-banai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jagrosh.jmusicbot.unit.audio;
+
+import com.jagrosh.jmusicbot.Bot;
+import com.jagrosh.jmusicbot.BotConfig;
+import com.jagrosh.jmusicbot.audio.Broadcast;
+import com.jagrosh.jmusicbot.audio.BroadcastManager;
+import com.jagrosh.jmusicbot.audio.PlayerManager;
+import com.jagrosh.jmusicbot.playlist.PlaylistLoader;
+import com.sedmelluq.discord.lavaplayer.player.AudioLoadResultHandler;
+import com.sedmelluq.discord.lavaplayer.player.AudioPlayer;
+import com.sedmelluq.discord.lavaplayer.track.AudioPlaylist;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrackEndReason;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks that a {@link Broadcast} loops over every item of its playlist, in order, however the
+ * items arrive as they load.
+ */
+@DisplayName("Broadcast Unit Tests")
+class BroadcastTest
+{
+    @TempDir
+    Path folder;
+
+    @Test
+    @DisplayName("Tracks of later items join the loop without restarting it")
+    void loopsOverEveryItemInOrder() throws IOException
+    {
+        Files.write(folder.resolve("mix.txt"), Arrays.asList("first", "nested", "last"));
+        AudioTrack first = track();
+        AudioTrack second = track();
+        AudioTrack third = track();
+        AudioTrack last = track();
+        AudioPlaylist nested = mock(AudioPlaylist.class);
+        when(nested.getTracks()).thenReturn(Arrays.asList(second, third));
+        Map<String, Object> items = Map.of("first", first, "nested", nested, "last", last);
+
+        AudioPlayer player = mock(AudioPlayer.class);
+        BroadcastManager broadcasts = new BroadcastManager(manager(player, items));
+        Broadcast broadcast = broadcasts.join("mix").getBroadcast();
+
+        // each track ends in turn, the loop goes on from the start
+        for(int i = 0; i < 4; i++)
+            broadcast.onTrackEnd(player, null, AudioTrackEndReason.FINISHED);
+
+        ArgumentCaptor<AudioTrack> played = ArgumentCaptor.forClass(AudioTrack.class);
+        verify(player, times(5)).playTrack(played.capture());
+        assertEquals(Arrays.asList(first, second, third, last, first), played.getAllValues());
+    }
+
+    // a player manager that loads each playlist item at once, into a track or a playlist
+    private PlayerManager manager(AudioPlayer player, Map<String, Object> items)
+    {
+        BotConfig config = mock(BotConfig.class);
+        when(config.getPlaylistsFolder()).thenReturn(folder.toString());
+        Bot bot = mock(Bot.class);
+        when(bot.getPlaylistLoader()).thenReturn(new PlaylistLoader(config));
+        PlayerManager manager = mock(PlayerManager.class);
+        when(manager.getBot()).thenReturn(bot);
+        when(manager.createPlayer()).thenReturn(player);
+        when(manager.loadItemOrdered(any(), anyString(), any())).thenAnswer(invocation ->
+        {
+            Object item = items.get(invocation.<String>getArgument(1));
+            AudioLoadResultHandler handler = invocation.getArgument(2);
+            if(item instanceof AudioTrack)
+                handler.trackLoaded((AudioTrack) item);
+            else
+                handler.playlistLoaded((AudioPlaylist) item);
+            return null;
+        });
+        return manager;
+    }
+
+    // a track that is its own clone, so the player is handed the playlist's tracks themselves
+    private static AudioTrack track()
+    {
+        AudioTrack track = mock(AudioTrack.class);
+        when(track.makeClone()).thenReturn(track);
+        return track;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 Arif Banai (arif-banai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jagrosh.jmusicbot.unit.audio;
+
+import com.jagrosh.jmusicbot.audio.EngineProfile;
+import com.jagrosh.jmusicbot.audio.EngineSettings;
+import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration.ResamplingQuality;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Checks how an {@link EngineProfile} and the config's overrides resolve into {@link EngineSettings}.
+ */
+@DisplayName("EngineSettings Unit Tests")
+class EngineSettingsTest
+{
+    @Test
+    @DisplayName("Profiles are found by their config name")
+    void findsProfilesByConfigName()
+    {
+        assertSame(EngineProfile.LOW_CPU, EngineProfile.fromConfigName("low-cpu"));
+        assertSame(EngineProfile.HIGH_QUALITY, EngineProfile.fromConfigName("High-Quality"));
+        assertNull(EngineProfile.fromConfigName("turbo"));
+    }
+
+    @Test
+    @DisplayName("Without overrides the profile's values apply")
+    void usesProfileValues()
+    {
+        EngineSettings settings = EngineSettings.of(EngineProfile.LOW_LATENCY);
+        assertEquals(EngineProfile.LOW_LATENCY.getFrameBufferMillis(), settings.getFrameBufferMillis());
+        assertEquals(EngineProfile.LOW_LATENCY.getResamplingQuality(), settings.getResamplingQuality());
+        assertEquals(EngineProfile.LOW_LATENCY.getOpusEncodingQuality(), settings.getOpusEncodingQuality());
+        assertEquals(EngineProfile.LOW_LATENCY.getItemLoaderThreads(), settings.getItemLoaderThreads());
+        assertEquals(EngineProfile.LOW_LATENCY.getTrackStuckThresholdMillis(), settings.getTrackStuckThresholdMillis());
+        assertEquals(EngineProfile.LOW_LATENCY.getPlayerCleanupThresholdMillis(), settings.getPlayerCleanupThresholdMillis());
+    }
+
+    @Test
+    @DisplayName("Overrides replace single values of the profile")
+    void appliesOverrides()
+    {
+        EngineSettings settings = EngineSettings.of(EngineProfile.DEFAULT, 2500, ResamplingQuality.MEDIUM, 0, 0, 0, 90_000);
+        assertEquals(2500, settings.getFrameBufferMillis());
+        assertEquals(ResamplingQuality.MEDIUM, settings.getResamplingQuality());
+        assertEquals(0, settings.getOpusEncodingQuality());
+        assertEquals(EngineProfile.DEFAULT.getItemLoaderThreads(), settings.getItemLoaderThreads());
+        assertEquals(EngineProfile.DEFAULT.getTrackStuckThresholdMillis(), settings.getTrackStuckThresholdMillis());
+        assertEquals(90_000, settings.getPlayerCleanupThresholdMillis());
+        assertEquals(10, EngineSettings.of(EngineProfile.LOW_CPU, 0, null, 42, 0, 0, 0).getOpusEncodingQuality());
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2026 Arif Banai (arif-banai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jagrosh.jmusicbot.unit.audio;
+
+import com.jagrosh.jmusicbot.audio.FrameCache;
+import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that {@link FrameCache} gives back the frames it recorded, written straight away or by
+ * its writer thread, seeks by frame index, keeps the quality of the frames and stays under its
+ * size.
+ */
+@DisplayName("FrameCache Unit Tests")
+class FrameCacheTest
+{
+    @TempDir
+    Path folder;
+
+    @Test
+    @DisplayName("Reads back the recorded frames and seeks by frame index")
+    void readsBackRecordedFrames() throws IOException
+    {
+        FrameCache cache = new FrameCache(folder, 1 << 20);
+        String key = FrameCache.key("youtube", "dQw4w9WgXcQ");
+        record(cache, key, 100);
+        assertTrue(cache.contains(key));
+
+        try(FrameCache.Reader reader = cache.open(key))
+        {
+            assertEquals(100, reader.getFrameCount());
+            for(int i = 0; i < 100; i++)
+                assertFrame(i, reader.next());
+            assertNull(reader.next());
+
+            reader.seek(42);
+            assertFrame(42, reader.next());
+            assertEquals(43, reader.getPosition());
+            reader.seek(500);
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    @DisplayName("Keeps nothing of a recording that is not committed")
+    void dropsUncommittedRecordings() throws IOException
+    {
+        FrameCache cache = new FrameCache(folder, 1 << 20);
+        String key = FrameCache.key("youtube", "abc");
+        try(FrameCache.Recorder recorder = cache.record(key, AudioConfiguration.OPUS_QUALITY_MAX))
+        {
+            recorder.append(new byte[] {1, 2, 3}, 0, 3);
+        }
+        assertFalse(cache.contains(key));
+        assertNull(cache.open(key));
+        try(Stream<Path> files = Files.list(folder))
+        {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Evicts the tracks read least recently, and reopens what is left")
+    void evictsLeastRecentlyRead() throws IOException
+    {
+        FrameCache cache = new FrameCache(folder, 1200);
+        String first = FrameCache.key("soundcloud", "1");
+        String second = FrameCache.key("soundcloud", "2");
+        String third = FrameCache.key("soundcloud", "3");
+        record(cache, first, 60);
+        record(cache, second, 60);
+        cache.open(first).close();
+        record(cache, third, 60);
+
+        assertTrue(cache.contains(first));
+        assertFalse(cache.contains(second));
+        assertTrue(cache.contains(third));
+        assertTrue(cache.getSize() <= cache.getMaxBytes());
+
+        FrameCache reopened = new FrameCache(folder, 1200);
+        assertEquals(2, reopened.getCount());
+        assertEquals(cache.getSize(), reopened.getSize());
+    }
+
+    @Test
+    @DisplayName("Writes offered frames on its writer thread, and commits or drops them when finished")
+    void writesOfferedFrames() throws Exception
+    {
+        FrameCache cache = new FrameCache(folder, 1 << 20);
+        String kept = FrameCache.key("youtube", "kept");
+        String dropped = FrameCache.key("youtube", "dropped");
+        FrameCache.Recorder keeping = cache.record(kept, AudioConfiguration.OPUS_QUALITY_MAX);
+        FrameCache.Recorder dropping = cache.record(dropped, AudioConfiguration.OPUS_QUALITY_MAX);
+        for(int i = 0; i < 200; i++)
+        {
+            byte[] frame = frame(i);
+            assertTrue(keeping.offer(frame, 0, frame.length));
+            assertTrue(dropping.offer(frame, 0, frame.length));
+        }
+        assertEquals(200, keeping.getFrameCount());
+        keeping.finish(true);
+        dropping.finish(false);
+
+        for(int i = 0; i < 100 && !cache.contains(kept); i++)
+            Thread.sleep(50);
+        assertTrue(cache.contains(kept));
+        try(FrameCache.Reader reader = cache.open(kept))
+        {
+            assertEquals(200, reader.getFrameCount());
+            for(int i = 0; i < 200; i++)
+                assertFrame(i, reader.next());
+        }
+        assertFalse(cache.contains(dropped));
+    }
+
+    @Test
+    @DisplayName("Keeps the quality of the frames, also when the cache is opened again")
+    void keepsQuality() throws IOException
+    {
+        FrameCache cache = new FrameCache(folder, 1 << 20);
+        String key = FrameCache.key("soundcloud", "low");
+        record(cache, key, 10, 6);
+
+        assertTrue(cache.contains(key, 6));
+        assertTrue(cache.contains(key, 4));
+        assertFalse(cache.contains(key, 10));
+        FrameCache reopened = new FrameCache(folder, 1 << 20);
+        assertTrue(reopened.contains(key, 6));
+        assertFalse(reopened.contains(key, 10));
+    }
+
+    private static void record(FrameCache cache, String key, int frames) throws IOException
+    {
+        record(cache, key, frames, AudioConfiguration.OPUS_QUALITY_MAX);
+    }
+
+    private static void record(FrameCache cache, String key, int frames, int quality) throws IOException
+    {
+        try(FrameCache.Recorder recorder = cache.record(key, quality))
+        {
+            for(int i = 0; i < frames; i++)
+            {
+                byte[] frame = frame(i);
+                recorder.append(frame, 0, frame.length);
+            }
+            recorder.commit();
+        }
+    }
+
+    // frames of different lengths, filled with their index
+    private static byte[] frame(int index)
+    {
+        byte[] frame = new byte[1 + index % 7];
+        Arrays.fill(frame, (byte) index);
+        return frame;
+    }
+
+    private static void assertFrame(int index, ByteBuffer actual)
+    {
+        byte[] expected = frame(index);
+        assertEquals(expected.length, actual.remaining(), "length of frame " + index);
+        for(byte b : expected)
+            assertEquals(b, actual.get());
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2026 Arif Banai (arif-banai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jagrosh.jmusicbot.unit.audio;
+
+import com.jagrosh.jmusicbot.audio.EngineProfile;
+import com.jagrosh.jmusicbot.audio.EngineSettings;
+import com.jagrosh.jmusicbot.audio.QualityGovernor;
+import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration;
+import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration.ResamplingQuality;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Checks the levels a {@link QualityGovernor} steps through, and when it steps.
+ */
+@DisplayName("QualityGovernor Unit Tests")
+class QualityGovernorTest
+{
+    @Test
+    @DisplayName("Lowers resampling first, then opus quality down to its floor")
+    void buildsLadderFromEngineSettings()
+    {
+        QualityGovernor governor = governor(new AudioConfiguration());
+        List<QualityGovernor.Level> levels = governor.getLevels();
+        assertEquals(5, levels.size());
+        assertLevel(ResamplingQuality.HIGH, 10, levels.get(0));
+        assertLevel(ResamplingQuality.MEDIUM, 10, levels.get(1));
+        assertLevel(ResamplingQuality.LOW, 10, levels.get(2));
+        assertLevel(ResamplingQuality.LOW, 7, levels.get(3));
+        assertLevel(ResamplingQuality.LOW, 4, levels.get(4));
+    }
+
+    @Test
+    @DisplayName("Steps down after overloaded samples in a row, from CPU or missed frames")
+    void stepsDownWhenOverloaded()
+    {
+        AudioConfiguration configuration = new AudioConfiguration();
+        QualityGovernor governor = governor(configuration);
+        assertNull(governor.update(0.95, 0));
+        assertNull(governor.update(0.70, 0));
+        assertNull(governor.update(0.95, 0));
+        assertNotNull(governor.update(0.95, 0));
+        assertEquals(1, governor.getLevel());
+        assertEquals(ResamplingQuality.MEDIUM, configuration.getResamplingQuality());
+
+        assertNull(governor.update(0.10, 500));
+        assertNotNull(governor.update(0.10, 500));
+        assertEquals(2, governor.getLevel());
+        assertEquals(ResamplingQuality.LOW, configuration.getResamplingQuality());
+        assertEquals(2, governor.getSteps().size());
+    }
+
+    @Test
+    @DisplayName("Steps back up only after calm samples, not between the thresholds")
+    void stepsUpWithHysteresis()
+    {
+        AudioConfiguration configuration = new AudioConfiguration();
+        QualityGovernor governor = governor(configuration);
+        governor.update(0.95, 0);
+        governor.update(0.95, 0);
+        assertEquals(1, governor.getLevel());
+
+        for(int i = 0; i < 10; i++)
+            assertNull(governor.update(0.70, 0));
+        for(int i = 0; i < 5; i++)
+            assertNull(governor.update(0.30, 0));
+        assertNull(governor.update(0.30, 1));
+        for(int i = 0; i < 5; i++)
+            assertNull(governor.update(0.30, 0));
+        assertNotNull(governor.update(0.30, 0));
+        assertEquals(0, governor.getLevel());
+        assertEquals(ResamplingQuality.HIGH, configuration.getResamplingQuality());
+        assertEquals(10, configuration.getOpusEncodingQuality());
+    }
+
+    private static QualityGovernor governor(AudioConfiguration configuration)
+    {
+        EngineSettings engine = EngineSettings.of(EngineProfile.HIGH_QUALITY);
+        configuration.setResamplingQuality(engine.getResamplingQuality());
+        configuration.setOpusEncodingQuality(engine.getOpusEncodingQuality());
+        return new QualityGovernor(configuration, engine, 4, 0.85, 0.6, 250);
+    }
+
+    private static void assertLevel(ResamplingQuality resampling, int opus, QualityGovernor.Level level)
+    {
+        assertEquals(resampling, level.getResamplingQuality());
+        assertEquals(opus, level.getOpusEncodingQuality());
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2026 Arif Banai (arif-banai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jagrosh.jmusicbot.unit.audio;
+
+import com.jagrosh.jmusicbot.audio.QueueJournal;
+import com.jagrosh.jmusicbot.audio.QueueJournal.Entry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that a {@link QueueJournal} file replays to the queue it recorded, across appends,
+ * compactions and a crash partway through a write, and that a corrupt one is rejected.
+ */
+@DisplayName("QueueJournal Unit Tests")
+class QueueJournalTest
+{
+    @TempDir
+    Path folder;
+
+    @Test
+    @DisplayName("Replaying the file gives back the recorded queue")
+    void replaysRecordedQueue() throws IOException
+    {
+        Path file = folder.resolve("1.journal");
+        QueueJournal journal = new QueueJournal(file, 50);
+        List<Entry> expected = new ArrayList<>();
+        Random random = new Random(5);
+        for(int op = 0; op < 2000; op++)
+        {
+            int kind = random.nextInt(10);
+            if(kind < 6 || expected.isEmpty())
+            {
+                int index = random.nextInt(expected.size() + 1);
+                Entry entry = entry(op);
+                expected.add(index, entry);
+                journal.added(index, entry);
+            }
+            else if(kind < 9)
+            {
+                int index = random.nextInt(expected.size());
+                expected.remove(index);
+                journal.removed(index);
+            }
+            else if(random.nextInt(10) == 0)
+            {
+                expected.clear();
+                journal.cleared();
+            }
+            if(random.nextInt(20) == 0)
+                journal.playing(entry(-op), op * 1000L, op % 2 == 0, 42L);
+            if(random.nextInt(25) == 0)
+            {
+                journal.flush();
+                assertQueue(expected, QueueJournal.read(file).getQueue());
+            }
+        }
+        journal.playing(entry(7), 12_345L, true, 99L);
+        journal.flush();
+        QueueJournal.State state = QueueJournal.read(file);
+        assertQueue(expected, state.getQueue());
+        assertArrayEquals(entry(7).getTrack(), state.getPlaying().getTrack());
+        assertEquals(12_345L, state.getPosition());
+        assertTrue(state.isPaused());
+        assertEquals(99L, state.getChannel());
+    }
+
+    @Test
+    @DisplayName("The file is compacted once it outgrows the queue")
+    void compactsFile() throws IOException
+    {
+        Path file = folder.resolve("2.journal");
+        QueueJournal journal = new QueueJournal(file, 10);
+        for(int i = 0; i < 5; i++)
+            journal.added(i, entry(i));
+        journal.flush();
+        long snapshotSize = Files.size(file);
+        for(int i = 0; i < 100; i++)
+        {
+            journal.added(0, entry(100 + i));
+            journal.removed(0);
+            journal.flush();
+        }
+        assertTrue(journal.getRecords() <= 11, "records since compaction: " + journal.getRecords());
+        assertTrue(Files.size(file) < snapshotSize * 4, "file should stay close to the queue's size");
+        assertEquals(5, QueueJournal.read(file).getQueue().size());
+    }
+
+    @Test
+    @DisplayName("A record cut short is ignored")
+    void ignoresTruncatedRecord() throws IOException
+    {
+        Path file = folder.resolve("3.journal");
+        QueueJournal journal = new QueueJournal(file, 1000);
+        journal.added(0, entry(0));
+        journal.flush();
+        journal.added(1, entry(1));
+        journal.flush();
+        byte[] data = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(data, data.length - 3));
+        assertQueue(List.of(entry(0)), QueueJournal.read(file).getQueue());
+    }
+
+    @Test
+    @DisplayName("Nothing is kept once the queue is empty")
+    void deletesEmptyJournal() throws IOException
+    {
+        Path file = folder.resolve("4.journal");
+        QueueJournal journal = new QueueJournal(file, 1000);
+        journal.added(0, entry(0));
+        journal.playing(entry(1), 0, false, 0);
+        journal.flush();
+        assertTrue(Files.exists(file));
+        journal.cleared();
+        journal.playing(null, 0, false, 0);
+        journal.flush();
+        assertFalse(Files.exists(file));
+        assertTrue(QueueJournal.read(file).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Changes after closing are not recorded")
+    void ignoresChangesAfterClose() throws IOException
+    {
+        Path file = folder.resolve("5.journal");
+        QueueJournal journal = new QueueJournal(file, 1000);
+        journal.added(0, entry(0));
+        journal.close();
+        journal.cleared();
+        journal.flush();
+        assertEquals(1, QueueJournal.read(file).getQueue().size());
+        assertNull(QueueJournal.read(file).getPlaying());
+    }
+
+    @Test
+    @DisplayName("Other files are rejected")
+    void rejectsOtherFiles() throws IOException
+    {
+        Path file = folder.resolve("6.journal");
+        Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+        assertThrows(IOException.class, () -> QueueJournal.read(file));
+    }
+
+    @Test
+    @DisplayName("A record that does not fit the queue fails the file")
+    void rejectsRecordOutOfRange() throws IOException
+    {
+        Path file = folder.resolve("7.journal");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0x4A4D514A);
+        out.writeInt(1);
+        // a removal from an empty queue
+        out.writeInt(5);
+        out.writeByte(2);
+        out.writeInt(3);
+        Files.write(file, bytes.toByteArray());
+        assertThrows(IOException.class, () -> QueueJournal.read(file));
+    }
+
+    private static Entry entry(int n)
+    {
+        return new Entry(new byte[] {(byte) n, (byte) (n >> 8), 3}, "{\"n\":" + n + "}");
+    }
+
+    private static void assertQueue(List<Entry> expected, List<Entry> actual)
+    {
+        assertEquals(expected.size(), actual.size());
+        for(int i = 0; i < expected.size(); i++)
+        {
+            assertArrayEquals(expected.get(i).getTrack(), actual.get(i).getTrack());
+            assertEquals(expected.get(i).getMetadata(), actual.get(i).getMetadata());
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 Arif Banai (arif-banai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jagrosh.jmusicbot.unit.audio;
+
+import com.jagrosh.jmusicbot.audio.EncodedQueuedTrack;
+import com.jagrosh.jmusicbot.audio.QueuedTrack;
+import com.jagrosh.jmusicbot.audio.RequestMetadata;
+import com.sedmelluq.discord.lavaplayer.container.MediaContainer;
+import com.sedmelluq.discord.lavaplayer.container.MediaContainerDescriptor;
+import com.sedmelluq.discord.lavaplayer.container.MediaContainerRegistry;
+import com.sedmelluq.discord.lavaplayer.player.DefaultAudioPlayerManager;
+import com.sedmelluq.discord.lavaplayer.source.http.HttpAudioSourceManager;
+import com.sedmelluq.discord.lavaplayer.source.http.HttpAudioTrack;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrackInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Checks the copy of a queued track that is opened ahead of time on the standby player, and
+ * the track an encoded entry decodes to.
+ */
+@DisplayName("QueuedTrack Unit Tests")
+class QueuedTrackTest
+{
+    private static final String URI = "https://example.com/music/track.mp3";
+
+    @Test
+    @DisplayName("A track queued partway through is prefetched from its position")
+    void copyKeepsPosition()
+    {
+        QueuedTrack queued = new QueuedTrack(track(), request());
+        queued.getTrack().setPosition(90_000);
+
+        AudioTrack prefetched = queued.copyTrack();
+        assertNotSame(queued.getTrack(), prefetched);
+        assertEquals(90_000, prefetched.getPosition());
+        assertSame(queued.getRequestMetadata(), prefetched.getUserData(RequestMetadata.class));
+    }
+
+    @Test
+    @DisplayName("A track queued from its start is prefetched from its start")
+    void copyOfFreshTrackStartsAtZero()
+    {
+        QueuedTrack queued = new QueuedTrack(track(), request());
+        assertEquals(0, queued.copyTrack().getPosition());
+    }
+
+    @Test
+    @DisplayName("An encoded entry decodes its track once, at the position it was queued from")
+    void encodedKeepsPositionAndDecodesOnce()
+    {
+        DefaultAudioPlayerManager manager = new DefaultAudioPlayerManager();
+        manager.registerSourceManager(new HttpAudioSourceManager(MediaContainerRegistry.DEFAULT_REGISTRY));
+        QueuedTrack queued = new QueuedTrack(track(), request());
+        queued.getTrack().setPosition(90_000);
+
+        QueuedTrack encoded = EncodedQueuedTrack.encodeAll(manager, Collections.singletonList(queued)).get(0);
+        assertInstanceOf(EncodedQueuedTrack.class, encoded);
+        AudioTrack track = encoded.getTrack();
+        assertEquals(90_000, track.getPosition());
+        assertSame(track, encoded.getTrack());
+        assertNotSame(track, encoded.copyTrack());
+        assertEquals(90_000, encoded.copyTrack().getPosition());
+        manager.shutdown();
+    }
+
+    private static AudioTrack track()
+    {
+        AudioTrackInfo info = new AudioTrackInfo("Track", "Artist", 180_000L, URI, false, URI, null, null);
+        return new HttpAudioTrack(info, new MediaContainerDescriptor(MediaContainer.MP3.probe, null),
+                new HttpAudioSourceManager(MediaContainerRegistry.DEFAULT_REGISTRY));
+    }
+
+    private static RequestMetadata request()
+    {
+        RequestMetadata.UserInfo user = new RequestMetadata.UserInfo(1, "user", "0000",
+                "https://cdn.discordapp.com/embed/avatars/0.png");
+        return new RequestMetadata(user, new RequestMetadata.RequestInfo("track", URI));
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2026 Arif Banai (arif-banai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jagrosh.jmusicbot.unit.audio;
+
+import com.jagrosh.jmusicbot.audio.TranscodingMonitor;
+import com.sedmelluq.discord.lavaplayer.container.MediaContainer;
+import com.sedmelluq.discord.lavaplayer.container.MediaContainerDescriptor;
+import com.sedmelluq.discord.lavaplayer.container.MediaContainerRegistry;
+import com.sedmelluq.discord.lavaplayer.source.http.HttpAudioSourceManager;
+import com.sedmelluq.discord.lavaplayer.source.http.HttpAudioTrack;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrackInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks which tracks the {@link TranscodingMonitor} takes to be passed through rather than
+ * transcoded.
+ */
+@DisplayName("TranscodingMonitor Unit Tests")
+class TranscodingMonitorTest
+{
+    private final HttpAudioSourceManager source = new HttpAudioSourceManager(MediaContainerRegistry.DEFAULT_REGISTRY);
+
+    @Test
+    @DisplayName("Streams in an opus container deliver opus")
+    void opusStreamsDeliverOpus()
+    {
+        assertTrue(TranscodingMonitor.deliversOpus(track("https://example.com/music/track.opus")));
+        assertTrue(TranscodingMonitor.deliversOpus(track("https://example.com/music/TRACK.webm?token=abc")));
+    }
+
+    @Test
+    @DisplayName("Streams in any other format are transcoded whatever the volume")
+    void otherStreamsAreTranscoded()
+    {
+        assertFalse(TranscodingMonitor.deliversOpus(track("https://example.com/music/track.mp3")));
+        assertFalse(TranscodingMonitor.deliversOpus(track("https://example.com/music/track.m4a")));
+        assertFalse(TranscodingMonitor.deliversOpus(track("https://example.com/music/track.mp3?f=.opus")));
+    }
+
+    private AudioTrack track(String uri)
+    {
+        AudioTrackInfo info = new AudioTrackInfo("Track", "Artist", 180_000L, uri, false, uri, null, null);
+        return new HttpAudioTrack(info, new MediaContainerDescriptor(MediaContainer.MP3.probe, null), source);
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 Arif Banai (arif-banai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jagrosh.jmusicbot.unit.audio;
+
+import com.jagrosh.jmusicbot.audio.UnderrunMonitor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks how an {@link UnderrunMonitor} matches underruns with garbage collection pauses, and
+ * what it keeps of them.
+ */
+@DisplayName("UnderrunMonitor Unit Tests")
+class UnderrunMonitorTest
+{
+    @Test
+    @DisplayName("Underruns overlapping a pause, or just after one, are put down to it")
+    void matchesUnderrunsWithPauses()
+    {
+        UnderrunMonitor monitor = new UnderrunMonitor();
+        long now = System.currentTimeMillis();
+        monitor.gcPaused(now - 10_000, now - 9_700);
+        monitor.underrun(1, now - 9_800, now - 9_600, 10);
+        monitor.underrun(2, now - 9_650, now - 9_600, 2);
+        monitor.underrun(1, now - 5_000, now - 4_980, 1);
+
+        List<UnderrunMonitor.Underrun> recent = monitor.getRecent();
+        assertEquals(3, recent.size());
+        assertTrue(recent.get(0).isDuringGc());
+        assertTrue(recent.get(1).isDuringGc());
+        assertFalse(recent.get(2).isDuringGc());
+        assertEquals(1, monitor.getRecentGcPauses());
+        assertEquals(300, monitor.getRecentGcPauseMillis());
+    }
+
+    @Test
+    @DisplayName("Underruns between pauses are matched only with a pause they overlap")
+    void matchesAgainstTheRightPause()
+    {
+        UnderrunMonitor monitor = new UnderrunMonitor();
+        long now = System.currentTimeMillis();
+        monitor.gcPaused(now - 30_000, now - 29_900);
+        monitor.gcPaused(now - 20_000, now - 19_950);
+        monitor.gcPaused(now - 10_000, now - 9_990);
+        monitor.underrun(1, now - 25_000, now - 24_900, 5);
+        monitor.underrun(1, now - 19_960, now - 19_900, 3);
+        monitor.underrun(1, now - 1_000, now - 980, 1);
+
+        List<UnderrunMonitor.Underrun> recent = monitor.getRecent();
+        assertFalse(recent.get(0).isDuringGc());
+        assertTrue(recent.get(1).isDuringGc());
+        assertFalse(recent.get(2).isDuringGc());
+    }
+
+    @Test
+    @DisplayName("Underruns and pauses older than the window are dropped, the histogram is kept")
+    void dropsWhatIsOutsideTheWindow()
+    {
+        UnderrunMonitor monitor = new UnderrunMonitor();
+        long old = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(UnderrunMonitor.WINDOW_MINUTES + 1);
+        monitor.gcPaused(old, old + 50);
+        monitor.underrun(1, old, old + 20, 1);
+
+        assertTrue(monitor.getRecent().isEmpty());
+        assertEquals(0, monitor.getRecentGcPauses());
+        assertEquals(1, monitor.getHistogram()[0]);
+    }
+
+    @Test
+    @DisplayName("Underruns are counted in the bucket of their length")
+    void fillsHistogramByLength()
+    {
+        UnderrunMonitor monitor = new UnderrunMonitor();
+        long now = System.currentTimeMillis();
+        monitor.underrun(1, now - 20, now, 1);
+        monitor.underrun(1, now - 60, now, 3);
+        monitor.underrun(1, now - 300, now, 15);
+        monitor.underrun(1, now - 5_000, now, 250);
+
+        assertArrayEquals(new long[]{1, 0, 1, 0, 1, 0, 1}, monitor.getHistogram());
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2026 Arif Banai (arif-banai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jagrosh.jmusicbot.unit.queue;
+
+import com.jagrosh.jmusicbot.queue.AbstractQueue;
+import com.jagrosh.jmusicbot.queue.FairQueue;
+import com.jagrosh.jmusicbot.queue.LinearQueue;
+import com.jagrosh.jmusicbot.queue.Queueable;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks the per-requester index, the duration sums and the pages of {@link AbstractQueue}.
+ */
+@DisplayName("AbstractQueue Unit Tests")
+class AbstractQueueTest
+{
+    private static final int REQUESTERS = 6;
+
+    @Test
+    @DisplayName("Requester index and durations follow every kind of edit")
+    void requesterIndexFollowsEdits()
+    {
+        Random random = new Random(3);
+        AbstractQueue<Q> queue = new FairQueue<>(null);
+        for(int op = 0; op < 4000; op++)
+        {
+            int kind = random.nextInt(9);
+            if(kind < 3 || queue.isEmpty())
+                queue.add(new Q(random.nextInt(REQUESTERS)));
+            else if(kind == 3)
+                queue.addAt(random.nextInt(queue.size() + 1), new Q(random.nextInt(REQUESTERS)));
+            else if(kind == 4)
+                queue.moveItem(random.nextInt(queue.size()), random.nextInt(queue.size()));
+            else if(kind == 5)
+                queue.skip(random.nextInt(Math.min(queue.size(), 3) + 1));
+            else if(kind == 6)
+                queue.pull();
+            else if(kind == 7)
+                queue.shuffle(random.nextInt(REQUESTERS));
+            else if(random.nextInt(10) == 0)
+                queue.removeAll(random.nextInt(REQUESTERS));
+            else
+                queue = random.nextBoolean() ? new LinearQueue<>(queue) : new FairQueue<>(queue);
+            assertIndexed(queue);
+        }
+    }
+
+    @Test
+    @DisplayName("Removing and shuffling a requester only touches their items")
+    void removeAndShuffleOnlyTouchRequester()
+    {
+        AbstractQueue<Q> queue = new LinearQueue<>(null);
+        List<Q> others = new ArrayList<>();
+        for(int i = 0; i < 30; i++)
+        {
+            Q item = new Q(i % 3);
+            queue.add(item);
+            if(item.getIdentifier() != 1)
+                others.add(item);
+        }
+        assertEquals(10, queue.shuffle(1));
+        for(int index : queue.indexesOf(1))
+            assertEquals(1, queue.get(index).getIdentifier());
+        assertEquals(10, queue.removeAll(1));
+        assertEquals(0, queue.count(1));
+        assertEquals(-1, queue.lastIndexOf(1));
+        assertEquals(others, queue.getList());
+    }
+
+    @Test
+    @DisplayName("A page copies only its range, and is reused until the queue changes")
+    void pageIsReusedUntilQueueChanges()
+    {
+        AbstractQueue<Q> queue = new FairQueue<>(null);
+        for(int i = 0; i < 20; i++)
+            queue.add(new Q(i % 2));
+        List<Q> page = queue.page(10, 20);
+        assertSame(page, queue.page(10, 20));
+        assertEquals(queue.getList().subList(10, 20), page);
+        assertThrows(UnsupportedOperationException.class, () -> page.remove(0));
+        assertEquals(queue.getList().subList(0, 10), queue.page(0, 10));
+
+        queue.moveItem(10, 0);
+        List<Q> moved = queue.page(10, 20);
+        assertNotSame(page, moved);
+        assertEquals(queue.getList().subList(10, 20), moved);
+        assertEquals(10, page.size());
+
+        queue.getList().set(15, new Q(5));
+        assertEquals(queue.getList().subList(10, 20), queue.page(10, 20));
+        assertEquals(queue.getList().subList(15, 20), queue.page(15, 30));
+        assertEquals(0, queue.page(25, 30).size());
+    }
+
+    @Test
+    @DisplayName("Listeners see every edit at its position")
+    void listenerFollowsEdits()
+    {
+        Random random = new Random(9);
+        AbstractQueue<Q> queue = new FairQueue<>(null);
+        for(int i = 0; i < 10; i++)
+            queue.add(new Q(i % 3));
+        List<Q> mirror = new ArrayList<>();
+        queue.addListener(new AbstractQueue.Listener<Q>()
+        {
+            @Override
+            public void added(int index, Q item)
+            {
+                mirror.add(index, item);
+            }
+
+            @Override
+            public void removed(int index, Q item)
+            {
+                assertSame(item, mirror.remove(index));
+            }
+
+            @Override
+            public void cleared()
+            {
+                mirror.clear();
+            }
+        });
+        assertEquals(queue.getList(), mirror);
+        for(int op = 0; op < 2000; op++)
+        {
+            int kind = random.nextInt(8);
+            if(kind < 3 || queue.isEmpty())
+                queue.add(new Q(random.nextInt(REQUESTERS)));
+            else if(kind == 3)
+                queue.moveItem(random.nextInt(queue.size()), random.nextInt(queue.size()));
+            else if(kind == 4)
+                queue.skip(random.nextInt(Math.min(queue.size(), 3) + 1));
+            else if(kind == 5)
+                queue.shuffle(random.nextInt(REQUESTERS));
+            else if(kind == 6)
+                queue.removeAll(random.nextInt(REQUESTERS));
+            else if(random.nextInt(20) == 0)
+                queue.clear();
+            else
+                queue.pull();
+            assertEquals(queue.getList(), mirror);
+        }
+    }
+
+    private static void assertIndexed(AbstractQueue<Q> queue)
+    {
+        for(long identifier = 0; identifier < REQUESTERS; identifier++)
+        {
+            List<Integer> expected = new ArrayList<>();
+            for(int i = 0; i < queue.size(); i++)
+                if(queue.get(i).getIdentifier() == identifier)
+                    expected.add(i);
+            assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), queue.indexesOf(identifier));
+            assertEquals(expected.size(), queue.count(identifier));
+            assertEquals(expected.isEmpty() ? -1 : expected.get(expected.size() - 1), queue.lastIndexOf(identifier));
+        }
+        long duration = 0;
+        for(int i = 0; i < queue.size(); i++)
+        {
+            assertEquals(duration, queue.getDurationBefore(i));
+            duration += queue.get(i).getDuration();
+        }
+        assertEquals(duration, queue.getDuration());
+    }
+
+    private static class Q implements Queueable
+    {
+        private final long identifier;
+
+        private Q(long identifier)
+        {
+            this.identifier = identifier;
+        }
+
+        @Override
+        public long getIdentifier()
+        {
+            return identifier;
+        }
+
+        @Override
+        public long getDuration()
+        {
+            return 1000 + identifier;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2026 Arif Banai (arif-banai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jagrosh.jmusicbot.unit.queue;
+
+import com.jagrosh.jmusicbot.queue.AbstractQueue;
+import com.jagrosh.jmusicbot.queue.DuplicateIndex;
+import com.jagrosh.jmusicbot.queue.FairQueue;
+import com.jagrosh.jmusicbot.queue.LinearQueue;
+import com.jagrosh.jmusicbot.queue.Queueable;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that {@link DuplicateIndex} counts the copies in a queue under every kind of edit,
+ * and counts the requests made since a track was last requested.
+ */
+@DisplayName("DuplicateIndex Unit Tests")
+class DuplicateIndexTest
+{
+    private static final int KEYS = 7;
+
+    @Test
+    @DisplayName("Copies follow every kind of edit")
+    void copiesFollowEdits()
+    {
+        Random random = new Random(13);
+        DuplicateIndex<Q> index = new DuplicateIndex<>(q -> q.key);
+        AbstractQueue<Q> queue = new FairQueue<>(null);
+        queue.addListener(index);
+        String playing = null;
+        for(int op = 0; op < 3000; op++)
+        {
+            int kind = random.nextInt(9);
+            if(kind < 3 || queue.isEmpty())
+                queue.add(new Q(random.nextInt(3), "k" + random.nextInt(KEYS)));
+            else if(kind == 3)
+                queue.moveItem(random.nextInt(queue.size()), random.nextInt(queue.size()));
+            else if(kind == 4)
+                queue.shuffle(random.nextInt(3));
+            else if(kind == 5)
+                queue.removeAll(random.nextInt(3));
+            else if(kind == 6)
+            {
+                playing = queue.pull().key;
+                index.setPlaying(playing);
+            }
+            else if(kind == 7)
+            {
+                playing = null;
+                index.setPlaying(null);
+            }
+            else if(random.nextInt(10) == 0)
+                queue.clear();
+            else
+            {
+                // switching queue types hands the index a fresh queue
+                queue = random.nextBoolean() ? new LinearQueue<>(queue) : new FairQueue<>(queue);
+                index.cleared();
+                queue.addListener(index);
+            }
+            int held = 0;
+            for(int k = 0; k < KEYS; k++)
+            {
+                String key = "k" + k;
+                int expected = (key.equals(playing) ? 1 : 0);
+                for(Q item : queue.getList())
+                    if(item.key.equals(key))
+                        expected++;
+                assertEquals(expected, index.copies(key));
+                if(expected > 0)
+                    held++;
+            }
+            assertEquals(held, index.size());
+        }
+    }
+
+    @Test
+    @DisplayName("Requests since a track are counted in between its requests")
+    void requestsSinceCountsOtherRequests()
+    {
+        DuplicateIndex<Q> index = new DuplicateIndex<>(q -> q.key);
+        AbstractQueue<Q> queue = new LinearQueue<>(null);
+        queue.addListener(index);
+
+        queue.add(new Q(0, "a"));
+        assertEquals(Long.MAX_VALUE, index.requestsSince("a"));
+        index.requested("a");
+        assertEquals(0, index.requestsSince("a"));
+        for(int i = 0; i < 3; i++)
+        {
+            queue.add(new Q(0, "b" + i));
+            index.requested("b" + i);
+        }
+        assertEquals(3, index.requestsSince("a"));
+        assertEquals(0, index.requestsSince("b2"));
+
+        // once no copy is left, the track is new again
+        queue.remove(0);
+        assertEquals(0, index.copies("a"));
+        assertEquals(Long.MAX_VALUE, index.requestsSince("a"));
+    }
+
+    private static class Q implements Queueable
+    {
+        private final long identifier;
+        private final String key;
+
+        private Q(long identifier, String key)
+        {
+            this.identifier = identifier;
+            this.key = key;
+        }
+
+        @Override
+        public long getIdentifier()
+        {
+            return identifier;
+        }
+    }
+}
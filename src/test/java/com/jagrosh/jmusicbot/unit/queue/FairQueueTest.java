@@ -19,6 +19,10 @@ import com.jagrosh.jmusicbot.queue.FairQueue;
 import com.jagrosh.jmusicbot.queue.Queueable;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 /**
@@ -47,6 +51,44 @@ public class FairQueueTest
         assertEquals(queue.size(), size);
     }
     
+    @Test
+    public void addAllMatchesSequentialAdd()
+    {
+        FairQueue<Q> sequential = new FairQueue<>(null);
+        FairQueue<Q> batched = new FairQueue<>(null);
+        for(int i=0; i<20; i++)
+        {
+            Q item = new Q(i % 3);
+            sequential.add(item);
+            batched.add(item);
+        }
+        List<Q> batch = new ArrayList<>();
+        for(int i=0; i<30; i++)
+            batch.add(new Q(i < 25 ? 1 : i % 5));
+        int[] expected = new int[batch.size()];
+        for(int i=0; i<batch.size(); i++)
+            expected[i] = sequential.add(batch.get(i));
+        assertArrayEquals(expected, batched.addAll(batch));
+        assertEquals(sequential.getList(), batched.getList());
+    }
+    
+    @Test
+    public void bulkRemoval()
+    {
+        FairQueue<Q> queue = new FairQueue<>(null);
+        List<Q> items = new ArrayList<>();
+        for(int i=0; i<10; i++)
+            items.add(new Q(i % 2));
+        queue.addAll(items);
+        List<Q> expected = new ArrayList<>(queue.getList());
+        queue.removeRange(0, 4);
+        expected.subList(0, 4).clear();
+        assertEquals(expected, queue.getList());
+        assertEquals(3, queue.removeIf(item -> item.getIdentifier() == 1));
+        expected.removeIf(item -> item.getIdentifier() == 1);
+        assertEquals(expected, queue.getList());
+    }
+    
     private class Q implements Queueable
     {
         private final long identifier;
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2026 Arif Banai (arif-banai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jagrosh.jmusicbot.unit.queue;
+
+import com.jagrosh.jmusicbot.queue.IndexedList;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks {@link IndexedList} against {@link ArrayList} as a reference implementation.
+ */
+@DisplayName("IndexedList Unit Tests")
+class IndexedListTest
+{
+    @Test
+    @DisplayName("Copy constructor preserves order")
+    void copyConstructorPreservesOrder()
+    {
+        List<Integer> source = Arrays.asList(5, 3, 8, 1, 9, 2);
+        assertEquals(source, new IndexedList<>(source));
+    }
+
+    @Test
+    @DisplayName("Positional operations match ArrayList")
+    void positionalOperationsMatchArrayList()
+    {
+        Random random = new Random(42);
+        List<Integer> expected = new ArrayList<>();
+        IndexedList<Integer> actual = new IndexedList<>();
+        for(int op = 0; op < 5000; op++)
+        {
+            int kind = random.nextInt(6);
+            if(kind < 3 || expected.isEmpty())
+            {
+                int index = random.nextInt(expected.size() + 1);
+                expected.add(index, op);
+                actual.add(index, op);
+            }
+            else if(kind < 5)
+            {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), actual.remove(index));
+            }
+            else
+            {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.set(index, -op), actual.set(index, -op));
+            }
+            assertEquals(expected.size(), actual.size());
+        }
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @DisplayName("Clearing a sub list removes the range")
+    void subListClearRemovesRange()
+    {
+        List<Integer> expected = new ArrayList<>();
+        for(int i = 0; i < 100; i++)
+            expected.add(i);
+        IndexedList<Integer> actual = new IndexedList<>(expected);
+
+        expected.subList(0, 37).clear();
+        actual.subList(0, 37).clear();
+        assertEquals(expected, actual);
+
+        expected.subList(20, 50).clear();
+        actual.subList(20, 50).clear();
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @DisplayName("List iterator walks, adds and removes in both directions")
+    void listIteratorMatchesArrayList()
+    {
+        List<Integer> expected = new ArrayList<>(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9));
+        IndexedList<Integer> actual = new IndexedList<>(expected);
+        ListIterator<Integer> e = expected.listIterator(5);
+        ListIterator<Integer> a = actual.listIterator(5);
+
+        assertEquals(e.previous(), a.previous());
+        e.remove();
+        a.remove();
+        assertEquals(e.next(), a.next());
+        e.add(42);
+        a.add(42);
+        assertEquals(e.next(), a.next());
+        e.remove();
+        a.remove();
+        assertEquals(e.nextIndex(), a.nextIndex());
+        while(e.hasPrevious())
+            assertEquals(e.previous(), a.previous());
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @DisplayName("Prefix weights match a linear sum")
+    void prefixWeightsMatchLinearSum()
+    {
+        Random random = new Random(5);
+        List<Integer> expected = new ArrayList<>();
+        IndexedList<Integer> actual = new IndexedList<>(Integer::longValue);
+        for(int op = 0; op < 3000; op++)
+        {
+            int kind = random.nextInt(4);
+            if(kind < 2 || expected.isEmpty())
+            {
+                int index = random.nextInt(expected.size() + 1);
+                int value = random.nextInt(1000);
+                expected.add(index, value);
+                actual.add(index, value);
+            }
+            else if(kind == 2)
+            {
+                int index = random.nextInt(expected.size());
+                expected.remove(index);
+                actual.remove(index);
+            }
+            else
+            {
+                int index = random.nextInt(expected.size());
+                int value = random.nextInt(1000);
+                expected.set(index, value);
+                actual.set(index, value);
+            }
+            int index = random.nextInt(expected.size() + 1);
+            long sum = 0;
+            for(int i = 0; i < index; i++)
+                sum += expected.get(i);
+            assertEquals(sum, actual.weightBefore(index));
+        }
+        assertEquals(expected.stream().mapToLong(Integer::longValue).sum(), actual.weight());
+    }
+
+    @Test
+    @DisplayName("Weights saturate at the maximum")
+    void weightsSaturate()
+    {
+        IndexedList<Long> list = new IndexedList<>(Arrays.asList(5L, Long.MAX_VALUE, 7L), Long::longValue);
+        assertEquals(5L, list.weightBefore(1));
+        assertEquals(Long.MAX_VALUE, list.weightBefore(2));
+        assertEquals(Long.MAX_VALUE, list.weight());
+        list.remove(1);
+        assertEquals(12L, list.weight());
+    }
+
+    @Test
+    @DisplayName("Out of range indexes are rejected")
+    void outOfRangeIndexesAreRejected()
+    {
+        IndexedList<Integer> list = new IndexedList<>(Arrays.asList(1, 2, 3));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.remove(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.add(4, 0));
+    }
+
+    @Test
+    @DisplayName("The published head follows every kind of change")
+    void peekFirstFollowsChanges()
+    {
+        IndexedList<Integer> list = new IndexedList<>(Arrays.asList(4, 5, 6));
+        assertEquals(4, list.peekFirst());
+        list.add(0, 3);
+        assertEquals(3, list.peekFirst());
+        list.set(0, 2);
+        assertEquals(2, list.peekFirst());
+        list.remove(0);
+        assertEquals(4, list.peekFirst());
+        list.subList(0, 2).clear();
+        assertEquals(6, list.peekFirst());
+        ListIterator<Integer> it = list.listIterator();
+        it.next();
+        it.remove();
+        assertNull(list.peekFirst());
+        list.add(7);
+        list.clear();
+        assertNull(list.peekFirst());
+    }
+}
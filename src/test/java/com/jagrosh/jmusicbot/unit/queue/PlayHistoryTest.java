@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 Arif Banai (arif-banai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jagrosh.jmusicbot.unit.queue;
+
+import com.jagrosh.jmusicbot.queue.PlayHistory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Checks that a {@link PlayHistory} keeps only its most recent items, in order.
+ */
+@DisplayName("PlayHistory Unit Tests")
+class PlayHistoryTest
+{
+    @Test
+    @DisplayName("Only the most recent items are kept once it is full")
+    void keepsMostRecent()
+    {
+        PlayHistory<Integer> history = new PlayHistory<>(3);
+        for(int i = 1; i <= 7; i++)
+            history.push(i);
+        assertEquals(3, history.size());
+        assertEquals(List.of(7, 6, 5), history.getList());
+        assertEquals(7, history.get(0));
+        assertEquals(5, history.get(2));
+        assertNull(history.get(3));
+        assertNull(history.get(-1));
+    }
+
+    @Test
+    @DisplayName("Popping walks back through the history")
+    void popWalksBack()
+    {
+        PlayHistory<Integer> history = new PlayHistory<>(4);
+        for(int i = 1; i <= 6; i++)
+            history.push(i);
+        assertEquals(6, history.pop());
+        assertEquals(5, history.pop());
+        history.push(8);
+        assertEquals(List.of(8, 4, 3), history.getList());
+        assertEquals(8, history.pop());
+        assertEquals(4, history.pop());
+        assertEquals(3, history.pop());
+        assertNull(history.pop());
+        history.push(9);
+        assertEquals(List.of(9), history.getList());
+    }
+
+    @Test
+    @DisplayName("A history of no capacity keeps nothing")
+    void zeroCapacityKeepsNothing()
+    {
+        PlayHistory<Integer> history = new PlayHistory<>(0);
+        history.push(1);
+        assertEquals(0, history.size());
+        assertNull(history.pop());
+        assertNull(history.get(0));
+    }
+}
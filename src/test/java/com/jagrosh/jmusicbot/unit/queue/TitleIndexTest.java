@@ -0,0 +1,171 @@
+/*
+ * Copyright 2026 Arif Banai (arif-banai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jagrosh.jmusicbot.unit.queue;
+
+import com.jagrosh.jmusicbot.queue.AbstractQueue;
+import com.jagrosh.jmusicbot.queue.FairQueue;
+import com.jagrosh.jmusicbot.queue.LinearQueue;
+import com.jagrosh.jmusicbot.queue.Queueable;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that {@link AbstractQueue#search(String)} finds the same items as a scan of the
+ * queue would, as the queue changes.
+ */
+@DisplayName("TitleIndex Unit Tests")
+class TitleIndexTest
+{
+    private static final String[] WORDS = {"never", "gonna", "give", "you", "up", "let", "down",
+            "run", "around", "desert", "Rick", "Astley", "remix", "live", "(Official", "Video)"};
+
+    @Test
+    @DisplayName("Search matches a scan of the queue through every kind of edit")
+    void searchMatchesScan()
+    {
+        Random random = new Random(11);
+        AbstractQueue<T> queue = new FairQueue<>(null);
+        for(int op = 0; op < 3000; op++)
+        {
+            int kind = random.nextInt(8);
+            if(kind < 3 || queue.isEmpty())
+                queue.add(new T(random.nextInt(4), title(random)));
+            else if(kind == 3)
+                queue.moveItem(random.nextInt(queue.size()), random.nextInt(queue.size()));
+            else if(kind == 4)
+                queue.shuffle(random.nextInt(4));
+            else if(kind == 5)
+                queue.pull();
+            else if(kind == 6)
+                queue.getList().set(random.nextInt(queue.size()), new T(random.nextInt(4), title(random)));
+            else if(random.nextInt(10) == 0)
+                queue = random.nextBoolean() ? new LinearQueue<>(queue) : new FairQueue<>(queue);
+            else
+                queue.removeRange(0, Math.min(queue.size(), 2));
+            if(op % 10 == 0)
+            {
+                String fragment = fragment(random);
+                assertArrayEquals(scan(queue, fragment), queue.search(fragment), fragment);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Search matches a scan of the queue after many edits between lookups")
+    void searchMatchesScanAfterBulkEdits()
+    {
+        Random random = new Random(5);
+        AbstractQueue<T> queue = new FairQueue<>(null);
+        for(int round = 0; round < 20; round++)
+        {
+            int edits = random.nextInt(400);
+            for(int i = 0; i < edits; i++)
+            {
+                if(random.nextInt(3) > 0 || queue.isEmpty())
+                    queue.add(new T(random.nextInt(4), title(random)));
+                else
+                    queue.remove(random.nextInt(queue.size()));
+            }
+            if(round % 7 == 6)
+                queue.clear();
+            String fragment = fragment(random);
+            assertArrayEquals(scan(queue, fragment), queue.search(fragment), fragment);
+        }
+    }
+
+    @Test
+    @DisplayName("Search ignores case and punctuation")
+    void searchIgnoresCaseAndPunctuation()
+    {
+        AbstractQueue<T> queue = new LinearQueue<>(null);
+        queue.add(new T(1, "Rick Astley - Never Gonna Give You Up (Official Video)"));
+        queue.add(new T(1, "Toto - Africa"));
+        queue.add(new T(1, null));
+        queue.add(new T(1, "Up & Down"));
+        assertArrayEquals(new int[] {0}, queue.search("never gonna"));
+        assertArrayEquals(new int[] {0}, queue.search("ASTLEY never"));
+        assertArrayEquals(new int[] {0}, queue.search("you-up"));
+        assertArrayEquals(new int[] {0, 3}, queue.search("up"));
+        assertArrayEquals(new int[] {1}, queue.search("afri"));
+        assertEquals(0, queue.search("x").length);
+        assertEquals(0, queue.search("zeppelin").length);
+    }
+
+    private static String title(Random random)
+    {
+        StringBuilder sb = new StringBuilder();
+        int words = 1 + random.nextInt(5);
+        for(int i = 0; i < words; i++)
+            sb.append(i == 0 ? "" : random.nextBoolean() ? " " : " - ").append(WORDS[random.nextInt(WORDS.length)]);
+        return sb.toString();
+    }
+
+    private static String fragment(Random random)
+    {
+        String word = WORDS[random.nextInt(WORDS.length)].toLowerCase().replaceAll("[^a-z]", "");
+        if(random.nextBoolean())
+            return word + " " + WORDS[random.nextInt(WORDS.length)].toLowerCase().replaceAll("[^a-z]", "");
+        int start = random.nextInt(word.length());
+        return word.substring(start, Math.min(word.length(), start + 2 + random.nextInt(4)));
+    }
+
+    // the positions a linear scan finds, with the index's rules for text and short fragments
+    private static int[] scan(AbstractQueue<T> queue, String fragment)
+    {
+        List<Integer> found = new ArrayList<>();
+        for(int i = 0; i < queue.size(); i++)
+        {
+            String text = " " + queue.get(i).getSearchText().toLowerCase().replaceAll("[^a-z0-9]+", " ").trim() + " ";
+            boolean match = fragment.length() >= 3
+                    ? text.contains(fragment)
+                    : fragment.length() == 2 && (text.contains(" " + fragment) || text.contains(fragment + " "));
+            if(match)
+                found.add(i);
+        }
+        return found.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static class T implements Queueable
+    {
+        private final long identifier;
+        private final String title;
+
+        private T(long identifier, String title)
+        {
+            this.identifier = identifier;
+            this.title = title;
+        }
+
+        @Override
+        public long getIdentifier()
+        {
+            return identifier;
+        }
+
+        @Override
+        public String getSearchText()
+        {
+            return title;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 Arif Banai (arif-banai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jagrosh.jmusicbot.unit.settings;
+
+import com.jagrosh.jmusicbot.settings.DuplicatePolicy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("DuplicatePolicy Unit Tests")
+class DuplicatePolicyTest
+{
+    @Test
+    @DisplayName("Allow accepts every copy")
+    void allowAcceptsEverything()
+    {
+        assertTrue(DuplicatePolicy.ALLOW.allows(0, Long.MAX_VALUE, 0));
+        assertTrue(DuplicatePolicy.ALLOW.allows(50, 0, 0));
+    }
+
+    @Test
+    @DisplayName("Reject accepts only the first copy")
+    void rejectAcceptsFirstCopyOnly()
+    {
+        assertTrue(DuplicatePolicy.REJECT.allows(0, Long.MAX_VALUE, 0));
+        assertFalse(DuplicatePolicy.REJECT.allows(1, 100, 0));
+    }
+
+    @Test
+    @DisplayName("Copies accepts up to the limit")
+    void copiesAcceptsUpToLimit()
+    {
+        assertTrue(DuplicatePolicy.COPIES.allows(1, 0, 2));
+        assertFalse(DuplicatePolicy.COPIES.allows(2, 0, 2));
+    }
+
+    @Test
+    @DisplayName("Spacing accepts a copy once enough other tracks were requested")
+    void spacingNeedsOtherRequests()
+    {
+        assertTrue(DuplicatePolicy.SPACING.allows(0, 0, 5));
+        assertFalse(DuplicatePolicy.SPACING.allows(1, 4, 5));
+        assertTrue(DuplicatePolicy.SPACING.allows(1, 5, 5));
+        assertTrue(DuplicatePolicy.SPACING.allows(1, Long.MAX_VALUE, 5));
+    }
+
+    @Test
+    @DisplayName("Invalid values fall back to the default")
+    void valueOfOrDefaultFallsBack()
+    {
+        assertEquals(DuplicatePolicy.SPACING, DuplicatePolicy.valueOfOrDefault("SPACING", DuplicatePolicy.ALLOW));
+        assertEquals(DuplicatePolicy.ALLOW, DuplicatePolicy.valueOfOrDefault("sometimes", DuplicatePolicy.ALLOW));
+        assertEquals(DuplicatePolicy.ALLOW, DuplicatePolicy.valueOfOrDefault(null, DuplicatePolicy.ALLOW));
+    }
+}